@@ -0,0 +1,22 @@
+package com.mybank.analytics.config;
+
+import com.mybank.analytics.dto.SpendingAnalysisResponse;
+import com.mybank.analytics.service.SpendingAnalysisService;
+import com.mybank.common.cache.RedisCacheType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache value types for Analytics Service (typed Smile values in Redis)
+ */
+@Configuration
+public class AnalyticsCacheConfig {
+
+    @Bean
+    public RedisCacheType spendingAnalysisCacheType() {
+        return new RedisCacheType(SpendingAnalysisService.SPENDING_ANALYSIS_CACHE,
+                SpendingAnalysisResponse.class, Duration.ofSeconds(60));
+    }
+}
@@ -0,0 +1,55 @@
+package com.mybank.analytics.consumer;
+
+import com.mybank.analytics.service.TransactionIngestService;
+import com.mybank.common.event.TransactionEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kafka batch consumer for transaction events
+ * Populates the SpendingAnalysis read model (CQRS projection)
+ *
+ * Offsets are committed once per batch, after the bulk write succeeds.
+ * On failure the exception propagates and the container re-delivers the
+ * whole batch with backoff; ingestion is idempotent on transactionId.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionEventConsumer {
+
+    private final TransactionIngestService transactionIngestService;
+
+    @KafkaListener(
+            topics = "transaction-events",
+            groupId = "analytics-service",
+            containerFactory = "batchKafkaListenerContainerFactory"
+    )
+    public void consumeTransactionEvents(
+            List<ConsumerRecord<String, Object>> records,
+            Acknowledgment acknowledgment) {
+
+        List<TransactionEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof TransactionEvent event) {
+                events.add(event);
+            } else {
+                // Undeserializable or foreign payload: skip rather than block the partition
+                log.warn("Skipping transaction-events record at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+            }
+        }
+
+        int inserted = transactionIngestService.ingest(events);
+        acknowledgment.acknowledge();
+
+        log.debug("Processed {} transaction events ({} new)", records.size(), inserted);
+    }
+}
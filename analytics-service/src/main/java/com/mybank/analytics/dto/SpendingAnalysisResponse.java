@@ -31,6 +31,8 @@ public class SpendingAnalysisResponse {
         private BigDecimal amount;
         private int transactionCount;
         private BigDecimal averageAmount;
+        private BigDecimal minAmount;
+        private BigDecimal maxAmount;
     }
 
     @Data
@@ -0,0 +1,62 @@
+package com.mybank.analytics.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DailySpendingBucket
+ * Bounded Context: Spending Analytics
+ * Pattern: CQRS Read Model (pre-aggregated)
+ *
+ * One document per user, day and category, maintained incrementally on ingest
+ * ($inc total/count, $min/$max). A spending query for N days merges at most
+ * N x categories buckets instead of scanning every transaction.
+ */
+@Document(collection = "daily_spending_buckets")
+@CompoundIndex(name = "user_date_idx", def = "{'userId': 1, 'date': 1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySpendingBucket {
+
+    @Id
+    private String id; // userId:date:category
+
+    private String userId;
+
+    private LocalDate date;
+
+    private String category;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+
+    private long count;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal min;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal max;
+
+    private List<String> transactionIds; // Applied transactions (makes re-delivery a no-op)
+
+    private LocalDateTime updatedAt;
+
+    public static String idOf(String userId, LocalDate date, String category) {
+        return userId + ":" + date + ":" + category;
+    }
+}
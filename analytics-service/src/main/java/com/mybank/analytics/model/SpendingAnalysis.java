@@ -5,7 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -18,6 +23,10 @@ import java.util.Map;
  * Domain: Personal Financial Management
  */
 @Document(collection = "spending_analysis")
+@CompoundIndexes({
+        @CompoundIndex(name = "user_date_idx", def = "{'userId': 1, 'transactionDate': 1}"),
+        @CompoundIndex(name = "user_anomalous_idx", def = "{'userId': 1, 'isAnomalous': 1, 'transactionDate': 1}")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -29,10 +38,12 @@ public class SpendingAnalysis {
 
     private String userId;
 
-    private String transactionId;
+    @Indexed(unique = true)
+    private String transactionId; // Idempotency key for event ingestion
 
     private String category; // FOOD, TRANSPORT, SHOPPING, ENTERTAINMENT, etc.
 
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal amount;
 
     private String merchantName;
@@ -0,0 +1,22 @@
+package com.mybank.analytics.repository;
+
+import com.mybank.analytics.model.DailySpendingBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily Spending Bucket Repository
+ */
+@Repository
+public interface DailySpendingBucketRepository extends MongoRepository<DailySpendingBucket, String> {
+
+    /**
+     * Buckets for a user in [startDate, endDate], without the applied transaction IDs
+     */
+    @Query(value = "{ 'userId': ?0, 'date': { $gte: ?1, $lte: ?2 } }", fields = "{ 'transactionIds': 0 }")
+    List<DailySpendingBucket> findByUserIdAndDateBetween(String userId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,36 @@
+package com.mybank.analytics.repository;
+
+import com.mybank.analytics.model.SpendingAnalysis;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Result of the server-side spending aggregation ($facet output)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingAggregation {
+
+    private List<CategoryTotal> categories;
+
+    private List<SpendingAnalysis> anomalies;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryTotal {
+        @Id
+        private String category;
+        private BigDecimal amount;
+        private long count;
+        private BigDecimal average;
+        private BigDecimal min;
+        private BigDecimal max;
+    }
+}
@@ -11,12 +11,16 @@ import java.util.List;
  * Spending Analysis Repository
  */
 @Repository
-public interface SpendingAnalysisRepository extends MongoRepository<SpendingAnalysis, String> {
+public interface SpendingAnalysisRepository extends MongoRepository<SpendingAnalysis, String>,
+        SpendingAnalysisRepositoryCustom {
 
     List<SpendingAnalysis> findByUserIdAndTransactionDateBetween(
             String userId, LocalDateTime startDate, LocalDateTime endDate);
 
     List<SpendingAnalysis> findByUserIdAndIsAnomalous(String userId, boolean isAnomalous);
 
+    List<SpendingAnalysis> findByUserIdAndIsAnomalousAndTransactionDateBetween(
+            String userId, boolean isAnomalous, LocalDateTime startDate, LocalDateTime endDate);
+
     List<SpendingAnalysis> findByUserIdAndCategory(String userId, String category);
 }
@@ -0,0 +1,15 @@
+package com.mybank.analytics.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Custom Spending Analysis queries executed as Mongo aggregations
+ */
+public interface SpendingAnalysisRepositoryCustom {
+
+    /**
+     * Per-category totals and anomalous transactions for a user in [startDate, endDate],
+     * computed server-side in a single round trip
+     */
+    SpendingAggregation aggregateSpending(String userId, LocalDateTime startDate, LocalDateTime endDate);
+}
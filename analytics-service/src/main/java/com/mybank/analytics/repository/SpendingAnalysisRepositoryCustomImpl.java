@@ -0,0 +1,54 @@
+package com.mybank.analytics.repository;
+
+import com.mybank.analytics.model.SpendingAnalysis;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Spending aggregation pipeline
+ *
+ * $match  { userId, transactionDate in range }   -> index (userId, transactionDate)
+ * $facet  {
+ *   categories: $group by category (sum, count, avg, min, max), $sort by category
+ *   anomalies:  $match isAnomalous, $project reported fields
+ * }
+ *
+ * Only the grouped totals and the anomalous rows leave the server.
+ */
+@RequiredArgsConstructor
+public class SpendingAnalysisRepositoryCustomImpl implements SpendingAnalysisRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public SpendingAggregation aggregateSpending(String userId, LocalDateTime startDate, LocalDateTime endDate) {
+        TypedAggregation<SpendingAnalysis> aggregation = Aggregation.newAggregation(SpendingAnalysis.class,
+                Aggregation.match(Criteria.where("userId").is(userId)
+                        .and("transactionDate").gte(startDate).lte(endDate)),
+                Aggregation.facet(
+                                Aggregation.group("category")
+                                        .sum("amount").as("amount")
+                                        .count().as("count")
+                                        .avg("amount").as("average")
+                                        .min("amount").as("min")
+                                        .max("amount").as("max"),
+                                Aggregation.sort(Sort.Direction.ASC, "_id"))
+                        .as("categories")
+                        .and(
+                                Aggregation.match(Criteria.where("isAnomalous").is(true)),
+                                Aggregation.project("transactionId", "category", "amount",
+                                        "merchantName", "anomalyReason"))
+                        .as("anomalies"));
+
+        SpendingAggregation result = mongoTemplate.aggregate(aggregation, SpendingAggregation.class)
+                .getUniqueMappedResult();
+        return result != null ? result : new SpendingAggregation(List.of(), List.of());
+    }
+}
@@ -1,35 +1,142 @@
 package com.mybank.analytics.service;
 
 import com.mybank.analytics.dto.SpendingAnalysisResponse;
+import com.mybank.analytics.model.DailySpendingBucket;
 import com.mybank.analytics.model.SpendingAnalysis;
+import com.mybank.analytics.repository.DailySpendingBucketRepository;
+import com.mybank.analytics.repository.SpendingAggregation;
 import com.mybank.analytics.repository.SpendingAnalysisRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
  * Spending Analysis Service
  * Pattern: CQRS Read Model
  * Bounded Context: Spending Analytics
+ *
+ * Query engines (analytics.spending.engine):
+ * - BUCKETS (default): merges pre-aggregated DailySpendingBuckets, O(days x categories)
+ * - AGGREGATION: $match/$group/$facet pipeline in Mongo, only totals travel over the wire
+ * - RAW: loads every SpendingAnalysis row in the window and groups in memory, O(transactions)
+ *
+ * Buckets have day granularity: the window covers whole days from
+ * (today - daysBack) through today.
+ *
+ * Results are cached per (user, daysBack) for a short TTL with coalesced loads
+ * (sync = true); freshly ingested transactions show up once the entry expires.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SpendingAnalysisService {
 
+    public static final String SPENDING_ANALYSIS_CACHE = "spendingAnalysis";
+
+    public enum QueryEngine {
+        BUCKETS, AGGREGATION, RAW
+    }
+
     private final SpendingAnalysisRepository spendingAnalysisRepository;
+    private final DailySpendingBucketRepository dailySpendingBucketRepository;
 
+    @Value("${analytics.spending.engine:BUCKETS}")
+    private QueryEngine engine = QueryEngine.BUCKETS;
+
+    @Cacheable(value = SPENDING_ANALYSIS_CACHE, key = "#userId + ':' + #daysBack", sync = true)
     public SpendingAnalysisResponse getSpendingAnalysis(String userId, int daysBack) {
-        log.info("Fetching spending analysis for user: {}, days back: {}", userId, daysBack);
+        log.info("Fetching spending analysis for user: {}, days back: {}, engine: {}", userId, daysBack, engine);
+
+        return switch (engine) {
+            case BUCKETS -> fromBuckets(userId, daysBack);
+            case AGGREGATION -> fromAggregation(userId, daysBack);
+            case RAW -> fromRawTransactions(userId, daysBack);
+        };
+    }
 
-        LocalDateTime startDate = LocalDateTime.now().minusDays(daysBack);
+    private SpendingAnalysisResponse fromBuckets(String userId, int daysBack) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusDays(daysBack);
+
+        List<DailySpendingBucket> buckets = dailySpendingBucketRepository
+                .findByUserIdAndDateBetween(userId, startDate, endDate);
+
+        // Merge daily buckets per category
+        Map<String, CategoryTotals> byCategory = new TreeMap<>();
+        for (DailySpendingBucket bucket : buckets) {
+            byCategory.computeIfAbsent(bucket.getCategory(), category -> new CategoryTotals())
+                    .merge(bucket);
+        }
+
+        BigDecimal totalSpending = BigDecimal.ZERO;
+        List<SpendingAnalysisResponse.CategorySpending> categoryBreakdown = new ArrayList<>(byCategory.size());
+        for (Map.Entry<String, CategoryTotals> entry : byCategory.entrySet()) {
+            CategoryTotals totals = entry.getValue();
+            totalSpending = totalSpending.add(totals.total);
+            categoryBreakdown.add(SpendingAnalysisResponse.CategorySpending.builder()
+                    .category(entry.getKey())
+                    .amount(totals.total)
+                    .transactionCount((int) totals.count)
+                    .averageAmount(totals.total.divide(BigDecimal.valueOf(totals.count), 2, RoundingMode.HALF_UP))
+                    .minAmount(totals.min)
+                    .maxAmount(totals.max)
+                    .build());
+        }
+
+        List<SpendingAnalysis> anomalies = spendingAnalysisRepository.findByUserIdAndIsAnomalousAndTransactionDateBetween(
+                userId, true, startDate.atStartOfDay(), LocalDateTime.now());
+
+        return SpendingAnalysisResponse.builder()
+                .totalSpending(totalSpending)
+                .period(String.format("Last %d days", daysBack))
+                .categoryBreakdown(categoryBreakdown)
+                .anomalousTransactions(toAnomalousTransactions(anomalies))
+                .build();
+    }
+
+    private SpendingAnalysisResponse fromAggregation(String userId, int daysBack) {
+        LocalDateTime startDate = LocalDate.now().minusDays(daysBack).atStartOfDay();
+        LocalDateTime endDate = LocalDateTime.now();
+
+        SpendingAggregation aggregation = spendingAnalysisRepository.aggregateSpending(userId, startDate, endDate);
+
+        BigDecimal totalSpending = BigDecimal.ZERO;
+        List<SpendingAnalysisResponse.CategorySpending> categoryBreakdown =
+                new ArrayList<>(aggregation.getCategories().size());
+        for (SpendingAggregation.CategoryTotal category : aggregation.getCategories()) {
+            totalSpending = totalSpending.add(category.getAmount());
+            categoryBreakdown.add(SpendingAnalysisResponse.CategorySpending.builder()
+                    .category(category.getCategory())
+                    .amount(category.getAmount())
+                    .transactionCount((int) category.getCount())
+                    .averageAmount(category.getAverage().setScale(2, RoundingMode.HALF_UP))
+                    .minAmount(category.getMin())
+                    .maxAmount(category.getMax())
+                    .build());
+        }
+
+        return SpendingAnalysisResponse.builder()
+                .totalSpending(totalSpending)
+                .period(String.format("Last %d days", daysBack))
+                .categoryBreakdown(categoryBreakdown)
+                .anomalousTransactions(toAnomalousTransactions(aggregation.getAnomalies()))
+                .build();
+    }
+
+    private SpendingAnalysisResponse fromRawTransactions(String userId, int daysBack) {
+        LocalDateTime startDate = LocalDate.now().minusDays(daysBack).atStartOfDay();
         LocalDateTime endDate = LocalDateTime.now();
 
         List<SpendingAnalysis> analyses = spendingAnalysisRepository
@@ -41,7 +148,7 @@ public class SpendingAnalysisService {
 
         // Group by category
         Map<String, List<SpendingAnalysis>> byCategory = analyses.stream()
-                .collect(Collectors.groupingBy(SpendingAnalysis::getCategory));
+                .collect(Collectors.groupingBy(SpendingAnalysis::getCategory, TreeMap::new, Collectors.toList()));
 
         List<SpendingAnalysisResponse.CategorySpending> categoryBreakdown = byCategory.entrySet().stream()
                 .map(entry -> {
@@ -61,13 +168,30 @@ public class SpendingAnalysisService {
                             .amount(categoryTotal)
                             .transactionCount(categoryAnalyses.size())
                             .averageAmount(average)
+                            .minAmount(categoryAnalyses.stream().map(SpendingAnalysis::getAmount)
+                                    .min(BigDecimal::compareTo).orElse(null))
+                            .maxAmount(categoryAnalyses.stream().map(SpendingAnalysis::getAmount)
+                                    .max(BigDecimal::compareTo).orElse(null))
                             .build();
                 })
                 .collect(Collectors.toList());
 
         // Get anomalous transactions
-        List<SpendingAnalysisResponse.AnomalousTransaction> anomalousTransactions = analyses.stream()
+        List<SpendingAnalysis> anomalies = analyses.stream()
                 .filter(SpendingAnalysis::isAnomalous)
+                .collect(Collectors.toList());
+
+        return SpendingAnalysisResponse.builder()
+                .totalSpending(totalSpending)
+                .period(String.format("Last %d days", daysBack))
+                .categoryBreakdown(categoryBreakdown)
+                .anomalousTransactions(toAnomalousTransactions(anomalies))
+                .build();
+    }
+
+    private static List<SpendingAnalysisResponse.AnomalousTransaction> toAnomalousTransactions(
+            List<SpendingAnalysis> anomalies) {
+        return anomalies.stream()
                 .map(analysis -> SpendingAnalysisResponse.AnomalousTransaction.builder()
                         .transactionId(analysis.getTransactionId())
                         .category(analysis.getCategory())
@@ -76,12 +200,22 @@ public class SpendingAnalysisService {
                         .reason(analysis.getAnomalyReason())
                         .build())
                 .collect(Collectors.toList());
+    }
 
-        return SpendingAnalysisResponse.builder()
-                .totalSpending(totalSpending)
-                .period(String.format("Last %d days", daysBack))
-                .categoryBreakdown(categoryBreakdown)
-                .anomalousTransactions(anomalousTransactions)
-                .build();
+    /**
+     * Running merge of daily buckets for one category
+     */
+    private static final class CategoryTotals {
+        private BigDecimal total = BigDecimal.ZERO;
+        private long count;
+        private BigDecimal min;
+        private BigDecimal max;
+
+        private void merge(DailySpendingBucket bucket) {
+            total = total.add(bucket.getTotal());
+            count += bucket.getCount();
+            min = min == null || bucket.getMin().compareTo(min) < 0 ? bucket.getMin() : min;
+            max = max == null || bucket.getMax().compareTo(max) > 0 ? bucket.getMax() : max;
+        }
     }
 }
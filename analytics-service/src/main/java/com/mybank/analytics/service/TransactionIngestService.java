@@ -0,0 +1,209 @@
+package com.mybank.analytics.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mybank.analytics.model.DailySpendingBucket;
+import com.mybank.analytics.model.SpendingAnalysis;
+import com.mybank.common.event.TransactionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transaction Ingest Service
+ * Pattern: CQRS Read Model projection
+ * Bounded Context: Spending Analytics
+ *
+ * Projects TransactionEvents into SpendingAnalysis documents:
+ * - One unordered bulkWrite per batch
+ * - Upsert keyed on transactionId with $setOnInsert only, so a re-delivered
+ *   event (Kafka redelivery, outbox re-publish) leaves the stored document untouched
+ * - Duplicate-key races on the unique transactionId index count as already ingested
+ *
+ * Then folds the same transactions into DailySpendingBucket documents:
+ * - $inc total/count, $min/$max, one unordered bulkWrite per batch
+ * - Each update is guarded by "transactionIds $ne id" and pushes the id, so a
+ *   transaction is applied to its bucket exactly once even across re-deliveries
+ */
+@Slf4j
+@Service
+public class TransactionIngestService {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final Timer batchTimer;
+    private final Counter inserted;
+    private final Counter duplicates;
+
+    public TransactionIngestService(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchTimer = Timer.builder("analytics.ingest.batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.inserted = Counter.builder("analytics.ingest.records")
+                .tag("outcome", "inserted")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("analytics.ingest.records")
+                .tag("outcome", "duplicate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ingest a batch of transaction events
+     * @return number of newly inserted SpendingAnalysis documents
+     */
+    public int ingest(Collection<TransactionEvent> events) {
+        // Last occurrence wins for duplicates inside the same batch
+        Map<String, TransactionEvent> byTransactionId = new LinkedHashMap<>();
+        for (TransactionEvent event : events) {
+            if (isSpending(event)) {
+                byTransactionId.put(event.getTransactionId(), event);
+            }
+        }
+        if (byTransactionId.isEmpty()) {
+            return 0;
+        }
+
+        return batchTimer.record(() -> write(byTransactionId));
+    }
+
+    private int write(Map<String, TransactionEvent> byTransactionId) {
+        LocalDateTime analyzedAt = LocalDateTime.now();
+        List<SpendingAnalysis> analyses = new ArrayList<>(byTransactionId.size());
+        byTransactionId.values().forEach(event -> analyses.add(toSpendingAnalysis(event, analyzedAt)));
+
+        int upserted = writeAnalyses(analyses);
+        writeBuckets(analyses, analyzedAt);
+
+        inserted.increment(upserted);
+        duplicates.increment(analyses.size() - upserted);
+        log.debug("Ingested {} transaction events ({} new)", analyses.size(), upserted);
+        return upserted;
+    }
+
+    private int writeAnalyses(List<SpendingAnalysis> analyses) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, SpendingAnalysis.class);
+        analyses.forEach(analysis -> bulk.upsert(
+                Query.query(Criteria.where("transactionId").is(analysis.getTransactionId())),
+                insertOnly(analysis)));
+
+        int upserted;
+        try {
+            upserted = bulk.execute().getUpserts().size();
+        } catch (BulkOperationException e) {
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                throw e;
+            }
+            upserted = e.getResult().getUpserts().size();
+        }
+        return upserted;
+    }
+
+    /**
+     * Apply transactions to their daily buckets
+     *
+     * A duplicate-key error means either the transaction was already applied
+     * (guard excluded the existing bucket) or two consumers raced to create the
+     * bucket; the failed operations are retried once to tell the two apart.
+     */
+    private void writeBuckets(List<SpendingAnalysis> analyses, LocalDateTime updatedAt) {
+        List<SpendingAnalysis> pending = analyses;
+        for (int attempt = 0; attempt < 2 && !pending.isEmpty(); attempt++) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DailySpendingBucket.class);
+            pending.forEach(analysis -> bulk.upsert(bucketQuery(analysis), bucketUpdate(analysis, updatedAt)));
+
+            try {
+                bulk.execute();
+                return;
+            } catch (BulkOperationException e) {
+                List<SpendingAnalysis> retry = new ArrayList<>();
+                for (BulkWriteError error : e.getErrors()) {
+                    if (error.getCode() != DUPLICATE_KEY) {
+                        throw e;
+                    }
+                    retry.add(pending.get(error.getIndex()));
+                }
+                pending = retry;
+            }
+        }
+    }
+
+    private static Query bucketQuery(SpendingAnalysis analysis) {
+        String bucketId = DailySpendingBucket.idOf(
+                analysis.getUserId(), analysis.getTransactionDate().toLocalDate(), analysis.getCategory());
+        return Query.query(Criteria.where("_id").is(bucketId)
+                .and("transactionIds").ne(analysis.getTransactionId()));
+    }
+
+    private static Update bucketUpdate(SpendingAnalysis analysis, LocalDateTime updatedAt) {
+        Decimal128 amount = new Decimal128(analysis.getAmount());
+        return new Update()
+                .setOnInsert("userId", analysis.getUserId())
+                .setOnInsert("date", analysis.getTransactionDate().toLocalDate())
+                .setOnInsert("category", analysis.getCategory())
+                .inc("total", amount)
+                .inc("count", 1L)
+                .min("min", amount)
+                .max("max", amount)
+                .push("transactionIds", analysis.getTransactionId())
+                .set("updatedAt", updatedAt);
+    }
+
+    /**
+     * Only completed debits are spending
+     */
+    private static boolean isSpending(TransactionEvent event) {
+        return event != null
+                && event.getTransactionId() != null
+                && event.getUserId() != null
+                && event.getAmount() != null
+                && "DEBIT".equals(event.getTransactionType())
+                && "COMPLETED".equals(event.getStatus());
+    }
+
+    private static SpendingAnalysis toSpendingAnalysis(TransactionEvent event, LocalDateTime analyzedAt) {
+        return SpendingAnalysis.builder()
+                .userId(event.getUserId())
+                .transactionId(event.getTransactionId())
+                .category(event.getCategory() != null ? event.getCategory() : "OTHER")
+                .amount(event.getAmount())
+                .merchantName(event.getMerchantName())
+                .transactionDate(event.getTimestamp() != null ? event.getTimestamp() : analyzedAt)
+                .metadata(Map.of(
+                        "accountId", String.valueOf(event.getAccountId()),
+                        "currency", String.valueOf(event.getCurrency())))
+                .isAnomalous(false)
+                .analyzedAt(analyzedAt)
+                .build();
+    }
+
+    /**
+     * Convert the mapped document into a $setOnInsert-only update
+     */
+    private Update insertOnly(SpendingAnalysis analysis) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(analysis, document);
+        document.remove("_id");
+
+        Update update = new Update();
+        document.forEach(update::setOnInsert);
+        return update;
+    }
+}
@@ -2,6 +2,7 @@ package com.mybank.gateway.config;
 
 import com.mybank.gateway.filter.JwtAuthenticationWebFilter;
 import com.mybank.gateway.filter.TokenBlacklistFilter;
+import com.mybank.gateway.security.PublicPathMatcher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +24,9 @@ import java.util.List;
  * Filter Chain:
  * 1. JwtAuthenticationWebFilter - Validates JWT signature/expiration
  * 2. TokenBlacklistFilter - Checks if token is revoked (logged out)
+ *
+ * Public endpoints are classified once per exchange by PublicPathMatcher
+ * (gateway.security.public-paths), shared with both filters.
  */
 @Configuration
 @EnableWebFluxSecurity
@@ -31,6 +35,7 @@ public class GatewaySecurityConfig {
 
     private final JwtAuthenticationWebFilter jwtAuthenticationWebFilter;
     private final TokenBlacklistFilter tokenBlacklistFilter;
+    private final PublicPathMatcher publicPathMatcher;
 
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
@@ -38,10 +43,8 @@ public class GatewaySecurityConfig {
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeExchange(exchanges -> exchanges
-                        // Public endpoints
-                        .pathMatchers("/api/v1/auth/**").permitAll()
-                        .pathMatchers("/actuator/**").permitAll()
-                        .pathMatchers("/health").permitAll()
+                        // Public endpoints (same verdict the filters use)
+                        .matchers(publicPathMatcher.asExchangeMatcher()).permitAll()
                         // All other endpoints require authentication
                         .anyExchange().authenticated()
                 )
@@ -1,10 +1,9 @@
 package com.mybank.gateway.filter;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.mybank.common.security.JwtParseResult;
+import com.mybank.common.security.JwtUtil;
+import com.mybank.gateway.security.PublicPathMatcher;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpHeaders;
@@ -14,9 +13,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
-
 /**
  * JWT Authentication filter for API Gateway
  * Validates JWT tokens and extracts user information
@@ -25,11 +21,13 @@ import java.nio.charset.StandardCharsets;
 @Component
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
-    @Value("${jwt.secret:mybank360-super-secret-key-for-jwt-token-generation-minimum-256-bits}")
-    private String secret;
+    private final JwtUtil jwtUtil;
+    private final PublicPathMatcher publicPathMatcher;
 
-    public JwtAuthenticationFilter() {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PublicPathMatcher publicPathMatcher) {
         super(Config.class);
+        this.jwtUtil = jwtUtil;
+        this.publicPathMatcher = publicPathMatcher;
     }
 
     @Override
@@ -38,7 +36,7 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             ServerHttpRequest request = exchange.getRequest();
 
             // Skip authentication for public endpoints
-            if (isPublicEndpoint(request.getPath().toString())) {
+            if (publicPathMatcher.isPublic(exchange)) {
                 return chain.filter(exchange);
             }
 
@@ -50,37 +48,19 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
 
             String token = authHeader.substring(7);
 
-            try {
-                Claims claims = validateToken(token);
-                String userId = claims.getSubject();
-
-                // Add user information to request headers
-                ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                        .header("X-User-Id", userId)
-                        .build();
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
-
-            } catch (Exception e) {
-                log.error("JWT validation failed: {}", e.getMessage());
+            JwtParseResult parsed = jwtUtil.parse(token);
+            if (!parsed.isValid()) {
+                log.error("JWT validation failed ({}): {}", parsed.failure(), parsed.message());
                 return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
             }
-        };
-    }
 
-    private Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+            // Add user information to request headers
+            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+                    .header("X-User-Id", parsed.userId())
+                    .build();
 
-    private boolean isPublicEndpoint(String path) {
-        return path.contains("/auth/") ||
-               path.contains("/actuator/") ||
-               path.contains("/health");
+            return chain.filter(exchange.mutate().request(modifiedRequest).build());
+        };
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
@@ -1,9 +1,16 @@
 package com.mybank.gateway.filter;
 
+import com.mybank.common.security.JwtParseResult;
 import com.mybank.common.security.JwtUtil;
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.security.TokenHasher;
+import com.mybank.gateway.security.JwksKeyCache;
+import com.mybank.gateway.security.JwtClaimsCache;
+import com.mybank.gateway.security.PublicPathMatcher;
 import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -29,6 +36,14 @@ import java.util.stream.Collectors;
  * - Validates JWT signature and expiration
  * - Extracts user info (userId, email, roles) from JWT
  * - Adds X-User-* headers for downstream services
+ *
+ * Performance:
+ * - Verified claims are cached per token digest (JwtClaimsCache)
+ * - Cache hit: no signature verification, no JSON parsing
+ * - Cache miss: a single parse that verifies and returns the claims
+ * - ES256 with JWKS: keys are local (JwksKeyCache); an unknown kid refreshes
+ *   the JWKS once and the token is verified again
+ * - The token digest is stored as an exchange attribute for TokenBlacklistFilter
  */
 @Slf4j
 @Component
@@ -36,16 +51,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JwtAuthenticationWebFilter implements WebFilter {
 
+    /**
+     * Exchange attribute holding the SHA-256 digest of the bearer token (TokenHash)
+     */
+    public static final String TOKEN_HASH_ATTRIBUTE = "mybank.tokenHash";
+
     private final JwtUtil jwtUtil;
+    private final JwtClaimsCache claimsCache;
+    private final ObjectProvider<JwksKeyCache> jwksKeyCache;
+    private final PublicPathMatcher publicPathMatcher;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        String path = request.getPath().toString();
 
         // Skip authentication for public endpoints
-        if (isPublicEndpoint(path)) {
-            log.debug("Skipping JWT validation for public endpoint: {}", path);
+        if (publicPathMatcher.isPublic(exchange)) {
+            log.debug("Skipping JWT validation for public endpoint: {}", request.getPath());
             return chain.filter(exchange);
         }
 
@@ -53,21 +75,44 @@ public class JwtAuthenticationWebFilter implements WebFilter {
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.warn("Missing or invalid Authorization header for path: {}", path);
+            log.warn("Missing or invalid Authorization header for path: {}", request.getPath());
             return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
         }
 
         String token = authHeader.substring(7);
+        TokenHash tokenHash = TokenHasher.hash(token);
+        exchange.getAttributes().put(TOKEN_HASH_ATTRIBUTE, tokenHash);
+
+        // Reuse claims verified earlier on this node
+        Claims cached = claimsCache.get(tokenHash);
+        if (cached != null) {
+            return authenticate(exchange, chain, token, cached);
+        }
+
+        // Single parse: verifies signature/expiration and returns claims
+        JwtParseResult parsed = jwtUtil.parse(token);
+        JwksKeyCache jwks = jwksKeyCache.getIfAvailable();
+        if (parsed.failure() == JwtParseResult.Failure.UNKNOWN_KEY && jwks != null) {
+            // Signing key rotated since the last JWKS refresh: refresh (rate-limited) and verify again
+            return jwks.refreshForUnknownKey()
+                    .flatMap(refreshed -> verified(exchange, chain, token, tokenHash,
+                            refreshed ? jwtUtil.parse(token) : parsed));
+        }
+        return verified(exchange, chain, token, tokenHash, parsed);
+    }
 
+    private Mono<Void> verified(ServerWebExchange exchange, WebFilterChain chain,
+                                String token, TokenHash tokenHash, JwtParseResult parsed) {
+        if (!parsed.isValid()) {
+            log.warn("Invalid JWT token ({}): {}", parsed.failure(), parsed.message());
+            return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
+        }
+        claimsCache.put(tokenHash, parsed.claims());
+        return authenticate(exchange, chain, token, parsed.claims());
+    }
+
+    private Mono<Void> authenticate(ServerWebExchange exchange, WebFilterChain chain, String token, Claims claims) {
         try {
-            // Validate JWT token
-            if (!jwtUtil.validateToken(token)) {
-                log.warn("Invalid JWT token");
-                return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
-            }
-
-            // Extract claims from token
-            Claims claims = jwtUtil.getClaimsFromToken(token);
             String userId = claims.getSubject();
             String email = claims.get("email", String.class);
             String name = claims.get("name", String.class);
@@ -77,7 +122,7 @@ public class JwtAuthenticationWebFilter implements WebFilter {
             log.debug("JWT validated for user: {} ({})", userId, email);
 
             // Add user information to request headers for downstream services
-            ServerHttpRequest modifiedRequest = request.mutate()
+            ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
                     .header("X-User-Id", userId)
                     .header("X-User-Email", email)
                     .header("X-User-Name", name)
@@ -103,12 +148,6 @@ public class JwtAuthenticationWebFilter implements WebFilter {
         }
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return path.contains("/auth/") ||
-               path.contains("/actuator/") ||
-               path.contains("/health");
-    }
-
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(status);
@@ -2,6 +2,7 @@ package com.mybank.gateway.filter;
 
 import com.mybank.common.session.EnhancedSessionService;
 import com.mybank.common.session.UserSession;
+import com.mybank.gateway.security.PublicPathMatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -32,13 +33,12 @@ import reactor.core.publisher.Mono;
 public class RedisSessionWebFilter implements WebFilter {
 
     private final EnhancedSessionService sessionService;
+    private final PublicPathMatcher publicPathMatcher;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String path = exchange.getRequest().getPath().toString();
-
         // Skip session check for public endpoints
-        if (isPublicEndpoint(path)) {
+        if (publicPathMatcher.isPublic(exchange)) {
             return chain.filter(exchange);
         }
 
@@ -96,12 +96,6 @@ public class RedisSessionWebFilter implements WebFilter {
                 });
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return path.contains("/auth/") ||
-               path.contains("/actuator/") ||
-               path.contains("/health");
-    }
-
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(status);
@@ -0,0 +1,169 @@
+package com.mybank.gateway.security;
+
+import com.mybank.common.security.JwtKeySource;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JWKS Key Cache for API Gateway (gateway.jwt.jwks.enabled)
+ *
+ * Holds the auth-service public keys so tokens are verified locally with
+ * no shared secret and no call to auth-service per request:
+ * - Keys are parsed once into java.security.Key objects and swapped in as
+ *   an immutable map (lock-free reads on the request path)
+ * - Loaded at startup and refreshed in the background every refresh interval
+ * - A token with an unknown kid (key just rotated) triggers one shared
+ *   refresh, at most once per min-refresh-interval, so rotation needs no
+ *   gateway restart and random kids cannot cause a refresh storm
+ * - A failed or empty fetch keeps the current keys
+ *
+ * Metrics:
+ * - gateway.jwks.keys (gauge)
+ * - gateway.jwks.refreshes (tag: result=success|failure)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gateway.jwt.jwks.enabled", havingValue = "true")
+public class JwksKeyCache implements JwtKeySource {
+
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final Duration refreshInterval;
+    private final long minRefreshIntervalNanos;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<Mono<Void>> inFlightRefresh = new AtomicReference<>();
+    private final AtomicLong lastRefreshNanos = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    private volatile Map<String, Key> keys = Map.of();
+
+    public JwksKeyCache(WebClient.Builder webClientBuilder,
+                        MeterRegistry meterRegistry,
+                        @Value("${gateway.jwt.jwks.uri}") String jwksUri,
+                        @Value("${gateway.jwt.jwks.refresh-interval-seconds:300}") long refreshIntervalSeconds,
+                        @Value("${gateway.jwt.jwks.min-refresh-interval-seconds:10}") long minRefreshIntervalSeconds) {
+        this.webClient = webClientBuilder.build();
+        this.meterRegistry = meterRegistry;
+        this.jwksUri = jwksUri;
+        this.refreshInterval = Duration.ofSeconds(refreshIntervalSeconds);
+        this.minRefreshIntervalNanos = Duration.ofSeconds(minRefreshIntervalSeconds).toNanos();
+
+        Gauge.builder("gateway.jwks.keys", this, cache -> cache.keys.size())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        subscriptions.add(Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refresh())
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    @Override
+    public Key verificationKey(String keyId) {
+        return keys.get(keyId);
+    }
+
+    /**
+     * Refresh after a token failed with an unknown kid
+     *
+     * @return true if a refresh ran (the caller should verify the token again)
+     */
+    public Mono<Boolean> refreshForUnknownKey() {
+        long last = lastRefreshNanos.get();
+        if (System.nanoTime() - last < minRefreshIntervalNanos && inFlightRefresh.get() == null) {
+            return Mono.just(false);
+        }
+        return refresh().thenReturn(true);
+    }
+
+    /**
+     * One shared fetch at a time; errors are logged and swallowed
+     */
+    private Mono<Void> refresh() {
+        Mono<Void> current = inFlightRefresh.get();
+        if (current != null) {
+            return current;
+        }
+        Mono<Void> next = fetch()
+                .doFinally(signal -> inFlightRefresh.set(null))
+                .cache();
+        if (inFlightRefresh.compareAndSet(null, next)) {
+            return next;
+        }
+        Mono<Void> winner = inFlightRefresh.get();
+        return winner != null ? winner : Mono.empty();
+    }
+
+    private Mono<Void> fetch() {
+        lastRefreshNanos.set(System.nanoTime());
+        return webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(FETCH_TIMEOUT)
+                .map(JwksKeyCache::parse)
+                .doOnNext(this::swap)
+                .doOnError(error -> {
+                    meterRegistry.counter("gateway.jwks.refreshes", "result", "failure").increment();
+                    log.warn("JWKS refresh from {} failed, keeping {} cached keys: {}", jwksUri, keys.size(), error.getMessage());
+                })
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private void swap(Map<String, Key> fetched) {
+        if (fetched.isEmpty()) {
+            meterRegistry.counter("gateway.jwks.refreshes", "result", "failure").increment();
+            log.warn("JWKS from {} has no usable keys, keeping {} cached keys", jwksUri, keys.size());
+            return;
+        }
+        if (!fetched.keySet().equals(keys.keySet())) {
+            log.info("JWKS keys updated: {}", fetched.keySet());
+        }
+        keys = fetched;
+        meterRegistry.counter("gateway.jwks.refreshes", "result", "success").increment();
+    }
+
+    private static Map<String, Key> parse(String json) {
+        JwkSet jwkSet = Jwks.setParser().build().parse(json);
+        Map<String, Key> parsed = new HashMap<>();
+        for (Jwk<?> jwk : jwkSet.getKeys()) {
+            // Only public keys with an ID; a secret or private key here would be a misconfiguration
+            if (jwk instanceof PublicJwk<?> publicJwk && jwk.getId() != null) {
+                parsed.put(jwk.getId(), publicJwk.toKey());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+}
@@ -0,0 +1,101 @@
+package com.mybank.gateway.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mybank.common.security.TokenHash;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified JWT Claims Cache for API Gateway
+ *
+ * Skips HMAC verification and JSON parsing for tokens this node has already verified:
+ * - Keyed by the SHA-256 token digest (same hash as the blacklist key)
+ * - Each entry expires at the token's own "exp" claim (capped by max-ttl)
+ * - Bounded size, least recently used entries are evicted first
+ * - Entries are invalidated explicitly when a token is found on the blacklist
+ *
+ * Only claims that passed signature and expiration checks are ever stored.
+ */
+@Slf4j
+@Component
+public class JwtClaimsCache {
+
+    private final Cache<TokenHash, Claims> cache;
+
+    public JwtClaimsCache(
+            @Value("${gateway.jwt.claims-cache.max-size:100000}") long maxSize,
+            @Value("${gateway.jwt.claims-cache.max-ttl-seconds:3600}") long maxTtlSeconds,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ClaimsExpiry(TimeUnit.SECONDS.toNanos(maxTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtClaims");
+        log.info("JWT claims cache initialized (maxSize={}, maxTtl={}s)", maxSize, maxTtlSeconds);
+    }
+
+    /**
+     * Get verified claims for a token digest
+     * @return cached claims, or null if the token has not been verified on this node (or has expired)
+     */
+    public Claims get(TokenHash tokenHash) {
+        return cache.getIfPresent(tokenHash);
+    }
+
+    /**
+     * Store claims that were just verified
+     * Tokens without an expiration (or already expired) are never cached
+     */
+    public void put(TokenHash tokenHash, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(tokenHash, claims);
+    }
+
+    /**
+     * Evict a token (called when the token is blacklisted)
+     */
+    public void invalidate(TokenHash tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+
+    /**
+     * Expires each entry at the token's "exp" claim
+     */
+    private static final class ClaimsExpiry implements Expiry<TokenHash, Claims> {
+
+        private final long maxTtlNanos;
+
+        private ClaimsExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(TokenHash key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenHash key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenHash key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.mybank.gateway.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Public Path Matcher shared by all gateway filters and the security chain
+ *
+ * Patterns are compiled once into a trie over path segments:
+ * - literal segment: "/api/v1/auth"
+ * - "*": exactly one segment ("/api/v1/{any}/health")
+ * - "**": trailing wildcard, matches the prefix itself and everything below it
+ *
+ * The verdict is computed once per exchange and stored as an exchange attribute,
+ * so every later filter reads it without re-matching. Matching walks the already
+ * parsed request path elements and does not allocate.
+ *
+ * Replaces the per-filter path.contains("/auth/") / contains("/health") checks,
+ * which also matched unrelated paths such as "/api/v1/user/healthcare".
+ */
+@Slf4j
+@Component
+public class PublicPathMatcher {
+
+    /**
+     * Exchange attribute holding the Boolean public-path verdict
+     */
+    public static final String PUBLIC_PATH_ATTRIBUTE = "mybank.publicPath";
+
+    private static final Mono<ServerWebExchangeMatcher.MatchResult> MATCH =
+            ServerWebExchangeMatcher.MatchResult.match();
+    private static final Mono<ServerWebExchangeMatcher.MatchResult> NO_MATCH =
+            ServerWebExchangeMatcher.MatchResult.notMatch();
+
+    private final Node root = new Node();
+
+    public PublicPathMatcher(
+            @Value("${gateway.security.public-paths:/api/v1/auth/**,/actuator/**,/health,/api/v1/*/health}")
+            List<String> patterns) {
+        patterns.forEach(this::addPattern);
+        log.info("Public paths: {}", patterns);
+    }
+
+    /**
+     * Classify the exchange (once) and return whether it targets a public endpoint
+     */
+    public boolean isPublic(ServerWebExchange exchange) {
+        Boolean verdict = exchange.getAttribute(PUBLIC_PATH_ATTRIBUTE);
+        if (verdict == null) {
+            verdict = matches(exchange.getRequest().getPath().pathWithinApplication());
+            exchange.getAttributes().put(PUBLIC_PATH_ATTRIBUTE, verdict);
+        }
+        return verdict;
+    }
+
+    /**
+     * Adapter for Spring Security's authorizeExchange()
+     */
+    public ServerWebExchangeMatcher asExchangeMatcher() {
+        return exchange -> isPublic(exchange) ? MATCH : NO_MATCH;
+    }
+
+    public boolean matches(PathContainer path) {
+        return match(root, path.elements(), 0);
+    }
+
+    private static boolean match(Node node, List<PathContainer.Element> elements, int index) {
+        while (index < elements.size() && elements.get(index) instanceof PathContainer.Separator) {
+            index++;
+        }
+        if (node.matchesRest) {
+            return true;
+        }
+        if (index == elements.size()) {
+            return node.terminal;
+        }
+
+        String segment = ((PathContainer.PathSegment) elements.get(index)).valueToMatch();
+        Node child = node.children.get(segment);
+        if (child != null && match(child, elements, index + 1)) {
+            return true;
+        }
+        return node.anySegment != null && match(node.anySegment, elements, index + 1);
+    }
+
+    private void addPattern(String pattern) {
+        Node node = root;
+        for (String segment : pattern.trim().split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if ("**".equals(segment)) {
+                node.matchesRest = true;
+                return;
+            }
+            if ("*".equals(segment)) {
+                if (node.anySegment == null) {
+                    node.anySegment = new Node();
+                }
+                node = node.anySegment;
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.terminal = true;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node anySegment;
+        private boolean terminal;
+        private boolean matchesRest;
+    }
+}
@@ -0,0 +1,52 @@
+package com.mybank.gateway.security;
+
+import com.mybank.common.security.TokenHash;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over SHA-256 token digests
+ *
+ * The token hash is already a uniformly distributed SHA-256 digest, so the
+ * bit positions are derived directly from it (double hashing over the first
+ * 128 bits) instead of hashing the key again.
+ *
+ * - mightContain() == false: token is definitely not revoked
+ * - mightContain() == true: token may be revoked, confirm against the exact source
+ */
+final class RevocationBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long requiredBits = (long) (-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (requiredBits + 63) >>> 6));
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    void put(TokenHash tokenHash) {
+        long h1 = tokenHash.high();
+        long h2 = tokenHash.low();
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            long mask = 1L << index;
+            bits.getAndAccumulate((int) (index >>> 6), mask, (current, bit) -> current | bit);
+        }
+    }
+
+    boolean mightContain(TokenHash tokenHash) {
+        long h1 = tokenHash.high();
+        long h2 = tokenHash.low();
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
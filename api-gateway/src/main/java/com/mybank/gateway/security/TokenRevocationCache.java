@@ -0,0 +1,238 @@
+package com.mybank.gateway.security;
+
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.session.SessionBlacklistService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process Token Revocation Cache (near-cache for the Redis blacklist)
+ *
+ * Structure:
+ * - Bloom filter: every revoked token hash known at the last full sync
+ * - Exact set: revocations received via pub/sub since then (with expiry)
+ * - Redis: source of truth, consulted only when the Bloom filter says "maybe"
+ *
+ * Lookup (common case needs zero network hops):
+ * 1. Exact set hit -> revoked
+ * 2. Bloom filter miss -> not revoked
+ * 3. Bloom filter hit -> confirm with Redis (false positive or revoked token)
+ *
+ * Consistency:
+ * - SessionBlacklistService publishes every change on BLACKLIST_CHANNEL
+ * - Full sync (SCAN of blacklist keys) on subscribe and every resync interval;
+ *   keys are scanned as raw bytes, binary and legacy hex keys are both accepted
+ * - Until the first sync completes (or while pub/sub is down) every lookup goes to Redis
+ */
+@Slf4j
+@Component
+public class TokenRevocationCache {
+
+    private static final Mono<Boolean> REVOKED = Mono.just(Boolean.TRUE);
+    private static final Mono<Boolean> NOT_REVOKED = Mono.just(Boolean.FALSE);
+
+    private final ReactiveRedisTemplate<String, String> reactiveStringRedisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final JwtClaimsCache claimsCache;
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration resyncInterval;
+    private final boolean readLegacyKeys;
+
+    private final Map<TokenHash, Long> recentRevocations = new ConcurrentHashMap<>();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    private final Counter localHits;
+    private final Counter redisLookups;
+
+    private volatile RevocationBloomFilter bloomFilter;
+    private volatile boolean subscribed = false;
+    private volatile boolean synced = false;
+
+    public TokenRevocationCache(
+            ReactiveRedisTemplate<String, String> reactiveStringRedisTemplate,
+            ReactiveRedisMessageListenerContainer listenerContainer,
+            JwtClaimsCache claimsCache,
+            MeterRegistry meterRegistry,
+            @Value("${gateway.blacklist.near-cache.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${gateway.blacklist.near-cache.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${gateway.blacklist.near-cache.resync-interval-seconds:300}") long resyncIntervalSeconds,
+            @Value("${mybank.blacklist.read-legacy-keys:true}") boolean readLegacyKeys) {
+        this.reactiveStringRedisTemplate = reactiveStringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.claimsCache = claimsCache;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.resyncInterval = Duration.ofSeconds(resyncIntervalSeconds);
+        this.readLegacyKeys = readLegacyKeys;
+        this.bloomFilter = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.localHits = Counter.builder("gateway.blacklist.lookups")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.redisLookups = Counter.builder("gateway.blacklist.lookups")
+                .tag("source", "redis")
+                .register(meterRegistry);
+        Gauge.builder("gateway.blacklist.near-cache.ready", this, cache -> cache.isReady() ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        // Subscribe first, then sync, so no revocation can fall between the two
+        subscriptions.add(listenerContainer.receiveLater(ChannelTopic.of(SessionBlacklistService.BLACKLIST_CHANNEL))
+                .doOnNext(messages -> {
+                    subscribed = true;
+                    scheduleResync();
+                })
+                .flatMapMany(messages -> messages)
+                .doOnNext(message -> apply(message.getMessage()))
+                .doOnError(error -> {
+                    subscribed = false;
+                    synced = false;
+                    log.warn("Blacklist subscription lost, falling back to Redis lookups: {}", error.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+
+        // Periodic rebuild drops expired hashes from the Bloom filter
+        subscriptions.add(Flux.interval(resyncInterval, resyncInterval)
+                .filter(tick -> subscribed)
+                .concatMap(tick -> resync()
+                        .onErrorResume(error -> {
+                            log.warn("Blacklist resync failed, keeping current snapshot: {}", error.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * Check whether a token hash is revoked
+     * Errors are propagated so the caller can decide between fail-open and fail-closed
+     */
+    public Mono<Boolean> isRevoked(TokenHash tokenHash) {
+        if (!isReady()) {
+            return isRevokedInRedis(tokenHash);
+        }
+        if (recentRevocations.containsKey(tokenHash)) {
+            localHits.increment();
+            return REVOKED;
+        }
+        if (!bloomFilter.mightContain(tokenHash)) {
+            localHits.increment();
+            return NOT_REVOKED;
+        }
+        return isRevokedInRedis(tokenHash);
+    }
+
+    public boolean isReady() {
+        return subscribed && synced;
+    }
+
+    private Mono<Boolean> isRevokedInRedis(TokenHash tokenHash) {
+        redisLookups.increment();
+        ByteBuffer blacklistKey = ByteBuffer.wrap(SessionBlacklistService.blacklistKey(tokenHash));
+        return reactiveStringRedisTemplate.execute(connection -> connection.keyCommands().exists(blacklistKey))
+                .next()
+                .defaultIfEmpty(false)
+                .flatMap(found -> found || !readLegacyKeys
+                        ? Mono.just(found)
+                        : reactiveStringRedisTemplate.hasKey(SessionBlacklistService.legacyBlacklistKey(tokenHash))
+                                .defaultIfEmpty(false));
+    }
+
+    /**
+     * Apply a revocation event published by SessionBlacklistService
+     */
+    private void apply(String event) {
+        if (event == null || event.isEmpty()) {
+            return;
+        }
+        if (event.startsWith(SessionBlacklistService.EVENT_CLEARED)) {
+            recentRevocations.clear();
+            scheduleResync();
+            return;
+        }
+
+        TokenHash tokenHash;
+        try {
+            tokenHash = TokenHash.fromHex(event.substring(1));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed revocation event: {}", event);
+            return;
+        }
+        if (event.startsWith(SessionBlacklistService.EVENT_REVOKED)) {
+            long expiresAt = System.currentTimeMillis() + SessionBlacklistService.TOKEN_TTL.toMillis();
+            recentRevocations.put(tokenHash, expiresAt);
+            bloomFilter.put(tokenHash);
+            claimsCache.invalidate(tokenHash);
+            log.debug("Revocation received for token: {}", tokenHash);
+        } else if (event.startsWith(SessionBlacklistService.EVENT_REMOVED)) {
+            // Bloom filter cannot forget; a later positive is confirmed (and rejected) by Redis
+            recentRevocations.remove(tokenHash);
+        }
+    }
+
+    private void scheduleResync() {
+        resync().subscribe(null, error -> {
+            synced = false;
+            log.warn("Blacklist sync failed, falling back to Redis lookups: {}", error.getMessage());
+        });
+    }
+
+    /**
+     * Rebuild the Bloom filter from all blacklist keys in Redis
+     */
+    private Mono<Void> resync() {
+        RevocationBloomFilter next = new RevocationBloomFilter(expectedInsertions, falsePositiveRate);
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(SessionBlacklistService.BLACKLIST_PREFIX + "*")
+                .count(1000)
+                .build();
+
+        // Raw key scan: binary keys are not valid UTF-8 and would not survive the String serializer
+        return reactiveStringRedisTemplate.execute(connection -> connection.keyCommands().scan(options))
+                .mapNotNull(key -> {
+                    byte[] bytes = new byte[key.remaining()];
+                    key.get(bytes);
+                    return SessionBlacklistService.tokenHashOf(bytes);
+                })
+                .doOnNext(next::put)
+                .count()
+                .doOnNext(count -> {
+                    long now = System.currentTimeMillis();
+                    recentRevocations.values().removeIf(expiresAt -> expiresAt <= now);
+                    recentRevocations.keySet().forEach(next::put);
+                    bloomFilter = next;
+                    synced = true;
+                    log.info("Blacklist near-cache synced: {} revoked tokens", count);
+                })
+                .then();
+    }
+}
@@ -0,0 +1,127 @@
+package com.mybank.gateway.filter;
+
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.security.TokenHasher;
+import com.mybank.gateway.security.JwtClaimsCache;
+import com.mybank.gateway.security.PublicPathMatcher;
+import com.mybank.gateway.security.TokenRevocationCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenBlacklistFilter Tests")
+class TokenBlacklistFilterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String TOKEN = "header.payload.signature";
+
+    private final TokenHash tokenHash = TokenHasher.hash(TOKEN);
+
+    @Mock
+    private TokenRevocationCache revocationCache;
+
+    @Mock
+    private JwtClaimsCache claimsCache;
+
+    @Mock
+    private PublicPathMatcher publicPathMatcher;
+
+    @Mock
+    private WebFilterChain chain;
+
+    private TokenBlacklistFilter filter;
+    private MockServerWebExchange exchange;
+
+    @BeforeEach
+    void setUp() {
+        filter = new TokenBlacklistFilter(revocationCache, claimsCache, publicPathMatcher);
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/payments")
+                .header("Authorization", "Bearer " + TOKEN));
+        when(publicPathMatcher.isPublic(exchange)).thenReturn(false);
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 when revocation status is unavailable and fail-closed")
+    void shouldFailClosed() {
+        // Given
+        failClosed(true);
+        when(revocationCache.isRevoked(tokenHash)).thenReturn(Mono.error(new IllegalStateException("redis down")));
+
+        // When
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    @DisplayName("Should allow the request when revocation status is unavailable and fail-open")
+    void shouldFailOpen() {
+        // Given
+        failClosed(false);
+        when(revocationCache.isRevoked(tokenHash)).thenReturn(Mono.error(new IllegalStateException("redis down")));
+        when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+        // When
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        // Then
+        verify(chain).filter(exchange);
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a revoked token with 401 and drop its cached claims")
+    void shouldRejectRevokedToken() {
+        // Given
+        failClosed(true);
+        when(revocationCache.isRevoked(tokenHash)).thenReturn(Mono.just(true));
+
+        // When
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(claimsCache).invalidate(tokenHash);
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    @DisplayName("Should reuse the digest computed by the authentication filter")
+    void shouldReuseTokenHashAttribute() {
+        // Given
+        failClosed(true);
+        TokenHash cachedHash = TokenHasher.hash("other-token");
+        exchange.getAttributes().put(JwtAuthenticationWebFilter.TOKEN_HASH_ATTRIBUTE, cachedHash);
+        when(revocationCache.isRevoked(cachedHash)).thenReturn(Mono.just(false));
+        when(chain.filter(exchange)).thenReturn(Mono.empty());
+
+        // When
+        filter.filter(exchange, chain).block(TIMEOUT);
+
+        // Then
+        verify(chain).filter(exchange);
+        verify(revocationCache, never()).isRevoked(tokenHash);
+    }
+
+    private void failClosed(boolean failClosed) {
+        ReflectionTestUtils.setField(filter, "failClosed", failClosed);
+    }
+}
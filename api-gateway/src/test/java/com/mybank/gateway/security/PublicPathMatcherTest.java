@@ -0,0 +1,85 @@
+package com.mybank.gateway.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PublicPathMatcher Tests")
+class PublicPathMatcherTest {
+
+    private PublicPathMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        matcher = new PublicPathMatcher(List.of("/api/v1/auth/**", "/actuator/**", "/health", "/api/v1/*/health"));
+    }
+
+    @Test
+    @DisplayName("Should match the ** prefix itself and everything below it")
+    void shouldMatchDoubleWildcard() {
+        assertThat(matches("/api/v1/auth")).isTrue();
+        assertThat(matches("/api/v1/auth/login")).isTrue();
+        assertThat(matches("/api/v1/auth/oauth/callback/google")).isTrue();
+        assertThat(matches("/actuator/health/liveness")).isTrue();
+
+        assertThat(matches("/api/v1/authz")).isFalse();
+        assertThat(matches("/api/v1")).isFalse();
+        assertThat(matches("/api/v2/auth/login")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match * against exactly one segment")
+    void shouldMatchSingleWildcard() {
+        assertThat(matches("/api/v1/payment/health")).isTrue();
+        assertThat(matches("/api/v1/asset/health")).isTrue();
+
+        assertThat(matches("/api/v1/health")).isFalse();
+        assertThat(matches("/api/v1/payment/internal/health")).isFalse();
+        assertThat(matches("/api/v1/payment/health/details")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should ignore repeated and trailing slashes")
+    void shouldIgnoreExtraSlashes() {
+        assertThat(matches("/health/")).isTrue();
+        assertThat(matches("//health")).isTrue();
+        assertThat(matches("/api//v1/auth/login")).isTrue();
+        assertThat(matches("/api/v1/payment/health/")).isTrue();
+
+        assertThat(matches("/health//status")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not treat paths that merely contain a public segment as public")
+    void shouldRejectSubstringFalsePositives() {
+        assertThat(matches("/api/v1/user/healthcare")).isFalse();
+        assertThat(matches("/api/v1/user/health-check")).isFalse();
+        assertThat(matches("/api/v1/payment/auth/transfer")).isFalse();
+        assertThat(matches("/healthcare")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should store the verdict on the exchange")
+    void shouldCacheVerdictOnExchange() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/auth/login"));
+
+        // When
+        boolean verdict = matcher.isPublic(exchange);
+
+        // Then
+        assertThat(verdict).isTrue();
+        assertThat(exchange.getAttributes()).containsEntry(PublicPathMatcher.PUBLIC_PATH_ATTRIBUTE, true);
+    }
+
+    private boolean matches(String path) {
+        return matcher.matches(PathContainer.parsePath(path));
+    }
+}
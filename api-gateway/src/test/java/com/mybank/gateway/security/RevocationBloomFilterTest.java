@@ -0,0 +1,82 @@
+package com.mybank.gateway.security;
+
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.security.TokenHasher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RevocationBloomFilter Tests")
+class RevocationBloomFilterTest {
+
+    private static final int INSERTIONS = 10_000;
+
+    @Test
+    @DisplayName("Should never report an inserted token hash as absent")
+    void shouldHaveNoFalseNegatives() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(INSERTIONS, 0.01);
+
+        // When
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(TokenHasher.hash("revoked-" + i));
+        }
+
+        // Then
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain(TokenHasher.hash("revoked-" + i)))
+                    .as("revoked-%d", i)
+                    .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should still contain every inserted hash when filled far beyond its capacity")
+    void shouldHaveNoFalseNegativesWhenOverfilled() {
+        // Given: sized for 100, loaded with 100x that
+        RevocationBloomFilter filter = new RevocationBloomFilter(100, 0.01);
+
+        // When
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(TokenHasher.hash("revoked-" + i));
+        }
+
+        // Then
+        for (int i = 0; i < INSERTIONS; i++) {
+            assertThat(filter.mightContain(TokenHasher.hash("revoked-" + i))).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the false positive rate near the configured one")
+    void shouldBoundFalsePositives() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.put(TokenHasher.hash("revoked-" + i));
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain(TokenHasher.hash("active-" + i))) {
+                falsePositives++;
+            }
+        }
+
+        // Then: 1% configured, 3% allowed for variance
+        assertThat(falsePositives).isLessThan(INSERTIONS * 3 / 100);
+    }
+
+    @Test
+    @DisplayName("Should contain nothing when empty")
+    void shouldBeEmptyInitially() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(INSERTIONS, 0.01);
+        TokenHash tokenHash = TokenHasher.hash("active-token");
+
+        // When/Then
+        assertThat(filter.mightContain(tokenHash)).isFalse();
+    }
+}
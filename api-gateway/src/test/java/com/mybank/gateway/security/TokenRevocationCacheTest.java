@@ -0,0 +1,163 @@
+package com.mybank.gateway.security;
+
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.security.TokenHasher;
+import com.mybank.common.session.SessionBlacklistService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveRedisCallback;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationCache Tests")
+class TokenRevocationCacheTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final TokenHash revoked = TokenHasher.hash("revoked-token");
+    private final TokenHash active = TokenHasher.hash("active-token");
+
+    @Mock
+    private ReactiveRedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ReactiveRedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    private JwtClaimsCache claimsCache;
+
+    private final Sinks.Many<ReactiveSubscription.Message<String, String>> events =
+            Sinks.many().multicast().onBackpressureBuffer();
+
+    private TokenRevocationCache cache;
+
+    @AfterEach
+    void tearDown() {
+        if (cache != null) {
+            cache.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should confirm a Bloom filter hit with Redis")
+    void shouldConfirmBloomHitWithRedis() {
+        // Given: the sync finds the revoked key, Redis confirms it
+        doReturn(Flux.just(key(revoked)), Flux.just(true))
+                .when(redisTemplate).execute(any(ReactiveRedisCallback.class));
+        startSubscribed();
+
+        // When
+        Boolean result = cache.isRevoked(revoked).block(TIMEOUT);
+
+        // Then
+        assertThat(cache.isReady()).isTrue();
+        assertThat(result).isTrue();
+        verify(redisTemplate, times(2)).execute(any(ReactiveRedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should answer a Bloom filter miss locally")
+    void shouldAnswerBloomMissLocally() {
+        // Given
+        doReturn(Flux.just(key(revoked))).when(redisTemplate).execute(any(ReactiveRedisCallback.class));
+        startSubscribed();
+
+        // When
+        Boolean result = cache.isRevoked(active).block(TIMEOUT);
+
+        // Then: only the sync scan touched Redis
+        assertThat(result).isFalse();
+        verify(redisTemplate, times(1)).execute(any(ReactiveRedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should keep a revocation received during the sync that the scan missed")
+    void shouldKeepRevocationReceivedDuringSync() {
+        // Given: the scan is still running when the revocation event arrives
+        Sinks.Many<ByteBuffer> scan = Sinks.many().unicast().onBackpressureBuffer();
+        doReturn(scan.asFlux()).when(redisTemplate).execute(any(ReactiveRedisCallback.class));
+        startSubscribed();
+        events.tryEmitNext(event(SessionBlacklistService.EVENT_REVOKED + revoked.toHex()));
+
+        // When: the scan completes without the new key
+        scan.tryEmitComplete();
+        Boolean result = cache.isRevoked(revoked).block(TIMEOUT);
+
+        // Then: revoked without a Redis lookup
+        assertThat(cache.isReady()).isTrue();
+        assertThat(result).isTrue();
+        verify(claimsCache).invalidate(revoked);
+        verify(redisTemplate, times(1)).execute(any(ReactiveRedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should go to Redis until the first sync completes")
+    void shouldUseRedisBeforeSync() {
+        // Given: the subscription is not established yet
+        doReturn(Mono.never()).when(listenerContainer).receiveLater(any(ChannelTopic.class));
+        doReturn(Flux.just(true)).when(redisTemplate).execute(any(ReactiveRedisCallback.class));
+        cache = newCache();
+        cache.start();
+
+        // When
+        Boolean result = cache.isRevoked(revoked).block(TIMEOUT);
+
+        // Then
+        assertThat(cache.isReady()).isFalse();
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should propagate a Redis failure when the revocation status cannot be determined")
+    void shouldPropagateRedisFailure() {
+        // Given
+        doReturn(Mono.never()).when(listenerContainer).receiveLater(any(ChannelTopic.class));
+        doReturn(Flux.error(new IllegalStateException("redis down")))
+                .when(redisTemplate).execute(any(ReactiveRedisCallback.class));
+        cache = newCache();
+        cache.start();
+
+        // When/Then: the caller decides between fail-open and fail-closed
+        assertThatThrownBy(() -> cache.isRevoked(active).block(TIMEOUT))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("redis down");
+    }
+
+    private void startSubscribed() {
+        doReturn(Mono.just(events.asFlux())).when(listenerContainer).receiveLater(any(ChannelTopic.class));
+        cache = newCache();
+        cache.start();
+    }
+
+    private TokenRevocationCache newCache() {
+        return new TokenRevocationCache(redisTemplate, listenerContainer, claimsCache, new SimpleMeterRegistry(),
+                10_000, 0.01, 300, false);
+    }
+
+    private static ByteBuffer key(TokenHash tokenHash) {
+        return ByteBuffer.wrap(SessionBlacklistService.blacklistKey(tokenHash));
+    }
+
+    private static ReactiveSubscription.Message<String, String> event(String body) {
+        return new ReactiveSubscription.ChannelMessage<>(SessionBlacklistService.BLACKLIST_CHANNEL, body);
+    }
+}
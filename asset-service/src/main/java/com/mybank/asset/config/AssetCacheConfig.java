@@ -0,0 +1,18 @@
+package com.mybank.asset.config;
+
+import com.mybank.asset.dto.AssetSummaryResponse;
+import com.mybank.common.cache.RedisCacheType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache value types for Asset Service (typed Smile values in Redis)
+ */
+@Configuration
+public class AssetCacheConfig {
+
+    @Bean
+    public RedisCacheType assetsCacheType() {
+        return new RedisCacheType("assets", AssetSummaryResponse.class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mybank.asset.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * AssetSummary Projection
+ * Bounded Context: Asset Management
+ * Pattern: Materialized view, maintained incrementally on every asset save
+ *
+ * One document per user:
+ * - totalBalance and per-type totals are adjusted with $inc deltas (Decimal128)
+ * - assets holds a display snapshot of each active asset, keyed by asset ID
+ * - pendingWrites counts asset writes announced but not yet applied; a value
+ *   that stays non-zero means a writer died in between (see AssetSummaryReconciler)
+ * - revision increases with every change and guards the reconciling replace
+ */
+@Document(collection = "asset_summaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetSummary {
+
+    @Id
+    private String userId;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal totalBalance;
+
+    private Map<String, CategoryTotal> categories; // Keyed by AssetType name
+
+    private Map<String, AssetEntry> assets; // Keyed by asset ID
+
+    @Indexed
+    private int pendingWrites; // Marked writes whose delta is not applied yet
+
+    private long revision; // Incremented by every change
+
+    private LocalDateTime updatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryTotal {
+        @Field(targetType = FieldType.DECIMAL128)
+        private BigDecimal totalValue;
+        private long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AssetEntry {
+        private String assetType;
+        private String institutionName;
+        private String accountName;
+        @Field(targetType = FieldType.DECIMAL128)
+        private BigDecimal balance;
+        @Field(targetType = FieldType.DECIMAL128)
+        private BigDecimal currentValue;
+    }
+}
@@ -2,83 +2,125 @@ package com.mybank.asset.service;
 
 import com.mybank.asset.dto.AssetSummaryResponse;
 import com.mybank.asset.model.Asset;
+import com.mybank.asset.model.AssetSummary;
 import com.mybank.asset.repository.AssetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
- * Asset Service implementing Cache-Aside pattern with Redis
+ * Asset Service caching reads over a write-through materialized projection
  * Bounded Context: Asset Management
+ *
+ * - Reads: cache -> AssetSummary projection (single key lookup); concurrent
+ *   misses for a user are coalesced into one load (sync = true)
+ * - Writes: mark the owners' projections, save the asset, apply the delta to
+ *   the projection, then evict the cached summary. Putting the computed summary
+ *   instead would let two concurrent saves leave the older one in the cache; the
+ *   next read reloads from the projection, a single key lookup.
+ * - A save that dies between the asset write and the delta leaves its mark on the
+ *   projection; AssetSummaryReconciler rebuilds it later
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AssetService {
 
+    private static final String ASSETS_CACHE = "assets";
+
     private final AssetRepository assetRepository;
+    private final AssetSummaryProjector assetSummaryProjector;
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
 
-    @Cacheable(value = "assets", key = "#userId")
+    @Cacheable(value = ASSETS_CACHE, key = "#userId", sync = true)
     public AssetSummaryResponse getAssetSummary(String userId) {
         log.info("Fetching asset summary for user: {}", userId);
+        return toResponse(assetSummaryProjector.getOrRebuild(userId));
+    }
 
-        List<Asset> assets = assetRepository.findByUserIdAndIsActive(userId, true);
+    public void invalidateAssetCache(String userId) {
+        log.info("Invalidating asset cache for user: {}", userId);
+        Cache cache = cacheManager.getCache(ASSETS_CACHE);
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
 
-        BigDecimal totalBalance = assets.stream()
-                .map(asset -> asset.getBalance() != null ? asset.getBalance() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    public Asset saveAsset(Asset asset) {
+        // Announce the write to every owner involved before touching the asset
+        List<String> owners = new ArrayList<>(List.of(asset.getUserId()));
+        if (asset.getId() != null) {
+            Query byId = Query.query(Criteria.where("_id").is(asset.getId()));
+            byId.fields().include("userId");
+            Asset stored = mongoTemplate.findOne(byId, Asset.class);
+            if (stored != null) {
+                owners.add(stored.getUserId());
+            }
+        }
+        Set<String> marked = assetSummaryProjector.markPending(owners);
 
-        List<AssetSummaryResponse.AssetDetail> assetDetails = assets.stream()
-                .map(asset -> AssetSummaryResponse.AssetDetail.builder()
-                        .id(asset.getId())
-                        .assetType(asset.getAssetType().name())
-                        .institutionName(asset.getInstitutionName())
-                        .accountName(asset.getAccountName())
-                        .balance(asset.getBalance())
-                        .currentValue(asset.getCurrentValue())
-                        .build())
-                .collect(Collectors.toList());
+        // Replace atomically and get the previous version, so the delta is exact under concurrent saves
+        Asset previous = null;
+        Asset saved;
+        if (asset.getId() != null) {
+            previous = mongoTemplate.findAndReplace(
+                    Query.query(Criteria.where("_id").is(asset.getId())),
+                    asset,
+                    FindAndReplaceOptions.options().upsert());
+            saved = asset;
+        } else {
+            saved = assetRepository.save(asset);
+        }
+
+        Map<String, AssetSummary> summaries = assetSummaryProjector.apply(previous, saved, marked);
 
-        Map<Asset.AssetType, List<Asset>> assetsByType = assets.stream()
-                .collect(Collectors.groupingBy(Asset::getAssetType));
+        summaries.keySet().forEach(this::invalidateAssetCache);
+        return saved;
+    }
 
-        List<AssetSummaryResponse.CategorySummary> categoryBreakdown = assetsByType.entrySet().stream()
-                .map(entry -> {
-                    BigDecimal categoryTotal = entry.getValue().stream()
-                            .map(asset -> asset.getBalance() != null ? asset.getBalance() : BigDecimal.ZERO)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private static AssetSummaryResponse toResponse(AssetSummary summary) {
+        List<AssetSummaryResponse.AssetDetail> assetDetails = summary.getAssets() == null ? List.of()
+                : summary.getAssets().entrySet().stream()
+                .map(entry -> AssetSummaryResponse.AssetDetail.builder()
+                        .id(entry.getKey())
+                        .assetType(entry.getValue().getAssetType())
+                        .institutionName(entry.getValue().getInstitutionName())
+                        .accountName(entry.getValue().getAccountName())
+                        .balance(entry.getValue().getBalance())
+                        .currentValue(entry.getValue().getCurrentValue())
+                        .build())
+                .collect(Collectors.toList());
 
-                    return AssetSummaryResponse.CategorySummary.builder()
-                            .assetType(entry.getKey().name())
-                            .totalValue(categoryTotal)
-                            .count(entry.getValue().size())
-                            .build();
-                })
+        // Types whose last asset was removed keep a zero bucket in the projection
+        List<AssetSummaryResponse.CategorySummary> categoryBreakdown = summary.getCategories() == null ? List.of()
+                : summary.getCategories().entrySet().stream()
+                .filter(entry -> entry.getValue().getCount() > 0)
+                .map(entry -> AssetSummaryResponse.CategorySummary.builder()
+                        .assetType(entry.getKey())
+                        .totalValue(entry.getValue().getTotalValue())
+                        .count((int) entry.getValue().getCount())
+                        .build())
                 .collect(Collectors.toList());
 
         return AssetSummaryResponse.builder()
-                .totalBalance(totalBalance)
+                .totalBalance(summary.getTotalBalance())
                 .currency("KRW")
                 .assets(assetDetails)
                 .categoryBreakdown(categoryBreakdown)
                 .build();
     }
-
-    @CacheEvict(value = "assets", key = "#userId")
-    public void invalidateAssetCache(String userId) {
-        log.info("Invalidating asset cache for user: {}", userId);
-    }
-
-    public Asset saveAsset(Asset asset) {
-        Asset saved = assetRepository.save(asset);
-        invalidateAssetCache(asset.getUserId());
-        return saved;
-    }
 }
@@ -0,0 +1,266 @@
+package com.mybank.asset.service;
+
+import com.mybank.asset.model.Asset;
+import com.mybank.asset.model.AssetSummary;
+import com.mybank.asset.repository.AssetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.Decimal128;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Maintains the AssetSummary projection
+ *
+ * - apply(): one findAndModify per affected user with $inc deltas for the total
+ *   and the per-type bucket, plus $set/$unset of the asset snapshot
+ * - markPending(): announces an asset write before it happens ($inc pendingWrites),
+ *   apply() takes the mark back together with the delta
+ * - rebuild(): full recomputation from active assets; used when a user has no
+ *   projection yet (first read or first write after rollout)
+ * - reconcile(): recomputation of an existing projection, replaced only if no
+ *   change landed since it was read (revision guard)
+ *
+ * A rebuilt projection is only ever inserted, never saved over an existing one:
+ * a rebuild whose asset snapshot predates a concurrent write must not replace
+ * the projection that write created. The loser of the insert race uses the
+ * winner's projection; a writer re-applies its delta unless the winner's
+ * snapshot already reflects its asset.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssetSummaryProjector {
+
+    private final AssetRepository assetRepository;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Current projection for a user, rebuilt from assets if missing
+     */
+    public AssetSummary getOrRebuild(String userId) {
+        AssetSummary summary = mongoTemplate.findById(userId, AssetSummary.class);
+        return summary != null ? summary : rebuild(userId);
+    }
+
+    /**
+     * Announce an asset write on the owners' projections, before the asset is written
+     *
+     * @return users whose projection exists and was marked (missing ones are rebuilt on apply)
+     */
+    public Set<String> markPending(Collection<String> userIds) {
+        Set<String> marked = new LinkedHashSet<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            long modified = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                    new Update()
+                            .inc("pendingWrites", 1)
+                            .inc("revision", 1)
+                            .set("updatedAt", LocalDateTime.now()),
+                    AssetSummary.class).getModifiedCount();
+            if (modified > 0) {
+                marked.add(userId);
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Apply an asset change to the projection(s)
+     *
+     * @param previous asset as stored before the save (null for a new asset)
+     * @param current  asset as stored after the save
+     * @param marked   users whose projection was marked by markPending for this write
+     * @return updated projections keyed by user ID
+     */
+    public Map<String, AssetSummary> apply(Asset previous, Asset current, Set<String> marked) {
+        Map<String, AssetSummary> updated = new LinkedHashMap<>();
+
+        if (previous != null && !Objects.equals(previous.getUserId(), current.getUserId())) {
+            // Asset moved between users: remove from the old owner, add to the new one
+            updated.put(previous.getUserId(),
+                    applyDelta(previous.getUserId(), previous, null, marked.contains(previous.getUserId())));
+            updated.put(current.getUserId(),
+                    applyDelta(current.getUserId(), null, current, marked.contains(current.getUserId())));
+        } else {
+            updated.put(current.getUserId(),
+                    applyDelta(current.getUserId(), previous, current, marked.contains(current.getUserId())));
+        }
+        return updated;
+    }
+
+    private AssetSummary applyDelta(String userId, Asset previous, Asset current, boolean marked) {
+        // No upsert: a missing projection is rebuilt in full (it would otherwise hold only this delta)
+        Query byUser = Query.query(Criteria.where("_id").is(userId));
+        Update update = deltaUpdate(previous, current);
+        if (marked) {
+            update.inc("pendingWrites", -1);
+        }
+        AssetSummary summary = mongoTemplate.findAndModify(byUser, update,
+                FindAndModifyOptions.options().returnNew(true), AssetSummary.class);
+        if (summary != null) {
+            return summary;
+        }
+
+        // The rebuild reads assets after this write, so its snapshot includes the change
+        AssetSummary rebuilt = insertRebuilt(userId);
+        if (rebuilt != null) {
+            return rebuilt;
+        }
+
+        // Lost the insert race to a rebuild whose snapshot may predate this write
+        summary = mongoTemplate.findAndModify(notYetApplied(userId, previous, current), deltaUpdate(previous, current),
+                FindAndModifyOptions.options().returnNew(true), AssetSummary.class);
+        return summary != null ? summary : mongoTemplate.findById(userId, AssetSummary.class);
+    }
+
+    private static Update deltaUpdate(Asset previous, Asset current) {
+        Map<String, BigDecimal> valueDeltas = new LinkedHashMap<>();
+        Map<String, Long> countDeltas = new LinkedHashMap<>();
+
+        if (previous != null && previous.isActive()) {
+            valueDeltas.merge(previous.getAssetType().name(), balanceOf(previous).negate(), BigDecimal::add);
+            countDeltas.merge(previous.getAssetType().name(), -1L, Long::sum);
+        }
+        if (current != null && current.isActive()) {
+            valueDeltas.merge(current.getAssetType().name(), balanceOf(current), BigDecimal::add);
+            countDeltas.merge(current.getAssetType().name(), 1L, Long::sum);
+        }
+
+        BigDecimal totalDelta = valueDeltas.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        Update update = new Update()
+                .inc("totalBalance", new Decimal128(totalDelta))
+                .inc("revision", 1)
+                .set("updatedAt", LocalDateTime.now());
+        valueDeltas.forEach((type, delta) -> update
+                .inc("categories." + type + ".totalValue", new Decimal128(delta))
+                .inc("categories." + type + ".count", countDeltas.get(type)));
+
+        if (current != null && current.isActive()) {
+            update.set("assets." + current.getId(), toEntry(current));
+        } else {
+            Asset removed = current != null ? current : previous;
+            update.unset("assets." + removed.getId());
+        }
+        return update;
+    }
+
+    /**
+     * Matches the projection only while its snapshot of the changed asset does not
+     * reflect the change yet (entry absent or at another balance for an active asset,
+     * entry present for a removed one)
+     */
+    private static Query notYetApplied(String userId, Asset previous, Asset current) {
+        if (current != null && current.isActive()) {
+            return Query.query(Criteria.where("_id").is(userId)
+                    .and("assets." + current.getId() + ".balance").ne(new Decimal128(balanceOf(current))));
+        }
+        Asset removed = current != null ? current : previous;
+        return Query.query(Criteria.where("_id").is(userId)
+                .and("assets." + removed.getId()).exists(true));
+    }
+
+    /**
+     * Projection for a user that has none yet, rebuilt from all active assets
+     * If another reader or writer created it meanwhile, that projection is returned.
+     */
+    public AssetSummary rebuild(String userId) {
+        AssetSummary rebuilt = insertRebuilt(userId);
+        return rebuilt != null ? rebuilt : mongoTemplate.findById(userId, AssetSummary.class);
+    }
+
+    /**
+     * Recompute a projection that was read as stale and replace it
+     *
+     * The replace only matches while the projection is still at the revision that
+     * was read: a write marked or applied in the meantime wins, and the next
+     * reconciliation pass looks at the projection again.
+     *
+     * @return true if the projection was replaced
+     */
+    public boolean reconcile(AssetSummary stale) {
+        AssetSummary rebuilt = compute(stale.getUserId());
+        rebuilt.setRevision(stale.getRevision() + 1);
+
+        Query unchanged = Query.query(Criteria.where("_id").is(stale.getUserId())
+                .and("revision").is(stale.getRevision()));
+        boolean replaced = mongoTemplate.findAndReplace(unchanged, rebuilt) != null;
+        if (replaced) {
+            log.warn("Reconciled asset summary for user: {} ({} unapplied writes)",
+                    stale.getUserId(), stale.getPendingWrites());
+        }
+        return replaced;
+    }
+
+    /**
+     * Recompute a user's projection from all active assets and insert it
+     *
+     * @return the inserted projection, or null if one already exists
+     */
+    private AssetSummary insertRebuilt(String userId) {
+        AssetSummary summary = compute(userId);
+        try {
+            AssetSummary inserted = mongoTemplate.insert(summary);
+            log.info("Rebuilt asset summary for user: {} ({} assets)", userId, summary.getAssets().size());
+            return inserted;
+        } catch (DuplicateKeyException e) {
+            log.debug("Asset summary for user {} was created concurrently, discarding rebuild", userId);
+            return null;
+        }
+    }
+
+    private AssetSummary compute(String userId) {
+        List<Asset> assets = assetRepository.findByUserIdAndIsActive(userId, true);
+
+        BigDecimal totalBalance = BigDecimal.ZERO;
+        Map<String, AssetSummary.CategoryTotal> categories = new LinkedHashMap<>();
+        Map<String, AssetSummary.AssetEntry> entries = new LinkedHashMap<>();
+        for (Asset asset : assets) {
+            BigDecimal balance = balanceOf(asset);
+            totalBalance = totalBalance.add(balance);
+
+            AssetSummary.CategoryTotal category = categories.computeIfAbsent(asset.getAssetType().name(),
+                    type -> new AssetSummary.CategoryTotal(BigDecimal.ZERO, 0));
+            category.setTotalValue(category.getTotalValue().add(balance));
+            category.setCount(category.getCount() + 1);
+
+            entries.put(asset.getId(), toEntry(asset));
+        }
+
+        return AssetSummary.builder()
+                .userId(userId)
+                .totalBalance(totalBalance)
+                .categories(categories)
+                .assets(entries)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static BigDecimal balanceOf(Asset asset) {
+        return asset.getBalance() != null ? asset.getBalance() : BigDecimal.ZERO;
+    }
+
+    private static AssetSummary.AssetEntry toEntry(Asset asset) {
+        return AssetSummary.AssetEntry.builder()
+                .assetType(asset.getAssetType().name())
+                .institutionName(asset.getInstitutionName())
+                .accountName(asset.getAccountName())
+                .balance(asset.getBalance())
+                .currentValue(asset.getCurrentValue())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.mybank.asset.service;
+
+import com.mybank.asset.model.AssetSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodic repair of AssetSummary projections
+ *
+ * An asset save marks the owner's projection (pendingWrites + 1), writes the
+ * asset and then applies its delta (pendingWrites - 1). A writer that dies in
+ * between leaves pendingWrites non-zero and the projection missing its change.
+ * This job rebuilds such projections once they have been left untouched for the
+ * grace period (longer than any live save), then evicts the cached summary.
+ * Running on several nodes is safe: the replace is guarded by the revision.
+ */
+@Slf4j
+@Component
+public class AssetSummaryReconciler {
+
+    private final MongoTemplate mongoTemplate;
+    private final AssetSummaryProjector assetSummaryProjector;
+    private final AssetService assetService;
+
+    private final long graceSeconds;
+    private final int batchSize;
+
+    public AssetSummaryReconciler(
+            MongoTemplate mongoTemplate,
+            AssetSummaryProjector assetSummaryProjector,
+            AssetService assetService,
+            @Value("${asset.summary.reconcile.grace-seconds:300}") long graceSeconds,
+            @Value("${asset.summary.reconcile.batch-size:100}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.assetSummaryProjector = assetSummaryProjector;
+        this.assetService = assetService;
+        this.graceSeconds = graceSeconds;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${asset.summary.reconcile.interval-ms:60000}")
+    public void reconcile() {
+        try {
+            Query stale = Query.query(Criteria.where("pendingWrites").ne(0)
+                            .and("updatedAt").lt(LocalDateTime.now().minusSeconds(graceSeconds)))
+                    .limit(batchSize);
+            List<AssetSummary> summaries = mongoTemplate.find(stale, AssetSummary.class);
+            for (AssetSummary summary : summaries) {
+                if (assetSummaryProjector.reconcile(summary)) {
+                    assetService.invalidateAssetCache(summary.getUserId());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Asset summary reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.mybank.auth.controller;
+
+import com.mybank.common.security.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Publishes the token verification keys as a JWK Set (RFC 7517)
+ *
+ * - ES256: active and previous public keys, so verifiers need no secret
+ * - HS256: empty set (shared secrets are never published)
+ * Not wrapped in ApiResponse: JWKS consumers expect the bare {"keys": [...]}.
+ */
+@RestController
+@RequestMapping({"/api/auth", "/api/v1/auth"})
+@RequiredArgsConstructor
+public class JwksController {
+
+    private static final Duration JWKS_MAX_AGE = Duration.ofMinutes(5);
+
+    private final JwtUtil jwtUtil;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(JWKS_MAX_AGE).cachePublic())
+                .body(jwtUtil.publicJwks());
+    }
+}
@@ -6,11 +6,11 @@ import com.mybank.auth.dto.RegisterRequest;
 import com.mybank.auth.model.User;
 import com.mybank.auth.repository.UserRepository;
 import com.mybank.common.exception.BusinessException;
+import com.mybank.common.security.JwtParseResult;
 import com.mybank.common.security.JwtUtil;
 import com.mybank.common.session.SessionBlacklistService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,7 +34,6 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final SessionBlacklistService blacklistService;
-    private final RedisTemplate<String, Object> redisTemplate;
 
     private static final int MAX_LOGIN_ATTEMPTS = 5;
     private static final long LOCK_DURATION_MINUTES = 30;
@@ -116,11 +115,13 @@ public class AuthService {
     }
 
     public LoginResponse refreshToken(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken)) {
+        JwtParseResult parsed = jwtUtil.parse(refreshToken);
+        if (!parsed.isValid()) {
+            log.warn("Rejected refresh token: {}", parsed.failure());
             throw new BusinessException("INVALID_TOKEN", "Invalid refresh token");
         }
 
-        String userId = jwtUtil.getUserIdFromToken(refreshToken);
+        String userId = parsed.userId();
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException("USER_NOT_FOUND", "User not found"));
 
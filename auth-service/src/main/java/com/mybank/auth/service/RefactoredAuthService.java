@@ -9,12 +9,12 @@ import com.mybank.common.client.UserServiceClient;
 import com.mybank.common.dto.CreateUserRequestDto;
 import com.mybank.common.dto.UserResponseDto;
 import com.mybank.common.exception.BusinessException;
+import com.mybank.common.security.JwtParseResult;
 import com.mybank.common.security.JwtUtil;
 import com.mybank.common.session.EnhancedSessionService;
 import com.mybank.common.session.UserSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -41,7 +41,6 @@ public class RefactoredAuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final EnhancedSessionService sessionService;
-    private final RedisTemplate<String, Object> redisTemplate;
 
     private static final int MAX_LOGIN_ATTEMPTS = 5;
     private static final long LOCK_DURATION_MINUTES = 30;
@@ -175,11 +174,13 @@ public class RefactoredAuthService {
     }
 
     public LoginResponse refreshToken(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken)) {
+        JwtParseResult parsed = jwtUtil.parse(refreshToken);
+        if (!parsed.isValid()) {
+            log.warn("Rejected refresh token: {}", parsed.failure());
             throw new BusinessException("INVALID_TOKEN", "Invalid refresh token");
         }
 
-        String userId = jwtUtil.getUserIdFromToken(refreshToken);
+        String userId = parsed.userId();
 
         // Get user from user-service
         UserResponseDto user;
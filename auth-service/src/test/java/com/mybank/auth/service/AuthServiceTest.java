@@ -6,7 +6,10 @@ import com.mybank.auth.dto.RegisterRequest;
 import com.mybank.auth.model.User;
 import com.mybank.auth.repository.UserRepository;
 import com.mybank.common.exception.BusinessException;
+import com.mybank.common.security.JwtParseResult;
 import com.mybank.common.security.JwtUtil;
+import com.mybank.common.session.SessionBlacklistService;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,14 +18,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,10 +47,7 @@ class AuthServiceTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
-
-    @Mock
-    private ValueOperations<String, Object> valueOperations;
+    private SessionBlacklistService blacklistService;
 
     @InjectMocks
     private AuthService authService;
@@ -84,8 +81,6 @@ class AuthServiceTest {
                 .email("test@mybank.com")
                 .password("Test1234!")
                 .build();
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     }
 
     @Test
@@ -154,9 +149,6 @@ class AuthServiceTest {
         User savedUser = userCaptor.getValue();
         assertThat(savedUser.getFailedLoginAttempts()).isEqualTo(0);
         assertThat(savedUser.getLastLoginAt()).isNotNull();
-
-        // Verify session was cached
-        verify(valueOperations).set(eq("session:user-123"), eq("access-token"), eq(24L), eq(TimeUnit.HOURS));
     }
 
     @Test
@@ -257,8 +249,7 @@ class AuthServiceTest {
         authService.logout(userId, token);
 
         // Then
-        verify(redisTemplate).delete("session:user-123");
-        verify(valueOperations).set(eq("blacklist:access-token"), eq("1"), eq(24L), eq(TimeUnit.HOURS));
+        verify(blacklistService).addToBlacklist(token);
     }
 
     @Test
@@ -266,8 +257,8 @@ class AuthServiceTest {
     void shouldRefreshTokenSuccessfully() {
         // Given
         String refreshToken = "valid-refresh-token";
-        when(jwtUtil.validateToken(refreshToken)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(refreshToken)).thenReturn("user-123");
+        when(jwtUtil.parse(refreshToken))
+                .thenReturn(JwtParseResult.valid(Jwts.claims().subject("user-123").build()));
         when(userRepository.findById("user-123")).thenReturn(Optional.of(testUser));
         when(jwtUtil.generateToken(eq(testUser.getId()), anyMap())).thenReturn("new-access-token");
 
@@ -279,8 +270,7 @@ class AuthServiceTest {
         assertThat(response.getAccessToken()).isEqualTo("new-access-token");
         assertThat(response.getRefreshToken()).isEqualTo(refreshToken);
 
-        verify(jwtUtil).validateToken(refreshToken);
-        verify(jwtUtil).getUserIdFromToken(refreshToken);
+        verify(jwtUtil).parse(refreshToken);
         verify(userRepository).findById("user-123");
     }
 
@@ -289,15 +279,15 @@ class AuthServiceTest {
     void shouldThrowExceptionWhenRefreshTokenIsInvalid() {
         // Given
         String invalidToken = "invalid-refresh-token";
-        when(jwtUtil.validateToken(invalidToken)).thenReturn(false);
+        when(jwtUtil.parse(invalidToken))
+                .thenReturn(JwtParseResult.failed(JwtParseResult.Failure.MALFORMED, "Malformed token"));
 
         // When/Then
         assertThatThrownBy(() -> authService.refreshToken(invalidToken))
                 .isInstanceOf(BusinessException.class)
                 .hasFieldOrPropertyWithValue("errorCode", "INVALID_TOKEN");
 
-        verify(jwtUtil).validateToken(invalidToken);
-        verify(jwtUtil, never()).getUserIdFromToken(anyString());
+        verify(jwtUtil).parse(invalidToken);
         verify(userRepository, never()).findById(anyString());
     }
 
@@ -306,8 +296,8 @@ class AuthServiceTest {
     void shouldThrowExceptionWhenUserNotFoundDuringRefresh() {
         // Given
         String refreshToken = "valid-refresh-token";
-        when(jwtUtil.validateToken(refreshToken)).thenReturn(true);
-        when(jwtUtil.getUserIdFromToken(refreshToken)).thenReturn("user-123");
+        when(jwtUtil.parse(refreshToken))
+                .thenReturn(JwtParseResult.valid(Jwts.claims().subject("user-123").build()));
         when(userRepository.findById("user-123")).thenReturn(Optional.empty());
 
         // When/Then
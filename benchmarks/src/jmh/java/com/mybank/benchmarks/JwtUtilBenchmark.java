@@ -0,0 +1,64 @@
+package com.mybank.benchmarks;
+
+import com.mybank.common.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil signing and verification (auth-service login path, gateway cache misses)
+ *
+ * - generateToken: access token with the claims AuthService puts in it
+ * - validateToken / parse: full signature + expiration check
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-minimum-256-bits";
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    private JwtUtil jwtUtil;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = "ES256".equals(algorithm)
+                ? new JwtUtil(Jwts.SIG.ES256.keyPair().build(), 3_600_000, "bench", null)
+                : new JwtUtil(SECRET, 3_600_000, "bench", "");
+        claims = Map.of(
+                "email", "user@mybank.com",
+                "name", "Benchmark User",
+                "roles", List.of("USER"));
+        token = jwtUtil.generateToken("user-123", claims);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user-123", claims);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return jwtUtil.parse(token).claims();
+    }
+}
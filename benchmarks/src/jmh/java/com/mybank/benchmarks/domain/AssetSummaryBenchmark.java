@@ -0,0 +1,77 @@
+package com.mybank.benchmarks.domain;
+
+import com.mybank.asset.dto.AssetSummaryResponse;
+import com.mybank.asset.model.Asset;
+import com.mybank.asset.model.AssetSummary;
+import com.mybank.asset.repository.AssetRepository;
+import com.mybank.asset.service.AssetService;
+import com.mybank.asset.service.AssetSummaryProjector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * AssetService.getAssetSummary for one user
+ *
+ * - projected = true: the AssetSummary projection exists; cost is the
+ *   projection -> response mapping
+ * - projected = false: no projection yet, so every call rebuilds it from the
+ *   user's active assets (BigDecimal totals per type) before mapping
+ *
+ * The @Cacheable proxy is not applied, so every call reaches the projector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AssetSummaryBenchmark {
+
+    private static final String USER_ID = "user-1";
+
+    @Param({"10", "1000", "100000"})
+    public int assets;
+
+    @Param({"true", "false"})
+    public boolean projected;
+
+    private AssetService service;
+
+    @Setup
+    public void setUp() {
+        List<Asset> userAssets = SyntheticData.assets(USER_ID, assets);
+
+        AssetRepository assetRepository = mock(AssetRepository.class, withSettings().stubOnly());
+        when(assetRepository.findByUserIdAndIsActive(anyString(), anyBoolean())).thenReturn(userAssets);
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class, withSettings().stubOnly());
+        when(mongoTemplate.insert(any(AssetSummary.class))).then(returnsFirstArg());
+
+        AssetSummaryProjector projector = new AssetSummaryProjector(assetRepository, mongoTemplate);
+        AssetSummary summary = projected ? projector.rebuild(USER_ID) : null;
+        when(mongoTemplate.findById(anyString(), eq(AssetSummary.class))).thenReturn(summary);
+
+        service = new AssetService(assetRepository, projector, mongoTemplate, null);
+    }
+
+    @Benchmark
+    public AssetSummaryResponse getAssetSummary() {
+        return service.getAssetSummary(USER_ID);
+    }
+}
@@ -0,0 +1,147 @@
+package com.mybank.benchmarks.domain;
+
+import com.mybank.investment.dto.InvestmentSummaryResponse;
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.model.InvestmentBucket;
+import com.mybank.investment.model.RoundUpConfig;
+import com.mybank.investment.repository.InvestmentAccountRepository;
+import com.mybank.investment.repository.InvestmentBucketRepository;
+import com.mybank.investment.service.InvestmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * InvestmentService.getInvestmentSummary for one user with ACCOUNTS round-up accounts
+ *
+ * The user's round-up investments are spread over the accounts and stored in
+ * monthly InvestmentBuckets; the bucket repository stub returns what Mongo
+ * would for findRecentByAccountIdIn (newest 10 buckets, last 10 investments
+ * each), so the cost should stay flat as the transaction count grows.
+ *
+ * The @Cacheable proxy is not applied, so every call aggregates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvestmentSummaryBenchmark {
+
+    private static final String USER_ID = "user-1";
+    private static final int ACCOUNTS = 3;
+    private static final int RECENT = 10;
+
+    @Param({"10", "1000", "100000"})
+    public int transactions;
+
+    private InvestmentService service;
+
+    @Setup
+    public void setUp() {
+        List<InvestmentAccount> accounts = new ArrayList<>(ACCOUNTS);
+        List<InvestmentBucket> buckets = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            String accountId = "investment-account-" + i;
+            List<Investment> investments = SyntheticData.roundUpInvestments(USER_ID, accountId,
+                    transactions / ACCOUNTS + (i < transactions % ACCOUNTS ? 1 : 0));
+            accounts.add(account(accountId, investments));
+            buckets.addAll(monthlyBuckets(accountId, investments));
+        }
+
+        // Mongo side of findRecentByAccountIdIn: lastInvestedAt DESC page + $slice: -10
+        List<InvestmentBucket> recentBuckets = buckets.stream()
+                .sorted(Comparator.comparing(InvestmentBucket::getLastInvestedAt).reversed())
+                .limit(RECENT)
+                .map(bucket -> InvestmentBucket.builder()
+                        .id(bucket.getId())
+                        .accountId(bucket.getAccountId())
+                        .userId(bucket.getUserId())
+                        .month(bucket.getMonth())
+                        .investments(List.copyOf(bucket.getInvestments().subList(
+                                Math.max(0, bucket.getInvestments().size() - RECENT),
+                                bucket.getInvestments().size())))
+                        .total(bucket.getTotal())
+                        .count(bucket.getCount())
+                        .lastInvestedAt(bucket.getLastInvestedAt())
+                        .build())
+                .toList();
+
+        InvestmentAccountRepository accountRepository =
+                mock(InvestmentAccountRepository.class, withSettings().stubOnly());
+        when(accountRepository.findByUserIdAndIsActive(anyString(), anyBoolean())).thenReturn(accounts);
+
+        InvestmentBucketRepository bucketRepository =
+                mock(InvestmentBucketRepository.class, withSettings().stubOnly());
+        when(bucketRepository.findRecentByAccountIdIn(any(), any())).thenReturn(recentBuckets);
+
+        service = new InvestmentService(accountRepository, bucketRepository, null, null);
+    }
+
+    @Benchmark
+    public InvestmentSummaryResponse getInvestmentSummary() {
+        return service.getInvestmentSummary(USER_ID);
+    }
+
+    private static InvestmentAccount account(String accountId, List<Investment> investments) {
+        BigDecimal total = investments.stream()
+                .map(Investment::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return InvestmentAccount.builder()
+                .id(accountId)
+                .userId(USER_ID)
+                .accountName("Round-up " + accountId)
+                .balance(total)
+                .currency("KRW")
+                .accountType(InvestmentAccount.AccountType.ROUNDUP)
+                .isActive(true)
+                .roundUpConfig(RoundUpConfig.builder()
+                        .sourceAccountId("payment-" + accountId)
+                        .targetInvestmentAccountId(accountId)
+                        .enabled(true)
+                        .totalRoundedUp(total)
+                        .totalTransactions(investments.size())
+                        .build())
+                .build();
+    }
+
+    private static List<InvestmentBucket> monthlyBuckets(String accountId, List<Investment> investments) {
+        Map<String, InvestmentBucket> buckets = new LinkedHashMap<>();
+        for (Investment investment : investments) {
+            InvestmentBucket bucket = buckets.computeIfAbsent(
+                    InvestmentBucket.idOf(accountId, investment.getInvestedAt()),
+                    id -> InvestmentBucket.builder()
+                            .id(id)
+                            .accountId(accountId)
+                            .userId(USER_ID)
+                            .month(InvestmentBucket.monthOf(investment.getInvestedAt()))
+                            .investments(new ArrayList<>())
+                            .total(BigDecimal.ZERO)
+                            .build());
+            bucket.getInvestments().add(investment);
+            bucket.setTotal(bucket.getTotal().add(investment.getAmount()));
+            bucket.setCount(bucket.getCount() + 1);
+            bucket.setLastInvestedAt(investment.getInvestedAt());
+        }
+        return new ArrayList<>(buckets.values());
+    }
+}
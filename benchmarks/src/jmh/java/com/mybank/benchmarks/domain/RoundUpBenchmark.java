@@ -0,0 +1,83 @@
+package com.mybank.benchmarks.domain;
+
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.model.RoundUpConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-up domain logic over a batch of payments
+ *
+ * - calculateRoundUp: RoundUpConfig remainder/subtract per payment
+ * - processRoundUp: InvestmentAccount aggregate behavior per payment
+ *   (round-up amount, Investment build, balance and statistics updates);
+ *   a fresh account per batch so the running totals start from zero
+ *
+ * Divide the score by the transaction count for the per-payment cost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoundUpBenchmark {
+
+    private static final BigDecimal ROUND_UP_UNIT = new BigDecimal("1000");
+
+    @Param({"10", "1000", "100000"})
+    public int transactions;
+
+    private BigDecimal[] paymentAmounts;
+    private String[] paymentIds;
+    private RoundUpConfig config;
+    private LocalDateTime paidAt;
+
+    @Setup
+    public void setUp() {
+        paymentAmounts = SyntheticData.paymentAmounts(transactions);
+        paymentIds = new String[transactions];
+        for (int i = 0; i < transactions; i++) {
+            paymentIds[i] = "payment-" + i;
+        }
+        config = RoundUpConfig.builder().roundUpUnit(ROUND_UP_UNIT).enabled(true).build();
+        paidAt = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public BigDecimal calculateRoundUp() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : paymentAmounts) {
+            total = total.add(config.calculateRoundUp(amount));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public InvestmentAccount processRoundUp(Blackhole blackhole) {
+        InvestmentAccount account = InvestmentAccount.builder()
+                .id("investment-account-1")
+                .userId("user-1")
+                .balance(BigDecimal.ZERO)
+                .currency("KRW")
+                .accountType(InvestmentAccount.AccountType.ROUNDUP)
+                .isActive(true)
+                .build();
+        account.enableRoundUp("payment-account-1", ROUND_UP_UNIT);
+
+        for (int i = 0; i < paymentAmounts.length; i++) {
+            Investment investment = account.processRoundUp(paymentIds[i], paymentAmounts[i], "KRW", paidAt);
+            blackhole.consume(investment);
+        }
+        return account;
+    }
+}
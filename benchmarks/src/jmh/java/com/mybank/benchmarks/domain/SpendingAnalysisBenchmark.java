@@ -0,0 +1,130 @@
+package com.mybank.benchmarks.domain;
+
+import com.mybank.analytics.dto.SpendingAnalysisResponse;
+import com.mybank.analytics.model.DailySpendingBucket;
+import com.mybank.analytics.model.SpendingAnalysis;
+import com.mybank.analytics.repository.DailySpendingBucketRepository;
+import com.mybank.analytics.repository.SpendingAggregation;
+import com.mybank.analytics.repository.SpendingAnalysisRepository;
+import com.mybank.analytics.service.SpendingAnalysisService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * SpendingAnalysisService.getSpendingAnalysis for one user over 30 days
+ *
+ * Repositories are stubbed with the rows each engine would receive from Mongo
+ * for the same synthetic transactions:
+ * - RAW: every SpendingAnalysis row (stream reductions + groupingBy in memory)
+ * - BUCKETS: one DailySpendingBucket per (day, category) + the anomalous rows
+ * - AGGREGATION: per-category totals + the anomalous rows
+ *
+ * The @Cacheable proxy is not applied, so every call runs the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpendingAnalysisBenchmark {
+
+    private static final String USER_ID = "user-1";
+    private static final int DAYS_BACK = 30;
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int transactions;
+
+    @Param({"RAW", "BUCKETS", "AGGREGATION"})
+    public SpendingAnalysisService.QueryEngine engine;
+
+    private SpendingAnalysisService service;
+
+    @Setup
+    public void setUp() {
+        List<SpendingAnalysis> analyses = SyntheticData.spendingAnalyses(USER_ID, transactions, DAYS_BACK);
+        List<SpendingAnalysis> anomalies = analyses.stream().filter(SpendingAnalysis::isAnomalous).toList();
+
+        SpendingAnalysisRepository spendingAnalysisRepository =
+                mock(SpendingAnalysisRepository.class, withSettings().stubOnly());
+        when(spendingAnalysisRepository.findByUserIdAndTransactionDateBetween(anyString(), any(), any()))
+                .thenReturn(analyses);
+        when(spendingAnalysisRepository.findByUserIdAndIsAnomalousAndTransactionDateBetween(
+                anyString(), anyBoolean(), any(), any()))
+                .thenReturn(anomalies);
+        when(spendingAnalysisRepository.aggregateSpending(anyString(), any(), any()))
+                .thenReturn(new SpendingAggregation(categoryTotals(analyses), anomalies));
+
+        DailySpendingBucketRepository dailySpendingBucketRepository =
+                mock(DailySpendingBucketRepository.class, withSettings().stubOnly());
+        when(dailySpendingBucketRepository.findByUserIdAndDateBetween(anyString(), any(), any()))
+                .thenReturn(dailyBuckets(analyses));
+
+        service = new SpendingAnalysisService(spendingAnalysisRepository, dailySpendingBucketRepository);
+        ReflectionTestUtils.setField(service, "engine", engine);
+    }
+
+    @Benchmark
+    public SpendingAnalysisResponse getSpendingAnalysis() {
+        return service.getSpendingAnalysis(USER_ID, DAYS_BACK);
+    }
+
+    private static List<DailySpendingBucket> dailyBuckets(List<SpendingAnalysis> analyses) {
+        Map<String, DailySpendingBucket> buckets = new TreeMap<>();
+        for (SpendingAnalysis analysis : analyses) {
+            LocalDate date = analysis.getTransactionDate().toLocalDate();
+            DailySpendingBucket bucket = buckets.computeIfAbsent(
+                    DailySpendingBucket.idOf(analysis.getUserId(), date, analysis.getCategory()),
+                    id -> DailySpendingBucket.builder()
+                            .id(id)
+                            .userId(analysis.getUserId())
+                            .date(date)
+                            .category(analysis.getCategory())
+                            .total(BigDecimal.ZERO)
+                            .build());
+            BigDecimal amount = analysis.getAmount();
+            bucket.setTotal(bucket.getTotal().add(amount));
+            bucket.setCount(bucket.getCount() + 1);
+            bucket.setMin(bucket.getMin() == null ? amount : bucket.getMin().min(amount));
+            bucket.setMax(bucket.getMax() == null ? amount : bucket.getMax().max(amount));
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private static List<SpendingAggregation.CategoryTotal> categoryTotals(List<SpendingAnalysis> analyses) {
+        Map<String, SpendingAggregation.CategoryTotal> totals = new TreeMap<>();
+        for (SpendingAnalysis analysis : analyses) {
+            SpendingAggregation.CategoryTotal total = totals.computeIfAbsent(analysis.getCategory(),
+                    category -> new SpendingAggregation.CategoryTotal(category, BigDecimal.ZERO, 0, null, null, null));
+            BigDecimal amount = analysis.getAmount();
+            total.setAmount(total.getAmount().add(amount));
+            total.setCount(total.getCount() + 1);
+            total.setMin(total.getMin() == null ? amount : total.getMin().min(amount));
+            total.setMax(total.getMax() == null ? amount : total.getMax().max(amount));
+        }
+        // Mongo's $avg returns a full-precision decimal
+        totals.values().forEach(total -> total.setAverage(
+                total.getAmount().divide(BigDecimal.valueOf(total.getCount()), 10, RoundingMode.HALF_UP)));
+        return new ArrayList<>(totals.values());
+    }
+}
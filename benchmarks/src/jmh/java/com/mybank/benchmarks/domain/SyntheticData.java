@@ -0,0 +1,125 @@
+package com.mybank.benchmarks.domain;
+
+import com.mybank.analytics.model.SpendingAnalysis;
+import com.mybank.asset.model.Asset;
+import com.mybank.investment.model.Investment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic data for the domain benchmarks
+ * (fixed seed, so every fork and parameter set sees the same rows)
+ */
+final class SyntheticData {
+
+    static final String[] CATEGORIES = {
+            "FOOD", "TRANSPORT", "SHOPPING", "ENTERTAINMENT", "HEALTHCARE", "EDUCATION", "UTILITIES", "TRAVEL"
+    };
+
+    private static final long SEED = 42L;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Transactions spread over the last daysBack days, ~1% flagged anomalous
+     */
+    static List<SpendingAnalysis> spendingAnalyses(String userId, int count, int daysBack) {
+        Random random = new Random(SEED);
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        List<SpendingAnalysis> analyses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean anomalous = random.nextInt(100) == 0;
+            analyses.add(SpendingAnalysis.builder()
+                    .id("sa-" + i)
+                    .userId(userId)
+                    .transactionId("tx-" + i)
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .amount(paymentAmount(random))
+                    .merchantName("Merchant " + random.nextInt(500))
+                    .transactionDate(today.minusDays(random.nextInt(daysBack))
+                            .plusSeconds(random.nextInt(86_400)))
+                    .isAnomalous(anomalous)
+                    .anomalyReason(anomalous ? "Amount exceeds 3x category average" : null)
+                    .analyzedAt(today)
+                    .build());
+        }
+        return analyses;
+    }
+
+    /**
+     * Active assets of all types with KRW balances
+     */
+    static List<Asset> assets(String userId, int count) {
+        Random random = new Random(SEED);
+        Asset.AssetType[] types = Asset.AssetType.values();
+        LocalDateTime now = LocalDateTime.now();
+        List<Asset> assets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal balance = BigDecimal.valueOf(random.nextInt(100_000_000));
+            assets.add(Asset.builder()
+                    .id("asset-" + i)
+                    .userId(userId)
+                    .assetType(types[random.nextInt(types.length)])
+                    .institutionName("Institution " + random.nextInt(50))
+                    .accountNumber(String.format("%012d", i))
+                    .accountName("Account " + i)
+                    .balance(balance)
+                    .currency("KRW")
+                    .currentValue(balance)
+                    .isActive(true)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return assets;
+    }
+
+    /**
+     * Round-up investments of an account, oldest first, one per hour
+     */
+    static List<Investment> roundUpInvestments(String userId, String accountId, int count) {
+        Random random = new Random(SEED);
+        LocalDateTime start = LocalDateTime.now().minusHours(count);
+        List<Investment> investments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String paymentId = accountId + "-payment-" + i;
+            investments.add(Investment.builder()
+                    .id(Investment.roundUpIdOf(paymentId, accountId))
+                    .userId(userId)
+                    .accountId(accountId)
+                    .productId("ROUNDUP-PRODUCT-001")
+                    .productName("Round-up Investment")
+                    .investmentType(Investment.InvestmentType.ROUNDUP)
+                    .amount(BigDecimal.valueOf(1 + random.nextInt(999)))
+                    .currency("KRW")
+                    .relatedPaymentId(paymentId)
+                    .investedAt(start.plusHours(i))
+                    .build());
+        }
+        return investments;
+    }
+
+    /**
+     * KRW payment amounts, some of them already whole thousands (no round-up)
+     */
+    static BigDecimal[] paymentAmounts(int count) {
+        Random random = new Random(SEED);
+        BigDecimal[] amounts = new BigDecimal[count];
+        for (int i = 0; i < count; i++) {
+            amounts[i] = paymentAmount(random);
+        }
+        return amounts;
+    }
+
+    private static BigDecimal paymentAmount(Random random) {
+        return random.nextInt(10) == 0
+                ? BigDecimal.valueOf(1_000L * (1 + random.nextInt(100)))
+                : BigDecimal.valueOf(100 + random.nextInt(200_000));
+    }
+}
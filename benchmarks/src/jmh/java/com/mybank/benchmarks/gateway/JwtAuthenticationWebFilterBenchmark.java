@@ -0,0 +1,81 @@
+package com.mybank.benchmarks.gateway;
+
+import com.mybank.common.security.JwtUtil;
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.security.TokenHasher;
+import com.mybank.gateway.filter.JwtAuthenticationWebFilter;
+import com.mybank.gateway.security.JwksKeyCache;
+import com.mybank.gateway.security.JwtClaimsCache;
+import com.mybank.gateway.security.PublicPathMatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationWebFilter.filter() on a mock exchange, through to a no-op chain
+ *
+ * - claimsCached=true: steady state (token verified earlier on this node)
+ * - claimsCached=false: first request with a token (full JWT verification)
+ * The exchange is built per invocation, so its cost is part of every score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationWebFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-minimum-256-bits";
+    private static final WebFilterChain NO_OP_CHAIN = exchange -> Mono.empty();
+
+    @Param({"true", "false"})
+    public boolean claimsCached;
+
+    private JwtAuthenticationWebFilter filter;
+    private JwtClaimsCache claimsCache;
+    private String authorization;
+    private TokenHash tokenHash;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000, "bench", "");
+        claimsCache = new JwtClaimsCache(100_000, 3_600, new SimpleMeterRegistry());
+        PublicPathMatcher publicPathMatcher = new PublicPathMatcher(
+                List.of("/api/v1/auth/**", "/actuator/**", "/health", "/api/v1/*/health"));
+        filter = new JwtAuthenticationWebFilter(jwtUtil, claimsCache,
+                new StaticListableBeanFactory().getBeanProvider(JwksKeyCache.class), publicPathMatcher);
+
+        String token = jwtUtil.generateToken("user-123", Map.of(
+                "email", "user@mybank.com",
+                "name", "Benchmark User",
+                "roles", List.of("USER")));
+        authorization = "Bearer " + token;
+        tokenHash = TokenHasher.hash(token);
+    }
+
+    @Benchmark
+    public Object filter() {
+        if (!claimsCached) {
+            claimsCache.invalidate(tokenHash);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/asset/summary")
+                        .header(HttpHeaders.AUTHORIZATION, authorization));
+        filter.filter(exchange, NO_OP_CHAIN).block();
+        return exchange;
+    }
+}
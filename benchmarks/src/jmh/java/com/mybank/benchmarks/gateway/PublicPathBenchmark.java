@@ -0,0 +1,59 @@
+package com.mybank.benchmarks.gateway;
+
+import com.mybank.gateway.security.PublicPathMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public-endpoint checks run by every gateway filter
+ *
+ * - trie: PublicPathMatcher on the already parsed request path (current)
+ * - containsChecks: the former per-filter isPublicEndpoint() string checks,
+ *   kept here as the baseline
+ * - parseAndTrie: includes parsing the raw path, as on the first filter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublicPathBenchmark {
+
+    @Param({"/api/v1/auth/login", "/api/v1/asset/summary", "/api/v1/payment/health", "/api/v1/user/healthcare"})
+    public String path;
+
+    private PublicPathMatcher matcher;
+    private PathContainer parsedPath;
+
+    @Setup
+    public void setUp() {
+        matcher = new PublicPathMatcher(List.of("/api/v1/auth/**", "/actuator/**", "/health", "/api/v1/*/health"));
+        parsedPath = RequestPath.parse(path, null).pathWithinApplication();
+    }
+
+    @Benchmark
+    public boolean trie() {
+        return matcher.matches(parsedPath);
+    }
+
+    @Benchmark
+    public boolean parseAndTrie() {
+        return matcher.matches(RequestPath.parse(path, null).pathWithinApplication());
+    }
+
+    @Benchmark
+    public boolean containsChecks() {
+        return path.contains("/auth/")
+                || path.contains("/actuator")
+                || path.contains("/health");
+    }
+}
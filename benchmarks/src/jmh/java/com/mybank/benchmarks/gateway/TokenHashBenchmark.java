@@ -0,0 +1,58 @@
+package com.mybank.benchmarks.gateway;
+
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.security.TokenHasher;
+import com.mybank.common.session.SessionBlacklistService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 digest of a bearer token (computed once per request; key for the
+ * blacklist, the revocation near-cache and the claims cache)
+ *
+ * - tokenHasher: TokenHasher.hash, per-thread digest and buffer (current)
+ * - tokenHasherBlacklistKey: plus the binary Redis key, as on a near-cache miss
+ * - legacyHexKey: the former getInstance + getBytes + hex String key,
+ *   kept here as the baseline
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenHashBenchmark {
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Typical HS256 access token length
+        token = "eyJhbGciOiJIUzI1NiJ9." + "x".repeat(220) + "." + "s".repeat(43);
+    }
+
+    @Benchmark
+    public TokenHash tokenHasher() {
+        return TokenHasher.hash(token);
+    }
+
+    @Benchmark
+    public byte[] tokenHasherBlacklistKey() {
+        return SessionBlacklistService.blacklistKey(TokenHasher.hash(token));
+    }
+
+    @Benchmark
+    public String legacyHexKey() throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        return SessionBlacklistService.BLACKLIST_PREFIX + HexFormat.of().formatHex(hash);
+    }
+}
@@ -0,0 +1,24 @@
+package com.mybank.common.cache;
+
+import java.time.Duration;
+
+/**
+ * Value type registration for a Redis-backed cache
+ *
+ * Declare one bean per cache in the owning service; RedisConfig collects them
+ * and serializes that cache's values with a VersionedSmileRedisSerializer for
+ * the given type (no class names embedded in the payload). An optional ttl
+ * overrides the default 30 minute entry TTL.
+ *
+ * Example:
+ *   @Bean
+ *   RedisCacheType assetsCacheType() {
+ *       return new RedisCacheType("assets", AssetSummaryResponse.class);
+ *   }
+ */
+public record RedisCacheType(String cacheName, Class<?> valueType, Duration ttl) {
+
+    public RedisCacheType(String cacheName, Class<?> valueType) {
+        this(cacheName, valueType, null);
+    }
+}
@@ -0,0 +1,107 @@
+package com.mybank.common.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Single-flight request coalescing (per node)
+ *
+ * At most one loader runs per key at a time; concurrent callers for the same
+ * key wait on the leader's future and receive its result (or its exception).
+ * The key is released as soon as the load completes, so results are not
+ * memoized here - callers cache them.
+ *
+ * Usage:
+ *   SingleFlight<String, Summary> flight = new SingleFlight<>();
+ *   Summary summary = flight.execute(userId, () -> loadSummary(userId));
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Run the loader, or join the load already running for this key
+     */
+    public V execute(K key, Callable<V> loader) throws Exception {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        return run(key, leader, loader);
+    }
+
+    /**
+     * Start a background load unless one is already running for this key
+     *
+     * @return true if a load was started
+     */
+    public boolean executeAsync(K key, Callable<V> loader, Executor executor, Consumer<Throwable> onError) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, leader) != null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(key, leader, loader);
+                } catch (Exception e) {
+                    onError.accept(e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, leader);
+            leader.cancel(false);
+            return false;
+        }
+    }
+
+    /**
+     * Number of calls that joined an in-flight load instead of running their own
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V run(K key, CompletableFuture<V> leader, Callable<V> loader) throws Exception {
+        try {
+            V value = loader.call();
+            leader.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            leader.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, leader);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
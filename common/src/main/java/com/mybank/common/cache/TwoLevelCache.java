@@ -0,0 +1,265 @@
+package com.mybank.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Two-level cache: in-process Caffeine L1 in front of a shared Redis L2
+ *
+ * - get: L1 -> L2 (an L2 hit is promoted into L1) -> loader
+ * - put/evict/clear: applied to L2 first, then L1, then broadcast so other
+ *   nodes drop their L1 copy (see TwoLevelCacheManager)
+ *
+ * Loads (get with a loader, i.e. @Cacheable(sync = true)):
+ * - Single-flight per key on this node: concurrent misses wait for one loader
+ * - Probabilistic early refresh (XFetch): a hit may trigger one background
+ *   reload before the L2 entry expires, with a probability that rises as expiry
+ *   approaches and with the observed load time (beta scales it, 0 disables)
+ *   Only entries loaded on this node carry the timing needed for early refresh.
+ *
+ * L1 holds the deserialized object itself, so cached values must be treated
+ * as immutable by callers. Null values are never cached.
+ */
+@Slf4j
+public class TwoLevelCache implements org.springframework.cache.Cache {
+
+    private final String name;
+    private final Cache<String, Object> l1;
+    private final org.springframework.cache.Cache l2;
+    private final TwoLevelCacheManager.InvalidationPublisher invalidationPublisher;
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+    private final Cache<String, LoadStats> loadStats;
+    private final long l2TtlMillis;
+    private final double earlyRefreshBeta;
+    private final Executor refreshExecutor;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter earlyRefreshes;
+
+    TwoLevelCache(String name,
+                  Cache<String, Object> l1,
+                  org.springframework.cache.Cache l2,
+                  Duration l2Ttl,
+                  double earlyRefreshBeta,
+                  Executor refreshExecutor,
+                  TwoLevelCacheManager.InvalidationPublisher invalidationPublisher,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.invalidationPublisher = invalidationPublisher;
+        this.l2TtlMillis = l2Ttl.toMillis();
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = refreshExecutor;
+        this.loadStats = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(l2Ttl.isZero() ? Duration.ofDays(1) : l2Ttl)
+                .build();
+
+        this.l1Hits = tierCounter(meterRegistry, name, "l1", "hit");
+        this.l1Misses = tierCounter(meterRegistry, name, "l1", "miss");
+        this.l2Hits = tierCounter(meterRegistry, name, "l2", "hit");
+        this.l2Misses = tierCounter(meterRegistry, name, "l2", "miss");
+        this.earlyRefreshes = Counter.builder("cache.early.refreshes")
+                .tag("cache", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.loads.coalesced", singleFlight, SingleFlight::coalescedCount)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = l1.getIfPresent(l1Key(key));
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.put(l1Key(key), wrapper.get());
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = l1Key(key);
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            maybeRefreshEarly(key, localKey, valueLoader);
+            return (T) wrapper.get();
+        }
+
+        try {
+            return (T) singleFlight.execute(localKey, () -> {
+                // Another caller may have filled the entry while this one queued for the flight
+                Object cached = l1.getIfPresent(localKey);
+                if (cached != null) {
+                    return cached;
+                }
+                ValueWrapper loaded = l2.get(key);
+                if (loaded != null && loaded.get() != null) {
+                    l1.put(localKey, loaded.get());
+                    return loaded.get();
+                }
+                return load(key, localKey, valueLoader);
+            });
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Object load(Object key, String localKey, Callable<?> valueLoader) throws Exception {
+        long startedAt = System.currentTimeMillis();
+        Object value = valueLoader.call();
+        long finishedAt = System.currentTimeMillis();
+
+        put(key, value);
+        if (value != null && l2TtlMillis > 0) {
+            loadStats.put(localKey, new LoadStats(finishedAt + l2TtlMillis, finishedAt - startedAt));
+        }
+        return value;
+    }
+
+    /**
+     * XFetch: refresh if now - computeTime * beta * ln(rand) >= expiry
+     */
+    private void maybeRefreshEarly(Object key, String localKey, Callable<?> valueLoader) {
+        if (earlyRefreshBeta <= 0) {
+            return;
+        }
+        LoadStats stats = loadStats.getIfPresent(localKey);
+        if (stats == null) {
+            return;
+        }
+
+        double gap = -stats.computeMillis() * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        if (System.currentTimeMillis() + gap < stats.expiresAtMillis()) {
+            return;
+        }
+
+        if (singleFlight.executeAsync(localKey, () -> load(key, localKey, valueLoader), refreshExecutor,
+                error -> log.warn("Early refresh failed for cache '{}' key '{}': {}", name, localKey, error.getMessage()))) {
+            earlyRefreshes.increment();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        l2.put(key, value);
+        l1.put(l1Key(key), value);
+        invalidationPublisher.evict(name, l1Key(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (value == null) {
+            return get(key);
+        }
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+        Object current = existing != null && existing.get() != null ? existing.get() : value;
+        l1.put(l1Key(key), current);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.invalidate(l1Key(key));
+        loadStats.invalidate(l1Key(key));
+        invalidationPublisher.evict(name, l1Key(key));
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        loadStats.invalidateAll();
+        invalidationPublisher.clear(name);
+    }
+
+    /**
+     * Drop a key from L1 only (remote invalidation)
+     */
+    void evictLocal(String key) {
+        l1.invalidate(key);
+        loadStats.invalidate(key);
+    }
+
+    /**
+     * Drop all entries from L1 only (remote invalidation)
+     */
+    void clearLocal() {
+        l1.invalidateAll();
+        loadStats.invalidateAll();
+    }
+
+    /**
+     * L1 keys use the same string form Redis keys are built from, so a key
+     * received in an invalidation message matches the local entry
+     */
+    static String l1Key(Object key) {
+        return key instanceof String string ? string : String.valueOf(key);
+    }
+
+    private static Counter tierCounter(MeterRegistry meterRegistry, String cache, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .tag("cache", cache)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Timing of the last load on this node (input for early refresh)
+     */
+    private record LoadStats(long expiresAtMillis, long computeMillis) {
+    }
+}
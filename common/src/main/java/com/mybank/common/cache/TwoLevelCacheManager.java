@@ -0,0 +1,169 @@
+package com.mybank.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Layered CacheManager: per-node Caffeine L1 + shared Redis L2
+ *
+ * Invalidation:
+ * - Every put/evict/clear is published on INVALIDATION_CHANNEL as
+ *   "nodeId|E|cache|key" (evict) or "nodeId|C|cache|" (clear)
+ * - Each node drops the affected L1 entries; its own messages are ignored
+ * - L1 entries also expire after a short TTL, which bounds staleness if a
+ *   message is lost (pub/sub is fire-and-forget) or races with a local L2 read
+ *
+ * Loads are coalesced per key and may be refreshed early in the background
+ * (see TwoLevelCache); early refreshes run on a small bounded pool and are
+ * dropped, not queued without limit, when it is saturated.
+ *
+ * Metrics:
+ * - cache.tier.gets (tags: cache, tier=l1|l2, result=hit|miss)
+ * - cache.loads.coalesced, cache.early.refreshes (tag: cache)
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    public static final String INVALIDATION_CHANNEL = "mybank:cache:invalidation";
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final RedisCacheManager l2CacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long l1MaxSize;
+    private final Duration l1Ttl;
+    private final double earlyRefreshBeta;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final InvalidationPublisher invalidationPublisher = new InvalidationPublisher();
+
+    public TwoLevelCacheManager(RedisCacheManager l2CacheManager,
+                                StringRedisTemplate stringRedisTemplate,
+                                MeterRegistry meterRegistry,
+                                long l1MaxSize,
+                                Duration l1Ttl,
+                                double earlyRefreshBeta) {
+        this.l2CacheManager = l2CacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.l1MaxSize = l1MaxSize;
+        this.l1Ttl = l1Ttl;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.refreshExecutor = new ThreadPoolExecutor(
+                2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-early-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.l2CacheManager.initializeCaches();
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache l2 = l2CacheManager.getCache(name);
+        if (l2 == null) {
+            throw new IllegalStateException("No Redis cache for name: " + name + " (declare a RedisCacheType bean)");
+        }
+        Duration l2Ttl = l2 instanceof RedisCache redisCache
+                ? redisCache.getCacheConfiguration().getTtl()
+                : Duration.ZERO;
+
+        log.info("Two-level cache '{}' created (l1MaxSize={}, l1Ttl={}, l2Ttl={})", name, l1MaxSize, l1Ttl, l2Ttl);
+        return new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .maximumSize(l1MaxSize)
+                        .expireAfterWrite(l1Ttl)
+                        .build(),
+                l2,
+                l2Ttl,
+                earlyRefreshBeta,
+                refreshExecutor,
+                invalidationPublisher,
+                meterRegistry);
+    }
+
+    /**
+     * Remote invalidation message received from INVALIDATION_CHANNEL
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[1])) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    /**
+     * Publishes L1 invalidations to the other nodes
+     * Failures are logged only: L2 is already updated and L1 TTL bounds staleness
+     */
+    final class InvalidationPublisher {
+
+        void evict(String cacheName, String key) {
+            publish(nodeId + "|" + EVICT + "|" + cacheName + "|" + key);
+        }
+
+        void clear(String cacheName) {
+            publish(nodeId + "|" + CLEAR + "|" + cacheName + "|");
+        }
+
+        private void publish(String message) {
+            try {
+                stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+            } catch (Exception e) {
+                log.warn("Failed to publish cache invalidation '{}': {}", message, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.mybank.common.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Typed binary Redis value serializer
+ *
+ * Layout: [FORMAT_VERSION byte][Smile payload, no header]
+ * - The target type is fixed per serializer, so no class names are written
+ * - Smile (binary JSON) keeps Jackson annotations and field evolution rules;
+ *   unknown properties are ignored when reading
+ * - Values without the expected version byte (e.g. legacy default-typed JSON)
+ *   deserialize to null, which caches and session lookups treat as a miss
+ */
+public class VersionedSmileRedisSerializer<T> implements RedisSerializer<T> {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final ObjectMapper SMILE_MAPPER = createMapper();
+
+    private final Class<T> type;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public VersionedSmileRedisSerializer(Class<T> type) {
+        this.type = type;
+        this.reader = SMILE_MAPPER.readerFor(type);
+        this.writer = SMILE_MAPPER.writerFor(type);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            out.write(FORMAT_VERSION);
+            writer.writeValue(out, value);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + type.getSimpleName() + " as Smile", e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != FORMAT_VERSION) {
+            return null;
+        }
+        try {
+            return reader.readValue(bytes, 1, bytes.length - 1);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read " + type.getSimpleName() + " from Smile", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return type;
+    }
+
+    private static ObjectMapper createMapper() {
+        SmileFactory factory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .disable(SmileParser.Feature.REQUIRE_HEADER)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(factory);
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
@@ -2,7 +2,10 @@ package com.mybank.common.config;
 
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +13,12 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -17,6 +26,14 @@ import java.util.Map;
 
 /**
  * Kafka consumer configuration for event consumption
+ *
+ * - kafkaListenerContainerFactory: one record per listener call
+ * - batchKafkaListenerContainerFactory: List of records per poll, for bulk ingest
+ *   (larger fetches, undeserializable records arrive as null values instead of
+ *   blocking the partition, a failed batch is retried a few times with backoff,
+ *   then its records are forwarded to <topic>.DLT and the offsets committed)
+ *
+ * Value decoding follows mybank.kafka.wire-format (see KafkaWireFormat).
  */
 @EnableKafka
 @Configuration
@@ -25,6 +42,30 @@ public class KafkaConsumerConfig {
 
     private final KafkaProperties kafkaProperties;
 
+    @Value("${mybank.kafka.consumer.batch.max-poll-records:1000}")
+    private int batchMaxPollRecords;
+
+    @Value("${mybank.kafka.consumer.batch.fetch-min-bytes:65536}")
+    private int batchFetchMinBytes;
+
+    @Value("${mybank.kafka.consumer.batch.fetch-max-wait-ms:100}")
+    private int batchFetchMaxWaitMs;
+
+    @Value("${mybank.kafka.consumer.batch.concurrency:3}")
+    private int batchConcurrency;
+
+    @Value("${mybank.kafka.consumer.batch.retries:3}")
+    private int batchRetries;
+
+    @Value("${mybank.kafka.wire-format:JSON}")
+    private KafkaWireFormat wireFormat;
+
+    @Value("${mybank.kafka.schema-registry-url:http://localhost:18081}")
+    private String schemaRegistryUrl;
+
+    @Value("${mybank.kafka.auto-register-schemas:true}")
+    private boolean autoRegisterSchemas;
+
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -33,8 +74,9 @@ public class KafkaConsumerConfig {
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
                 StringDeserializer.class);
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
-                JsonDeserializer.class);
+                wireFormat.deserializer());
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.mybank.*");
+        wireFormat.configure(configProps, schemaRegistryUrl, autoRegisterSchemas);
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
 
@@ -51,4 +93,48 @@ public class KafkaConsumerConfig {
                 org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL);
         return factory;
     }
+
+    @Bean
+    public ConsumerFactory<String, Object> batchConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG,
+                kafkaProperties.getBootstrapServers());
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
+                StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
+                ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                wireFormat.deserializer());
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.mybank.*");
+        wireFormat.configure(configProps, schemaRegistryUrl, autoRegisterSchemas);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, batchFetchMinBytes);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, batchFetchMaxWaitMs);
+
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            @Qualifier("deadLetterKafkaTemplate") KafkaTemplate<String, Object> deadLetterKafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setConcurrency(batchConcurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        // A thrown exception re-delivers the whole batch (listeners must be idempotent)
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(batchRetries);
+        backOff.setInitialInterval(500L);
+        backOff.setMultiplier(2.0);
+        backOff.setMaxInterval(30_000L);
+        // Undeserializable records are forwarded as their original bytes (see KafkaProducerConfig)
+        DeadLetterPublishingRecoverer forwardToDlt = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate,
+                (record, exception) -> new TopicPartition(record.topic() + ".DLT", -1));
+        factory.setCommonErrorHandler(new DefaultErrorHandler(forwardToDlt, backOff));
+        return factory;
+    }
 }
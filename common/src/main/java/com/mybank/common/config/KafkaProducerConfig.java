@@ -2,20 +2,37 @@ package com.mybank.common.config;
 
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Kafka producer configuration for event publishing
+ *
+ * Batching: records for the same partition are grouped for up to linger-ms
+ * or until batch-size bytes, then compressed as one batch. Idempotence keeps
+ * per-partition ordering with multiple in-flight requests.
+ *
+ * Value encoding follows mybank.kafka.wire-format (see KafkaWireFormat).
+ *
+ * deadLetterKafkaTemplate is for DeadLetterPublishingRecoverers: a record whose
+ * value could not be deserialized is republished as its original byte[], which
+ * must bypass the wire-format serializer (JSON would base64-encode it, AVRO has
+ * no schema for it and fails the recovery).
  */
 @Configuration
 @RequiredArgsConstructor
@@ -23,24 +40,59 @@ public class KafkaProducerConfig {
 
     private final KafkaProperties kafkaProperties;
 
+    @Value("${mybank.kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${mybank.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${mybank.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${mybank.kafka.wire-format:JSON}")
+    private KafkaWireFormat wireFormat;
+
+    @Value("${mybank.kafka.schema-registry-url:http://localhost:18081}")
+    private String schemaRegistryUrl;
+
+    @Value("${mybank.kafka.auto-register-schemas:true}")
+    private boolean autoRegisterSchemas;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
+        return new DefaultKafkaProducerFactory<>(producerConfigs());
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> deadLetterKafkaTemplate() {
+        Map<Class<?>, Serializer<?>> delegates = new LinkedHashMap<>();
+        delegates.put(byte[].class, new ByteArraySerializer());
+        delegates.put(Object.class, BeanUtils.instantiateClass(wireFormat.serializer()));
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerConfigs(),
+                new StringSerializer(), new DelegatingByTypeSerializer(delegates, true)));
+    }
+
+    private Map<String, Object> producerConfigs() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
                 kafkaProperties.getBootstrapServers());
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
                 StringSerializer.class);
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
-                JsonSerializer.class);
+                wireFormat.serializer());
+        wireFormat.configure(configProps, schemaRegistryUrl, autoRegisterSchemas);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
         configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-
-        return new DefaultKafkaProducerFactory<>(configProps);
-    }
-
-    @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        return configProps;
     }
 }
@@ -1,13 +1,16 @@
 package com.mybank.common.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mybank.common.cache.RedisCacheType;
+import com.mybank.common.cache.TwoLevelCacheManager;
+import com.mybank.common.cache.VersionedSmileRedisSerializer;
+import com.mybank.common.session.UserSession;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
@@ -19,16 +22,25 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Redis configuration for caching and session management
  * Implements Cache-Aside and Write-Through patterns
+ *
+ * Values are stored only through typed serializers (VersionedSmileRedisSerializer
+ * templates and RedisCacheType registrations). There is no Object-valued template
+ * or cache with Jackson default typing: class names read from Redis are never
+ * used to pick the type to instantiate.
  */
 @Slf4j
 @Configuration
@@ -38,6 +50,15 @@ public class RedisConfig {
 
     private final RedisProperties redisProperties;
 
+    @Value("${mybank.cache.l1.max-size:10000}")
+    private long l1MaxSize;
+
+    @Value("${mybank.cache.l1.ttl-seconds:30}")
+    private long l1TtlSeconds;
+
+    @Value("${mybank.cache.early-refresh.beta:1.0}")
+    private double earlyRefreshBeta;
+
     @Bean
     public LettuceConnectionFactory redisConnectionFactory() {
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
@@ -49,30 +70,15 @@ public class RedisConfig {
         return new LettuceConnectionFactory(config);
     }
 
+    /**
+     * Typed template for user sessions (compact versioned Smile, no type metadata)
+     */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
+    public RedisTemplate<String, UserSession> userSessionRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, UserSession> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
-
-        // Use String serializer for keys
         template.setKeySerializer(new StringRedisSerializer());
-        template.setHashKeySerializer(new StringRedisSerializer());
-
-        // Use JSON serializer for values
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        // Enable default typing to preserve class information during serialization
-        objectMapper.activateDefaultTyping(
-                objectMapper.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.NON_FINAL
-        );
-
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
-        template.setValueSerializer(serializer);
-        template.setHashValueSerializer(serializer);
-
+        template.setValueSerializer(new VersionedSmileRedisSerializer<>(UserSession.class));
         template.afterPropertiesSet();
         return template;
     }
@@ -81,31 +87,55 @@ public class RedisConfig {
     // Spring Boot Auto-Configuration already provides this bean
     // We use the default stringRedisTemplate provided by Spring Boot
 
+    /**
+     * Two-level cache manager: Caffeine L1 per node in front of the Redis L2
+     * L1 entries are invalidated across nodes via Redis pub/sub
+     *
+     * Only caches registered with a RedisCacheType bean exist; their values are
+     * stored as typed versioned Smile. Using any other cache name fails with an
+     * IllegalStateException instead of falling back to an untyped serializer.
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        // Enable default typing to preserve class information during serialization
-        objectMapper.activateDefaultTyping(
-                objectMapper.getPolymorphicTypeValidator(),
-                ObjectMapper.DefaultTyping.NON_FINAL
-        );
-
-        GenericJackson2JsonRedisSerializer serializer =
-                new GenericJackson2JsonRedisSerializer(objectMapper);
-
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             MeterRegistry meterRegistry,
+                                             ObjectProvider<RedisCacheType> cacheTypes) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(30))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(serializer))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        Map<String, RedisCacheConfiguration> typedConfigs = new HashMap<>();
+        cacheTypes.orderedStream().forEach(cacheType -> {
+            RedisCacheConfiguration typedConfig = config.serializeValuesWith(
+                    RedisSerializationContext.SerializationPair.fromSerializer(
+                            new VersionedSmileRedisSerializer<>(cacheType.valueType())));
+            if (cacheType.ttl() != null) {
+                typedConfig = typedConfig.entryTtl(cacheType.ttl());
+            }
+            typedConfigs.put(cacheType.cacheName(), typedConfig);
+            log.info("Cache '{}' uses typed Smile values: {}", cacheType.cacheName(), cacheType.valueType().getName());
+        });
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
+                .withInitialCacheConfigurations(typedConfigs)
+                .disableCreateOnMissingCache()
                 .build();
+
+        return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, meterRegistry,
+                l1MaxSize, Duration.ofSeconds(l1TtlSeconds), earlyRefreshBeta);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, ChannelTopic.of(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 
     @Bean
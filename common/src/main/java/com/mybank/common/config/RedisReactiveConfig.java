@@ -3,6 +3,8 @@ package com.mybank.common.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mybank.common.cache.VersionedSmileRedisSerializer;
+import com.mybank.common.session.UserSession;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
@@ -43,6 +45,22 @@ public class RedisReactiveConfig {
         return new ReactiveRedisTemplate<>(connectionFactory, context);
     }
 
+    /**
+     * Typed reactive template for user sessions (same codec as userSessionRedisTemplate)
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, UserSession> userSessionReactiveRedisTemplate(
+            ReactiveRedisConnectionFactory connectionFactory) {
+        StringRedisSerializer stringSerializer = new StringRedisSerializer();
+
+        RedisSerializationContext<String, UserSession> context = RedisSerializationContext
+                .<String, UserSession>newSerializationContext(stringSerializer)
+                .value(new VersionedSmileRedisSerializer<>(UserSession.class))
+                .build();
+
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+
     /**
      * ReactiveStringRedisTemplate (Spring Cloud Gateway requirement)
      * Needed for Rate Limiter and other Spring Cloud Gateway features
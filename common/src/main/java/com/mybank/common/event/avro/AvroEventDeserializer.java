@@ -0,0 +1,57 @@
+package com.mybank.common.event.avro;
+
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import io.confluent.kafka.serializers.KafkaAvroDeserializerConfig;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka value deserializer for the AVRO wire format
+ *
+ * - Confluent-framed values (magic byte 0) are read as schema-module records
+ *   and mapped back to domain events, so listeners are format-agnostic
+ * - Anything else is handed to JsonDeserializer (type headers), so records
+ *   written before producers switched to AVRO are still consumed
+ */
+public class AvroEventDeserializer implements Deserializer<Object> {
+
+    private static final byte MAGIC_BYTE = 0x0;
+
+    private final KafkaAvroDeserializer avroDeserializer = new KafkaAvroDeserializer();
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Map<String, Object> avroConfigs = new HashMap<>(configs);
+        avroConfigs.put(KafkaAvroDeserializerConfig.SPECIFIC_AVRO_READER_CONFIG, true);
+        avroConfigs.put(KafkaAvroDeserializerConfig.AVRO_USE_LOGICAL_TYPE_CONVERTERS_CONFIG, true);
+        avroDeserializer.configure(avroConfigs, isKey);
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length > 0 && data[0] == MAGIC_BYTE) {
+            return AvroEventMapper.fromAvro(avroDeserializer.deserialize(topic, data));
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        avroDeserializer.close();
+        jsonDeserializer.close();
+    }
+}
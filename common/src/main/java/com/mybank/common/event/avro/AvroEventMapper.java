@@ -0,0 +1,174 @@
+package com.mybank.common.event.avro;
+
+import com.mybank.common.event.GoalBreachEvent;
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.common.event.TransactionEvent;
+import com.mybank.schema.event.BreachType;
+import com.mybank.schema.event.GoalType;
+import com.mybank.schema.event.TransactionStatus;
+import com.mybank.schema.event.TransactionType;
+import org.apache.avro.specific.SpecificRecord;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Maps domain events (com.mybank.common.event) to and from their Avro records
+ * generated by the schema module (com.mybank.schema.event)
+ *
+ * - Timestamps travel as ISO-8601 strings
+ * - Amounts are decimal(19, 4); an amount that needs more than 4 decimal
+ *   places is rejected rather than rounded (TransferRequest validates the
+ *   same precision, so payment events always fit)
+ * - String-typed enums (transactionType, status, goalType, breachType) must
+ *   match a schema symbol
+ */
+public final class AvroEventMapper {
+
+    private static final int AMOUNT_SCALE = 4;
+
+    private AvroEventMapper() {
+    }
+
+    public static SpecificRecord toAvro(Object event) {
+        if (event instanceof PaymentCompletedEvent payment) {
+            return toAvro(payment);
+        }
+        if (event instanceof TransactionEvent transaction) {
+            return toAvro(transaction);
+        }
+        if (event instanceof GoalBreachEvent goalBreach) {
+            return toAvro(goalBreach);
+        }
+        throw new IllegalArgumentException("No Avro schema for " + event.getClass().getName());
+    }
+
+    public static Object fromAvro(Object record) {
+        if (record instanceof com.mybank.schema.event.PaymentCompletedEvent payment) {
+            return fromAvro(payment);
+        }
+        if (record instanceof com.mybank.schema.event.TransactionEvent transaction) {
+            return fromAvro(transaction);
+        }
+        if (record instanceof com.mybank.schema.event.GoalBreachEvent goalBreach) {
+            return fromAvro(goalBreach);
+        }
+        throw new IllegalArgumentException("No domain event for Avro record "
+                + (record != null ? record.getClass().getName() : "null"));
+    }
+
+    static com.mybank.schema.event.PaymentCompletedEvent toAvro(PaymentCompletedEvent event) {
+        com.mybank.schema.event.PaymentCompletedEvent.Builder builder = com.mybank.schema.event.PaymentCompletedEvent.newBuilder()
+                .setEventId(event.getEventId())
+                .setEventType(event.getEventType())
+                .setTimestamp(formatTimestamp(event.getTimestamp()))
+                .setCorrelationId(event.getCorrelationId())
+                .setUserId(event.getUserId())
+                .setPaymentId(event.getPaymentId())
+                .setAccountId(event.getAccountId())
+                .setAmount(toDecimal(event.getAmount()))
+                .setMerchantName(event.getMerchantName());
+        if (event.getCurrency() != null) {
+            builder.setCurrency(event.getCurrency());
+        }
+        return builder.build();
+    }
+
+    static PaymentCompletedEvent fromAvro(com.mybank.schema.event.PaymentCompletedEvent record) {
+        return PaymentCompletedEvent.builder()
+                .eventId(record.getEventId())
+                .eventType(record.getEventType())
+                .timestamp(parseTimestamp(record.getTimestamp()))
+                .correlationId(record.getCorrelationId())
+                .userId(record.getUserId())
+                .paymentId(record.getPaymentId())
+                .accountId(record.getAccountId())
+                .amount(record.getAmount())
+                .currency(record.getCurrency())
+                .merchantName(record.getMerchantName())
+                .build();
+    }
+
+    static com.mybank.schema.event.TransactionEvent toAvro(TransactionEvent event) {
+        com.mybank.schema.event.TransactionEvent.Builder builder = com.mybank.schema.event.TransactionEvent.newBuilder()
+                .setEventId(event.getEventId())
+                .setEventType(event.getEventType())
+                .setTimestamp(formatTimestamp(event.getTimestamp()))
+                .setCorrelationId(event.getCorrelationId())
+                .setUserId(event.getUserId())
+                .setTransactionId(event.getTransactionId())
+                .setAccountId(event.getAccountId())
+                .setAmount(toDecimal(event.getAmount()))
+                .setCategory(event.getCategory())
+                .setMerchantName(event.getMerchantName())
+                .setTransactionType(TransactionType.valueOf(event.getTransactionType()))
+                .setStatus(TransactionStatus.valueOf(event.getStatus()));
+        if (event.getCurrency() != null) {
+            builder.setCurrency(event.getCurrency());
+        }
+        return builder.build();
+    }
+
+    static TransactionEvent fromAvro(com.mybank.schema.event.TransactionEvent record) {
+        return TransactionEvent.builder()
+                .eventId(record.getEventId())
+                .eventType(record.getEventType())
+                .timestamp(parseTimestamp(record.getTimestamp()))
+                .correlationId(record.getCorrelationId())
+                .userId(record.getUserId())
+                .transactionId(record.getTransactionId())
+                .accountId(record.getAccountId())
+                .amount(record.getAmount())
+                .currency(record.getCurrency())
+                .category(record.getCategory())
+                .merchantName(record.getMerchantName())
+                .transactionType(record.getTransactionType().name())
+                .status(record.getStatus().name())
+                .build();
+    }
+
+    static com.mybank.schema.event.GoalBreachEvent toAvro(GoalBreachEvent event) {
+        return com.mybank.schema.event.GoalBreachEvent.newBuilder()
+                .setEventId(event.getEventId())
+                .setEventType(event.getEventType())
+                .setTimestamp(formatTimestamp(event.getTimestamp()))
+                .setCorrelationId(event.getCorrelationId())
+                .setUserId(event.getUserId())
+                .setGoalId(event.getGoalId())
+                .setGoalType(GoalType.valueOf(event.getGoalType()))
+                .setTargetAmount(toDecimal(event.getTargetAmount()))
+                .setCurrentAmount(toDecimal(event.getCurrentAmount()))
+                .setBreachType(BreachType.valueOf(event.getBreachType()))
+                .setMessage(event.getMessage())
+                .build();
+    }
+
+    static GoalBreachEvent fromAvro(com.mybank.schema.event.GoalBreachEvent record) {
+        return GoalBreachEvent.builder()
+                .eventId(record.getEventId())
+                .eventType(record.getEventType())
+                .timestamp(parseTimestamp(record.getTimestamp()))
+                .correlationId(record.getCorrelationId())
+                .userId(record.getUserId())
+                .goalId(record.getGoalId())
+                .goalType(record.getGoalType().name())
+                .targetAmount(record.getTargetAmount())
+                .currentAmount(record.getCurrentAmount())
+                .breachType(record.getBreachType().name())
+                .message(record.getMessage())
+                .build();
+    }
+
+    private static BigDecimal toDecimal(BigDecimal amount) {
+        return amount != null ? amount.setScale(AMOUNT_SCALE, RoundingMode.UNNECESSARY) : null;
+    }
+
+    private static String formatTimestamp(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toString() : null;
+    }
+
+    private static LocalDateTime parseTimestamp(String timestamp) {
+        return timestamp != null ? LocalDateTime.parse(timestamp) : null;
+    }
+}
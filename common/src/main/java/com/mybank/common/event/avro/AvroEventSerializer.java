@@ -0,0 +1,51 @@
+package com.mybank.common.event.avro;
+
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Kafka value serializer for the AVRO wire format
+ *
+ * Domain events are mapped to their schema-module records (AvroEventMapper)
+ * and written by the Confluent serializer:
+ *   [magic byte 0][schema ID, 4 bytes][Avro binary]
+ * so producers keep sending the same event classes as in JSON mode.
+ */
+public class AvroEventSerializer implements Serializer<Object> {
+
+    private final KafkaAvroSerializer delegate = new KafkaAvroSerializer();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        Object record;
+        try {
+            record = AvroEventMapper.toAvro(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Could not map " + data.getClass().getSimpleName()
+                    + " to Avro for topic " + topic, e);
+        }
+        return delegate.serialize(topic, record);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
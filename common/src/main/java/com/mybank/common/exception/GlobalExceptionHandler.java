@@ -134,6 +134,8 @@ public class GlobalExceptionHandler {
             case "INVALID_CREDENTIALS", "INVALID_TOKEN" -> HttpStatus.UNAUTHORIZED;
             case "ACCOUNT_LOCKED", "ACCOUNT_INACTIVE" -> HttpStatus.FORBIDDEN;
             case "USER_NOT_FOUND" -> HttpStatus.NOT_FOUND;
+            case "IDEMPOTENCY_IN_PROGRESS" -> HttpStatus.CONFLICT;
+            case "IDEMPOTENCY_KEY_REUSED" -> HttpStatus.UNPROCESSABLE_ENTITY;
             default -> HttpStatus.BAD_REQUEST;
         };
     }
@@ -0,0 +1,93 @@
+package com.mybank.common.lock;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A held Redis lock (see DistributedLockService)
+ *
+ * - ownerToken: random value stored under the lock key; only the owner can
+ *   renew or release it
+ * - The lease is renewed in the background until close(); isHeld() turns
+ *   false if a renewal finds the lock taken over
+ */
+public final class DistributedLock implements AutoCloseable {
+
+    private final DistributedLockService lockService;
+    private final String name;
+    private final String key;
+    private final String ownerToken;
+    private final Duration lease;
+    private final long acquiredAtNanos;
+    private final AtomicBoolean held = new AtomicBoolean(true);
+    private volatile ScheduledFuture<?> renewal;
+
+    DistributedLock(DistributedLockService lockService, String name, String key,
+                    String ownerToken, Duration lease) {
+        this.lockService = lockService;
+        this.name = name;
+        this.key = key;
+        this.ownerToken = ownerToken;
+        this.lease = lease;
+        this.acquiredAtNanos = System.nanoTime();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getOwnerToken() {
+        return ownerToken;
+    }
+
+    public Duration getLease() {
+        return lease;
+    }
+
+    /**
+     * False once the lock is released or a renewal found it no longer owned
+     */
+    public boolean isHeld() {
+        return held.get();
+    }
+
+    /**
+     * Release the lock if this owner still holds it (idempotent)
+     */
+    @Override
+    public void close() {
+        if (held.compareAndSet(true, false)) {
+            cancelRenewal();
+            lockService.release(this);
+        } else {
+            cancelRenewal();
+        }
+    }
+
+    long acquiredAtNanos() {
+        return acquiredAtNanos;
+    }
+
+    void renewal(ScheduledFuture<?> renewal) {
+        this.renewal = renewal;
+    }
+
+    void markLost() {
+        if (held.compareAndSet(true, false)) {
+            cancelRenewal();
+            lockService.recordLost(this);
+        }
+    }
+
+    private void cancelRenewal() {
+        ScheduledFuture<?> task = renewal;
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mybank.common.lock;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis lease lock with owner tokens
+ *
+ * Key: lock:{name:resource} -> owner token, PX lease
+ *
+ * - Acquire: SET NX PX
+ * - Release / renew: compare-and-delete / compare-and-pexpire on the owner
+ *   token, so a holder whose lease expired can never drop or extend someone
+ *   else's lock
+ * - Held locks are renewed every lease/3 on a shared scheduler
+ * - tryAcquire() may wait up to maxWait, polling with jittered backoff
+ *
+ * No fencing tokens: a holder stalled past its lease is only detected through
+ * DistributedLock.isHeld(). Callers whose writes must reject stale holders need
+ * a guard in the store they write to.
+ *
+ * Metrics (tag: name):
+ * - lock.wait (histogram; tag result=acquired|timeout)
+ * - lock.hold (histogram)
+ * - lock.lost (renewal found the lock taken over)
+ */
+@Slf4j
+@Service
+public class DistributedLockService implements DisposableBean {
+
+    private static final String KEY_PREFIX = "lock:";
+
+    private static final long MIN_BACKOFF_MS = 5;
+    private static final long MAX_BACKOFF_MS = 100;
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('DEL', KEYS[1]) "
+                    + "end "
+                    + "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "end "
+                    + "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledExecutorService renewalScheduler;
+
+    public DistributedLockService(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.renewalScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lock-lease-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        renewalScheduler.shutdownNow();
+    }
+
+    /**
+     * Acquire a lock, waiting at most maxWait (Duration.ZERO = single attempt)
+     *
+     * @param name     lock family, used in the key and as the metric tag (low cardinality)
+     * @param resource locked resource within the family (e.g. user and account IDs)
+     * @param lease    lock TTL; renewed while held, so it only bounds how long a crashed holder blocks others
+     * @return the held lock, or empty if it could not be acquired in time
+     */
+    public Optional<DistributedLock> tryAcquire(String name, String resource, Duration lease, Duration maxWait) {
+        String key = KEY_PREFIX + "{" + name + ":" + resource + "}";
+        String ownerToken = UUID.randomUUID().toString();
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + maxWait.toNanos();
+        long backoffMs = MIN_BACKOFF_MS;
+
+        while (true) {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key, ownerToken, lease);
+            if (Boolean.TRUE.equals(acquired)) {
+                waitTimer(name, "acquired").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                DistributedLock lock = new DistributedLock(this, name, key, ownerToken, lease);
+                scheduleRenewal(lock);
+                return Optional.of(lock);
+            }
+
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                waitTimer(name, "timeout").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                return Optional.empty();
+            }
+            long sleepMs = Math.min(TimeUnit.NANOSECONDS.toMillis(remainingNanos),
+                    ThreadLocalRandom.current().nextLong(MIN_BACKOFF_MS, backoffMs + 1));
+            try {
+                Thread.sleep(Math.max(sleepMs, 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                waitTimer(name, "timeout").record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                return Optional.empty();
+            }
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    void release(DistributedLock lock) {
+        holdTimer(lock.getName()).record(System.nanoTime() - lock.acquiredAtNanos(), TimeUnit.NANOSECONDS);
+        try {
+            Long released = redisTemplate.execute(RELEASE_SCRIPT, List.of(lock.getKey()), lock.getOwnerToken());
+            if (released == null || released == 0) {
+                log.warn("Lock {} was no longer owned at release", lock.getKey());
+            }
+        } catch (Exception e) {
+            // The lease expires on its own
+            log.warn("Failed to release lock {}: {}", lock.getKey(), e.getMessage());
+        }
+    }
+
+    void recordLost(DistributedLock lock) {
+        log.warn("Lost lock {} while held", lock.getKey());
+        Counter.builder("lock.lost")
+                .tag("name", lock.getName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void scheduleRenewal(DistributedLock lock) {
+        long periodMs = Math.max(lock.getLease().toMillis() / 3, 1);
+        lock.renewal(renewalScheduler.scheduleAtFixedRate(() -> renew(lock), periodMs, periodMs, TimeUnit.MILLISECONDS));
+    }
+
+    private void renew(DistributedLock lock) {
+        if (!lock.isHeld()) {
+            return;
+        }
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(lock.getKey()),
+                    lock.getOwnerToken(), String.valueOf(lock.getLease().toMillis()));
+            if (renewed == null || renewed == 0) {
+                lock.markLost();
+            }
+        } catch (Exception e) {
+            // Transient: the next renewal retries while the current lease is still running
+            log.warn("Failed to renew lock {}: {}", lock.getKey(), e.getMessage());
+        }
+    }
+
+    private Timer waitTimer(String name, String result) {
+        return Timer.builder("lock.wait")
+                .tag("name", name)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer holdTimer(String name) {
+        return Timer.builder("lock.hold")
+                .tag("name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.mybank.common.security;
+
+import java.security.Key;
+
+/**
+ * Additional verification keys for JwtUtil, looked up by "kid"
+ *
+ * Implemented by verifiers that do not hold key material themselves
+ * (e.g. the gateway's JWKS cache); JwtUtil consults it for kids that are
+ * not in its configured keyring.
+ */
+public interface JwtKeySource {
+
+    /**
+     * @return the verification key for this kid, or null if unknown
+     */
+    Key verificationKey(String keyId);
+}
@@ -0,0 +1,37 @@
+package com.mybank.common.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of JwtUtil.parse(): verified claims, or why the token was rejected
+ *
+ * Exactly one of claims / failure is non-null.
+ */
+public record JwtParseResult(Claims claims, Failure failure, String message) {
+
+    public enum Failure {
+        EMPTY,             // null or blank token
+        MALFORMED,         // not a compact JWS
+        UNSUPPORTED,       // unsigned / JWE / unexpected algorithm
+        UNKNOWN_KEY,       // kid not in the keyring
+        INVALID_SIGNATURE,
+        EXPIRED,
+        INVALID            // any other JJWT rejection
+    }
+
+    public static JwtParseResult valid(Claims claims) {
+        return new JwtParseResult(claims, null, null);
+    }
+
+    public static JwtParseResult failed(Failure failure, String message) {
+        return new JwtParseResult(null, failure, message);
+    }
+
+    public boolean isValid() {
+        return claims != null;
+    }
+
+    public String userId() {
+        return claims != null ? claims.getSubject() : null;
+    }
+}
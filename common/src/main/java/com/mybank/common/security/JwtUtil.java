@@ -1,44 +1,173 @@
 package com.mybank.common.security;
 
 import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Jwks;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * JWT utility for token generation and validation
+ *
+ * Keys and the parser are built once at startup and shared (both immutable
+ * and thread-safe), so signing and verification do no key derivation or
+ * parser construction per call.
+ *
+ * Algorithms (jwt.algorithm):
+ * - HS256: shared secret (jwt.secret); every verifier needs the secret
+ * - ES256: P-256 key pair (jwt.es256.private-key / public-key, base64 DER
+ *   or PEM). Public keys are published as a JWKS (publicJwks()), so
+ *   verifiers only need public keys. Without a private key the instance is
+ *   verification-only when a JwtKeySource is present, otherwise an
+ *   ephemeral key pair is generated (single-instance development only)
+ *
+ * Key rotation:
+ * - Tokens are signed with the active key and carry its ID (jwt.key-id) in
+ *   the "kid" header
+ * - Retired keys stay verifiable until the tokens they signed have expired:
+ *   jwt.previous-keys ("kid=secret,...") for HS256,
+ *   jwt.es256.previous-public-keys ("kid=publicKey,...") for ES256
+ * - Unknown kids are resolved through the JwtKeySource, if any
+ * - Tokens without a kid (issued before rotation support) verify against
+ *   the active key
+ *
+ * parse() verifies a token once and returns its claims or a typed failure;
+ * the other read methods are shortcuts over it.
  */
 @Slf4j
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:mybank360-super-secret-key-for-jwt-token-generation-minimum-256-bits}")
-    private String secret;
+    public enum Algorithm {
+        HS256, ES256
+    }
+
+    private final long expiration;
+    private final Algorithm algorithm;
+    private final String activeKeyId;
+    private final Key signingKey; // null = verification-only
+    private final Key activeVerificationKey;
+    private final Map<String, Key> keyring;
+    private final JwtKeySource keySource;
+    private final JwtParser parser;
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.secret:mybank360-super-secret-key-for-jwt-token-generation-minimum-256-bits}") String secret,
+                   @Value("${jwt.expiration:86400000}") long expiration, // 24 hours
+                   @Value("${jwt.key-id:default}") String activeKeyId,
+                   @Value("${jwt.previous-keys:}") String previousKeys,
+                   @Value("${jwt.algorithm:HS256}") Algorithm algorithm,
+                   @Value("${jwt.es256.private-key:}") String privateKey,
+                   @Value("${jwt.es256.public-key:}") String publicKey,
+                   @Value("${jwt.es256.previous-public-keys:}") String previousPublicKeys,
+                   ObjectProvider<JwtKeySource> keySource) {
+        this(secret, expiration, activeKeyId, previousKeys, algorithm,
+                privateKey, publicKey, previousPublicKeys, keySource.getIfAvailable());
+    }
+
+    /**
+     * HS256 instance (tests and tools)
+     */
+    public JwtUtil(String secret, long expiration, String activeKeyId, String previousKeys) {
+        this(secret, expiration, activeKeyId, previousKeys, Algorithm.HS256, "", "", "", null);
+    }
+
+    /**
+     * ES256 instance (tests and tools)
+     */
+    public JwtUtil(KeyPair keyPair, long expiration, String activeKeyId, JwtKeySource keySource) {
+        this.expiration = expiration;
+        this.algorithm = Algorithm.ES256;
+        this.activeKeyId = activeKeyId;
+        this.signingKey = keyPair != null ? keyPair.getPrivate() : null;
+        this.activeVerificationKey = keyPair != null ? keyPair.getPublic() : null;
+        this.keyring = activeVerificationKey != null ? Map.of(activeKeyId, activeVerificationKey) : Map.of();
+        this.keySource = keySource;
+        this.parser = buildParser();
+    }
+
+    private JwtUtil(String secret, long expiration, String activeKeyId, String previousKeys, Algorithm algorithm,
+                    String privateKey, String publicKey, String previousPublicKeys, JwtKeySource keySource) {
+        this.expiration = expiration;
+        this.algorithm = algorithm;
+        this.activeKeyId = activeKeyId;
+        this.keySource = keySource;
+
+        Map<String, Key> keys = new LinkedHashMap<>();
+        if (algorithm == Algorithm.HS256) {
+            SecretKey key = hmacKey(secret);
+            parseKeyring(previousKeys).forEach((kid, value) -> keys.put(kid, hmacKey(value)));
+            this.signingKey = key;
+            this.activeVerificationKey = key;
+        } else if (!privateKey.isBlank() && !publicKey.isBlank()) {
+            this.signingKey = ecPrivateKey(privateKey);
+            this.activeVerificationKey = ecPublicKey(publicKey);
+        } else if (!publicKey.isBlank() || keySource != null) {
+            // Verifier only (e.g. the gateway): public keys come from config or the JWKS
+            this.signingKey = null;
+            this.activeVerificationKey = publicKey.isBlank() ? null : ecPublicKey(publicKey);
+        } else {
+            log.warn("jwt.algorithm=ES256 without jwt.es256.private-key: using an ephemeral key pair "
+                    + "(tokens will not verify on other instances or after a restart)");
+            KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+            this.signingKey = keyPair.getPrivate();
+            this.activeVerificationKey = keyPair.getPublic();
+        }
+        if (algorithm == Algorithm.ES256) {
+            parseKeyring(previousPublicKeys).forEach((kid, value) -> keys.put(kid, ecPublicKey(value)));
+        }
+        if (activeVerificationKey != null) {
+            keys.put(activeKeyId, activeVerificationKey);
+        }
+        this.keyring = Map.copyOf(keys);
+        this.parser = buildParser();
 
-    @Value("${jwt.expiration:86400000}") // 24 hours
-    private long expiration;
+        log.info("JWT keyring loaded (algorithm={}, active kid={}, verification kids={}, signing={}, keySource={})",
+                algorithm, activeKeyId, keyring.keySet(), signingKey != null, keySource != null);
+    }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private JwtParser buildParser() {
+        return Jwts.parser()
+                .keyLocator(new KeyringLocator())
+                .build();
     }
 
     public String generateToken(String userId, Map<String, Object> claims) {
+        if (signingKey == null) {
+            throw new IllegalStateException("JwtUtil is verification-only (no signing key configured)");
+        }
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
         return Jwts.builder()
+                .header().keyId(activeKeyId).and()
                 .subject(userId)
                 .claims(claims)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -46,42 +175,147 @@ public class JwtUtil {
         return generateToken(userId, Map.of());
     }
 
+    /**
+     * Verify the token once and return its claims or the reason it was rejected
+     */
+    public JwtParseResult parse(String token) {
+        if (token == null || token.isBlank()) {
+            return JwtParseResult.failed(JwtParseResult.Failure.EMPTY, "Token is empty");
+        }
+        try {
+            return JwtParseResult.valid(parser.parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException e) {
+            return JwtParseResult.failed(JwtParseResult.Failure.EXPIRED, e.getMessage());
+        } catch (UnknownKeyIdException e) {
+            return JwtParseResult.failed(JwtParseResult.Failure.UNKNOWN_KEY, e.getMessage());
+        } catch (SignatureException e) {
+            return JwtParseResult.failed(JwtParseResult.Failure.INVALID_SIGNATURE, e.getMessage());
+        } catch (MalformedJwtException e) {
+            return JwtParseResult.failed(JwtParseResult.Failure.MALFORMED, e.getMessage());
+        } catch (UnsupportedJwtException e) {
+            return JwtParseResult.failed(JwtParseResult.Failure.UNSUPPORTED, e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            return JwtParseResult.failed(JwtParseResult.Failure.INVALID, e.getMessage());
+        }
+    }
+
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return getClaimsFromToken(token).getSubject();
     }
 
+    /**
+     * Verified claims; throws JwtException (or IllegalArgumentException) if the token is rejected
+     */
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+        JwtParseResult result = parse(token);
+        if (!result.isValid()) {
+            log.error("Invalid JWT token ({}): {}", result.failure(), result.message());
         }
+        return result.isValid();
     }
 
     public boolean isTokenExpired(String token) {
+        JwtParseResult result = parse(token);
+        return !result.isValid() || result.claims().getExpiration().before(new Date());
+    }
+
+    /**
+     * Public verification keys as a JWK Set ({"keys": [...]})
+     * Empty for HS256: shared secrets are never published.
+     */
+    public Map<String, Object> publicJwks() {
+        List<PublicJwk<?>> jwks = new ArrayList<>();
+        if (algorithm == Algorithm.ES256) {
+            keyring.forEach((kid, key) -> jwks.add(Jwks.builder()
+                    .key((ECPublicKey) key)
+                    .id(kid)
+                    .publicKeyUse("sig")
+                    .algorithm(Jwts.SIG.ES256.getId())
+                    .build()));
+        }
+        return Map.of("keys", jwks);
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    private static SecretKey hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static PrivateKey ecPrivateKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(decodeKey(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("jwt.es256.private-key is not a PKCS#8 EC key", e);
+        }
+    }
+
+    private static ECPublicKey ecPublicKey(String encoded) {
         try {
-            Claims claims = getClaimsFromToken(token);
-            return claims.getExpiration().before(new Date());
-        } catch (JwtException e) {
-            return true;
+            return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(decodeKey(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("ES256 public key is not an X.509 EC key", e);
+        }
+    }
+
+    /**
+     * Base64 DER, optionally wrapped in PEM armor
+     */
+    private static byte[] decodeKey(String encoded) {
+        String base64 = encoded.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static Map<String, String> parseKeyring(String entries) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        if (entries == null || entries.isBlank()) {
+            return keys;
+        }
+        for (String entry : entries.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException("JWT keyring entries must be kid=key");
+            }
+            keys.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return keys;
+    }
+
+    /**
+     * Selects the verification key by the token's kid header
+     */
+    private final class KeyringLocator extends LocatorAdapter<Key> {
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                if (activeVerificationKey == null) {
+                    throw new UnknownKeyIdException("Token has no kid and no active key is configured");
+                }
+                return activeVerificationKey;
+            }
+            Key key = keyring.get(keyId);
+            if (key == null && keySource != null) {
+                key = keySource.verificationKey(keyId);
+            }
+            if (key == null) {
+                throw new UnknownKeyIdException("Unknown JWT key id: " + keyId);
+            }
+            return key;
+        }
+    }
+
+    private static final class UnknownKeyIdException extends JwtException {
+
+        UnknownKeyIdException(String message) {
+            super(message);
         }
     }
 }
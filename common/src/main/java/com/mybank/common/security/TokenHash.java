@@ -0,0 +1,102 @@
+package com.mybank.common.security;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 digest of a bearer token (see TokenHasher)
+ *
+ * - 32 raw bytes; used as the blacklist Redis key suffix and as the
+ *   in-process key of the claims cache and revocation near-cache
+ * - hashCode()/Bloom positions come straight from the digest bits, which
+ *   are already uniformly distributed
+ * - toHex() is only for logs and revocation events, and is computed lazily
+ */
+public final class TokenHash {
+
+    public static final int LENGTH = 32;
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final byte[] digest;
+    private final int hashCode;
+    private String hex;
+
+    TokenHash(byte[] digest) {
+        if (digest.length != LENGTH) {
+            throw new IllegalArgumentException("SHA-256 digest must be " + LENGTH + " bytes: " + digest.length);
+        }
+        this.digest = digest;
+        this.hashCode = (int) high();
+    }
+
+    /**
+     * Parse the hex form published in revocation events (or a legacy hex Redis key)
+     */
+    public static TokenHash fromHex(CharSequence hex) {
+        return new TokenHash(HEX.parseHex(hex));
+    }
+
+    /**
+     * Wrap a digest read back from a binary Redis key
+     */
+    public static TokenHash fromBytes(byte[] bytes, int offset) {
+        return new TokenHash(Arrays.copyOfRange(bytes, offset, offset + LENGTH));
+    }
+
+    /**
+     * prefix + the 32 digest bytes
+     */
+    public byte[] toKey(byte[] prefix) {
+        byte[] key = Arrays.copyOf(prefix, prefix.length + LENGTH);
+        System.arraycopy(digest, 0, key, prefix.length, LENGTH);
+        return key;
+    }
+
+    /**
+     * First 64 bits of the digest (big-endian)
+     */
+    public long high() {
+        return longAt(0);
+    }
+
+    /**
+     * Second 64 bits of the digest (big-endian)
+     */
+    public long low() {
+        return longAt(8);
+    }
+
+    public String toHex() {
+        String value = hex;
+        if (value == null) {
+            value = HEX.formatHex(digest);
+            hex = value;
+        }
+        return value;
+    }
+
+    private long longAt(int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (digest[i] & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other
+                || other instanceof TokenHash that && hashCode == that.hashCode && Arrays.equals(digest, that.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
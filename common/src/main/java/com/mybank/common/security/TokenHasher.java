@@ -0,0 +1,78 @@
+package com.mybank.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 token hashing without per-call setup
+ *
+ * - One MessageDigest and one input buffer per thread (gateway event loops
+ *   and servlet workers are long-lived, so both are reused)
+ * - JWTs are ASCII (base64url + dots): chars are written straight into the
+ *   buffer instead of String.getBytes(); anything else falls back to UTF-8,
+ *   which produces the same bytes for ASCII, so digests match the former
+ *   getBytes(UTF_8) + SHA-256 keys
+ * - The only allocation per call is the 32-byte digest held by TokenHash
+ */
+public final class TokenHasher {
+
+    // Buffers grown beyond this (oversized headers) are not kept per thread
+    private static final int MAX_RETAINED_BUFFER = 8 * 1024;
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private TokenHasher() {
+    }
+
+    public static TokenHash hash(String token) {
+        State state = STATE.get();
+        MessageDigest digest = state.digest;
+
+        int length = token.length();
+        byte[] buffer = state.buffer(length);
+        if (encodeAscii(token, buffer)) {
+            digest.update(buffer, 0, length);
+        } else {
+            digest.update(token.getBytes(StandardCharsets.UTF_8));
+        }
+        // digest() also resets the instance for the next call
+        return new TokenHash(digest.digest());
+    }
+
+    private static boolean encodeAscii(String token, byte[] buffer) {
+        for (int i = 0, length = token.length(); i < length; i++) {
+            char c = token.charAt(i);
+            if (c >= 0x80) {
+                return false;
+            }
+            buffer[i] = (byte) c;
+        }
+        return true;
+    }
+
+    private static final class State {
+
+        private final MessageDigest digest;
+        private byte[] buffer = new byte[1024];
+
+        private State() {
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        private byte[] buffer(int length) {
+            if (length <= buffer.length) {
+                return buffer;
+            }
+            byte[] grown = new byte[length];
+            if (length <= MAX_RETAINED_BUFFER) {
+                buffer = grown;
+            }
+            return grown;
+        }
+    }
+}
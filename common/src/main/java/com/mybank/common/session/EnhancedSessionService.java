@@ -3,7 +3,9 @@ package com.mybank.common.session;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
@@ -15,14 +17,22 @@ import java.util.Optional;
  * Enhanced Global Session Management Service
  * Supports both blocking and reactive operations
  * Provides centralized session management across all microservices using Redis
+ *
+ * Storage:
+ * - Sessions: typed UserSession templates (versioned Smile, see RedisConfig)
+ * - Token mappings and blacklist markers: plain strings
+ * Values written by the previous default-typed JSON serializer read as absent,
+ * so affected users simply log in again.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EnhancedSessionService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final RedisTemplate<String, UserSession> userSessionRedisTemplate;
+    private final ReactiveRedisTemplate<String, UserSession> userSessionReactiveRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ReactiveStringRedisTemplate reactiveStringRedisTemplate;
 
     private static final String SESSION_PREFIX = "mybank:session:";
     private static final String TOKEN_PREFIX = "mybank:token:";
@@ -38,10 +48,10 @@ public class EnhancedSessionService {
         String tokenKey = TOKEN_PREFIX + token;
 
         // Store session data by user ID
-        redisTemplate.opsForValue().set(sessionKey, sessionData, SESSION_TTL);
+        userSessionRedisTemplate.opsForValue().set(sessionKey, sessionData, SESSION_TTL);
 
         // Store token mapping for quick validation
-        redisTemplate.opsForValue().set(tokenKey, userId, TOKEN_TTL);
+        stringRedisTemplate.opsForValue().set(tokenKey, userId, TOKEN_TTL);
 
         log.info("Created session for user: {} with TTL: {}", userId, SESSION_TTL);
     }
@@ -53,9 +63,9 @@ public class EnhancedSessionService {
         String sessionKey = SESSION_PREFIX + userId;
         String tokenKey = TOKEN_PREFIX + token;
 
-        return reactiveRedisTemplate.opsForValue()
+        return userSessionReactiveRedisTemplate.opsForValue()
                 .set(sessionKey, sessionData, SESSION_TTL)
-                .flatMap(success -> reactiveRedisTemplate.opsForValue().set(tokenKey, userId, TOKEN_TTL))
+                .flatMap(success -> reactiveStringRedisTemplate.opsForValue().set(tokenKey, userId, TOKEN_TTL))
                 .doOnSuccess(success -> log.info("Created reactive session for user: {}", userId))
                 .then();
     }
@@ -65,7 +75,7 @@ public class EnhancedSessionService {
      */
     public Optional<UserSession> getSession(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
-        UserSession session = (UserSession) redisTemplate.opsForValue().get(sessionKey);
+        UserSession session = userSessionRedisTemplate.opsForValue().get(sessionKey);
         return Optional.ofNullable(session);
     }
 
@@ -74,9 +84,8 @@ public class EnhancedSessionService {
      */
     public Mono<UserSession> getSessionReactive(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
-        return reactiveRedisTemplate.opsForValue()
-                .get(sessionKey)
-                .cast(UserSession.class);
+        return userSessionReactiveRedisTemplate.opsForValue()
+                .get(sessionKey);
     }
 
     /**
@@ -90,8 +99,8 @@ public class EnhancedSessionService {
         }
 
         String tokenKey = TOKEN_PREFIX + token;
-        String userId = (String) redisTemplate.opsForValue().get(tokenKey);
-        return Optional.ofNullable(userId);
+        String userId = stringRedisTemplate.opsForValue().get(tokenKey);
+        return Optional.ofNullable(currentFormat(userId));
     }
 
     /**
@@ -105,9 +114,9 @@ public class EnhancedSessionService {
                         return Mono.empty();
                     }
                     String tokenKey = TOKEN_PREFIX + token;
-                    return reactiveRedisTemplate.opsForValue()
+                    return reactiveStringRedisTemplate.opsForValue()
                             .get(tokenKey)
-                            .cast(String.class);
+                            .mapNotNull(EnhancedSessionService::currentFormat);
                 });
     }
 
@@ -118,13 +127,13 @@ public class EnhancedSessionService {
         String sessionKey = SESSION_PREFIX + userId;
 
         // Get current session
-        UserSession session = (UserSession) redisTemplate.opsForValue().get(sessionKey);
+        UserSession session = userSessionRedisTemplate.opsForValue().get(sessionKey);
         if (session != null) {
             // Update last accessed time
             session.setLastAccessedAt(LocalDateTime.now());
 
             // Reset TTL
-            redisTemplate.opsForValue().set(sessionKey, session, SESSION_TTL);
+            userSessionRedisTemplate.opsForValue().set(sessionKey, session, SESSION_TTL);
             log.debug("Refreshed session for user: {}", userId);
         }
     }
@@ -135,12 +144,11 @@ public class EnhancedSessionService {
     public Mono<Void> refreshSessionReactive(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
 
-        return reactiveRedisTemplate.opsForValue()
+        return userSessionReactiveRedisTemplate.opsForValue()
                 .get(sessionKey)
-                .cast(UserSession.class)
                 .flatMap(session -> {
                     session.setLastAccessedAt(LocalDateTime.now());
-                    return reactiveRedisTemplate.opsForValue()
+                    return userSessionReactiveRedisTemplate.opsForValue()
                             .set(sessionKey, session, SESSION_TTL);
                 })
                 .doOnSuccess(success -> log.debug("Refreshed reactive session for user: {}", userId))
@@ -156,11 +164,11 @@ public class EnhancedSessionService {
         String blacklistKey = BLACKLIST_PREFIX + token;
 
         // Delete session and token mapping
-        redisTemplate.delete(sessionKey);
-        redisTemplate.delete(tokenKey);
+        userSessionRedisTemplate.delete(sessionKey);
+        stringRedisTemplate.delete(tokenKey);
 
         // Add token to blacklist
-        redisTemplate.opsForValue().set(blacklistKey, "1", TOKEN_TTL);
+        stringRedisTemplate.opsForValue().set(blacklistKey, "1", TOKEN_TTL);
 
         log.info("Invalidated session for user: {}", userId);
     }
@@ -173,9 +181,9 @@ public class EnhancedSessionService {
         String tokenKey = TOKEN_PREFIX + token;
         String blacklistKey = BLACKLIST_PREFIX + token;
 
-        return reactiveRedisTemplate.delete(sessionKey)
-                .flatMap(count -> reactiveRedisTemplate.delete(tokenKey))
-                .flatMap(count -> reactiveRedisTemplate.opsForValue().set(blacklistKey, "1", TOKEN_TTL))
+        return userSessionReactiveRedisTemplate.delete(sessionKey)
+                .flatMap(count -> reactiveStringRedisTemplate.delete(tokenKey))
+                .flatMap(count -> reactiveStringRedisTemplate.opsForValue().set(blacklistKey, "1", TOKEN_TTL))
                 .doOnSuccess(success -> log.info("Invalidated reactive session for user: {}", userId))
                 .then();
     }
@@ -185,7 +193,7 @@ public class EnhancedSessionService {
      */
     public boolean isTokenBlacklisted(String token) {
         String blacklistKey = BLACKLIST_PREFIX + token;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(blacklistKey));
+        return Boolean.TRUE.equals(stringRedisTemplate.hasKey(blacklistKey));
     }
 
     /**
@@ -193,7 +201,7 @@ public class EnhancedSessionService {
      */
     public Mono<Boolean> isTokenBlacklistedReactive(String token) {
         String blacklistKey = BLACKLIST_PREFIX + token;
-        return reactiveRedisTemplate.hasKey(blacklistKey);
+        return reactiveStringRedisTemplate.hasKey(blacklistKey);
     }
 
     /**
@@ -201,7 +209,7 @@ public class EnhancedSessionService {
      */
     public boolean hasSession(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(sessionKey));
+        return Boolean.TRUE.equals(userSessionRedisTemplate.hasKey(sessionKey));
     }
 
     /**
@@ -209,6 +217,13 @@ public class EnhancedSessionService {
      */
     public Mono<Boolean> hasSessionReactive(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
-        return reactiveRedisTemplate.hasKey(sessionKey);
+        return userSessionReactiveRedisTemplate.hasKey(sessionKey);
+    }
+
+    /**
+     * Token mappings written by the old JSON serializer are quoted; treat them as absent
+     */
+    static String currentFormat(String userId) {
+        return userId == null || userId.startsWith("\"") ? null : userId;
     }
 }
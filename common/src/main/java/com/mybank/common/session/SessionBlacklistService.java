@@ -1,17 +1,22 @@
 package com.mybank.common.session;
 
+import com.mybank.common.security.TokenHash;
+import com.mybank.common.security.TokenHasher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
-import java.util.HexFormat;
+import java.util.Set;
 
 /**
  * Production-Grade Token Blacklist Service
@@ -32,6 +37,19 @@ import java.util.HexFormat;
  * - addToBlacklist(): Called on logout
  * - isBlacklisted(): Called on every request (fast)
  * - Token TTL matches JWT expiration (auto cleanup)
+ *
+ * Revocation events:
+ * - Every change is published on BLACKLIST_CHANNEL so API Gateway nodes
+ *   can keep an in-process revocation set without a Redis round trip per request
+ * - Message format: "+{hash}" (revoked), "-{hash}" (removed), "*" (cleared),
+ *   with the digest in hex
+ *
+ * Keys:
+ * - BLACKLIST_PREFIX + the 32 raw SHA-256 bytes (TokenHasher), half the size
+ *   of the former hex keys; written through the connection as binary keys
+ * - Former hex keys ("{prefix}{64 hex chars}") are still honored while
+ *   mybank.blacklist.read-legacy-keys=true; they expire within TOKEN_TTL of
+ *   the rollout, after which the flag can be turned off
  */
 @Slf4j
 @Service
@@ -41,18 +59,31 @@ public class SessionBlacklistService {
     private final RedisTemplate<String, String> redisTemplate;
     private final ReactiveRedisTemplate<String, String> reactiveStringRedisTemplate;
 
-    private static final String BLACKLIST_PREFIX = "mybank:blacklist:";
-    private static final Duration TOKEN_TTL = Duration.ofHours(24); // Match JWT expiration
+    public static final String BLACKLIST_PREFIX = "mybank:blacklist:";
+    public static final String BLACKLIST_CHANNEL = "mybank:blacklist:events";
+    public static final Duration TOKEN_TTL = Duration.ofHours(24); // Match JWT expiration
+
+    public static final String EVENT_REVOKED = "+";
+    public static final String EVENT_REMOVED = "-";
+    public static final String EVENT_CLEARED = "*";
+
+    private static final byte[] BLACKLIST_PREFIX_BYTES = BLACKLIST_PREFIX.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BLACKLISTED = "1".getBytes(StandardCharsets.UTF_8);
+
+    @Value("${mybank.blacklist.read-legacy-keys:true}")
+    private boolean readLegacyKeys = true;
 
     /**
      * Add token to blacklist (Logout)
      * @param token JWT token to revoke
      */
     public void addToBlacklist(String token) {
-        String tokenHash = hashToken(token);
-        String blacklistKey = BLACKLIST_PREFIX + tokenHash;
+        TokenHash tokenHash = TokenHasher.hash(token);
+        byte[] blacklistKey = blacklistKey(tokenHash);
 
-        redisTemplate.opsForValue().set(blacklistKey, "1", TOKEN_TTL);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(blacklistKey, BLACKLISTED, Expiration.from(TOKEN_TTL), RedisStringCommands.SetOption.upsert()));
+        redisTemplate.convertAndSend(BLACKLIST_CHANNEL, EVENT_REVOKED + tokenHash.toHex());
         log.info("Token added to blacklist: {}", tokenHash);
     }
 
@@ -60,12 +91,14 @@ public class SessionBlacklistService {
      * Add token to blacklist (Reactive)
      */
     public Mono<Void> addToBlacklistReactive(String token) {
-        String tokenHash = hashToken(token);
-        String blacklistKey = BLACKLIST_PREFIX + tokenHash;
+        TokenHash tokenHash = TokenHasher.hash(token);
+        ByteBuffer blacklistKey = ByteBuffer.wrap(blacklistKey(tokenHash));
 
-        return reactiveStringRedisTemplate.opsForValue()
-                .set(blacklistKey, "1", TOKEN_TTL)
-                .doOnSuccess(success -> log.info("Token added to blacklist (reactive): {}", tokenHash))
+        return reactiveStringRedisTemplate.execute(connection -> connection.stringCommands()
+                        .set(blacklistKey, ByteBuffer.wrap(BLACKLISTED), Expiration.from(TOKEN_TTL),
+                                RedisStringCommands.SetOption.upsert()))
+                .then(reactiveStringRedisTemplate.convertAndSend(BLACKLIST_CHANNEL, EVENT_REVOKED + tokenHash.toHex()))
+                .doOnSuccess(receivers -> log.info("Token added to blacklist (reactive): {}", tokenHash))
                 .then();
     }
 
@@ -73,42 +106,71 @@ public class SessionBlacklistService {
      * Check if token is blacklisted (Blocking)
      */
     public boolean isBlacklisted(String token) {
-        String tokenHash = hashToken(token);
-        String blacklistKey = BLACKLIST_PREFIX + tokenHash;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(blacklistKey));
+        TokenHash tokenHash = TokenHasher.hash(token);
+        byte[][] keys = readLegacyKeys
+                ? new byte[][]{blacklistKey(tokenHash), legacyBlacklistKey(tokenHash).getBytes(StandardCharsets.UTF_8)}
+                : new byte[][]{blacklistKey(tokenHash)};
+        Long found = redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().exists(keys));
+        return found != null && found > 0;
     }
 
     /**
      * Check if token is blacklisted (Reactive)
      */
     public Mono<Boolean> isBlacklistedReactive(String token) {
-        String tokenHash = hashToken(token);
-        String blacklistKey = BLACKLIST_PREFIX + tokenHash;
-        return reactiveStringRedisTemplate.hasKey(blacklistKey)
-                .defaultIfEmpty(false);
+        TokenHash tokenHash = TokenHasher.hash(token);
+        ByteBuffer blacklistKey = ByteBuffer.wrap(blacklistKey(tokenHash));
+        return reactiveStringRedisTemplate.execute(connection -> connection.keyCommands().exists(blacklistKey))
+                .next()
+                .defaultIfEmpty(false)
+                .flatMap(found -> found || !readLegacyKeys
+                        ? Mono.just(found)
+                        : reactiveStringRedisTemplate.hasKey(legacyBlacklistKey(tokenHash)).defaultIfEmpty(false));
+    }
+
+    /**
+     * Binary blacklist key: BLACKLIST_PREFIX + 32 digest bytes
+     * (the digest keeps tokens out of Redis, logs and monitoring)
+     */
+    public static byte[] blacklistKey(TokenHash tokenHash) {
+        return tokenHash.toKey(BLACKLIST_PREFIX_BYTES);
     }
 
     /**
-     * Hash token using SHA-256
-     * Prevents token exposure in Redis, logs, monitoring
+     * Former hex blacklist key, still written by nodes running the previous release
      */
-    private String hashToken(String token) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("SHA-256 not available", e);
+    public static String legacyBlacklistKey(TokenHash tokenHash) {
+        return BLACKLIST_PREFIX + tokenHash.toHex();
+    }
+
+    /**
+     * Digest of a blacklist key in either format, or null for any other key under the prefix
+     */
+    public static TokenHash tokenHashOf(byte[] blacklistKey) {
+        int prefixLength = BLACKLIST_PREFIX_BYTES.length;
+        if (blacklistKey.length == prefixLength + TokenHash.LENGTH) {
+            return TokenHash.fromBytes(blacklistKey, prefixLength);
+        }
+        if (blacklistKey.length == prefixLength + 2 * TokenHash.LENGTH) {
+            try {
+                return TokenHash.fromHex(new String(blacklistKey, prefixLength, 2 * TokenHash.LENGTH,
+                        StandardCharsets.US_ASCII));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
         }
+        return null;
     }
 
     /**
      * Remove token from blacklist (for testing)
      */
     public void removeFromBlacklist(String token) {
-        String tokenHash = hashToken(token);
-        String blacklistKey = BLACKLIST_PREFIX + tokenHash;
-        redisTemplate.delete(blacklistKey);
+        TokenHash tokenHash = TokenHasher.hash(token);
+        byte[] blacklistKey = blacklistKey(tokenHash);
+        byte[] legacyKey = legacyBlacklistKey(tokenHash).getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.keyCommands().del(blacklistKey, legacyKey));
+        redisTemplate.convertAndSend(BLACKLIST_CHANNEL, EVENT_REMOVED + tokenHash.toHex());
         log.info("Token removed from blacklist: {}", tokenHash);
     }
 
@@ -116,8 +178,13 @@ public class SessionBlacklistService {
      * Clear all blacklisted tokens (for maintenance)
      */
     public void clearBlacklist() {
-        String pattern = BLACKLIST_PREFIX + "*";
-        redisTemplate.delete(redisTemplate.keys(pattern));
+        byte[] pattern = (BLACKLIST_PREFIX + "*").getBytes(StandardCharsets.UTF_8);
+        // Keys are matched and deleted as raw bytes; binary keys do not survive a String round trip
+        redisTemplate.execute((RedisCallback<Long>) connection -> {
+            Set<byte[]> keys = connection.keyCommands().keys(pattern);
+            return keys == null || keys.isEmpty() ? 0L : connection.keyCommands().del(keys.toArray(new byte[0][]));
+        });
+        redisTemplate.convertAndSend(BLACKLIST_CHANNEL, EVENT_CLEARED);
         log.warn("All blacklisted tokens cleared");
     }
 }
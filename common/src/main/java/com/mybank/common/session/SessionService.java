@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -13,13 +14,15 @@ import java.util.concurrent.TimeUnit;
  * Global Session Management Service
  *
  * Provides centralized session management across all microservices using Redis
+ * Shares keys and value formats with EnhancedSessionService
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SessionService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisTemplate<String, UserSession> userSessionRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
 
     private static final String SESSION_PREFIX = "mybank:session:";
     private static final String TOKEN_PREFIX = "mybank:token:";
@@ -37,10 +40,10 @@ public class SessionService {
         String tokenKey = TOKEN_PREFIX + token;
 
         // Store session data by user ID
-        redisTemplate.opsForValue().set(sessionKey, sessionData, SESSION_TTL, TimeUnit.SECONDS);
+        userSessionRedisTemplate.opsForValue().set(sessionKey, sessionData, SESSION_TTL, TimeUnit.SECONDS);
 
         // Store token mapping for quick validation
-        redisTemplate.opsForValue().set(tokenKey, userId, SESSION_TTL, TimeUnit.SECONDS);
+        stringRedisTemplate.opsForValue().set(tokenKey, userId, SESSION_TTL, TimeUnit.SECONDS);
 
         log.info("Created session for user: {}", userId);
     }
@@ -53,7 +56,7 @@ public class SessionService {
      */
     public Optional<UserSession> getSession(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
-        UserSession session = (UserSession) redisTemplate.opsForValue().get(sessionKey);
+        UserSession session = userSessionRedisTemplate.opsForValue().get(sessionKey);
         return Optional.ofNullable(session);
     }
 
@@ -65,8 +68,8 @@ public class SessionService {
      */
     public Optional<String> validateToken(String token) {
         String tokenKey = TOKEN_PREFIX + token;
-        String userId = (String) redisTemplate.opsForValue().get(tokenKey);
-        return Optional.ofNullable(userId);
+        String userId = stringRedisTemplate.opsForValue().get(tokenKey);
+        return Optional.ofNullable(EnhancedSessionService.currentFormat(userId));
     }
 
     /**
@@ -76,7 +79,7 @@ public class SessionService {
      */
     public void refreshSession(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
-        redisTemplate.expire(sessionKey, SESSION_TTL, TimeUnit.SECONDS);
+        userSessionRedisTemplate.expire(sessionKey, SESSION_TTL, TimeUnit.SECONDS);
         log.debug("Refreshed session for user: {}", userId);
     }
 
@@ -90,8 +93,8 @@ public class SessionService {
         String sessionKey = SESSION_PREFIX + userId;
         String tokenKey = TOKEN_PREFIX + token;
 
-        redisTemplate.delete(sessionKey);
-        redisTemplate.delete(tokenKey);
+        userSessionRedisTemplate.delete(sessionKey);
+        stringRedisTemplate.delete(tokenKey);
 
         log.info("Invalidated session for user: {}", userId);
     }
@@ -104,6 +107,6 @@ public class SessionService {
      */
     public boolean hasSession(String userId) {
         String sessionKey = SESSION_PREFIX + userId;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(sessionKey));
+        return Boolean.TRUE.equals(userSessionRedisTemplate.hasKey(sessionKey));
     }
 }
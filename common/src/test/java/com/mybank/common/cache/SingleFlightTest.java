@@ -0,0 +1,162 @@
+package com.mybank.common.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should run one loader for concurrent callers of the same key")
+    void shouldCoalesceConcurrentCallers() throws Exception {
+        // Given: the leader's load blocks until every follower has joined
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> flight.execute("user-1", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "summary";
+                })));
+            }
+            awaitCoalesced(flight, callers - 1);
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(flight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand the leader's exception to followers and release the key")
+    void shouldShareFailureAndReleaseKey() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> followerError = new AtomicReference<>();
+        Thread leader = new Thread(() -> {
+            try {
+                flight.execute("user-1", () -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    throw new IllegalStateException("db down");
+                });
+            } catch (Exception ignored) {
+                // Asserted through the follower
+            }
+        });
+        Thread follower = new Thread(() -> {
+            try {
+                flight.execute("user-1", () -> "unused");
+            } catch (Exception e) {
+                followerError.set(e);
+            }
+        });
+
+        // When
+        leader.start();
+        awaitInFlight(flight);
+        follower.start();
+        awaitCoalesced(flight, 1);
+        release.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        // Then: the follower saw the leader's failure, and the next call loads again
+        assertThat(followerError.get()).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+        assertThat(flight.execute("user-1", () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    @DisplayName("Should not start a background load while one is in flight")
+    void shouldSkipAsyncLoadWhileInFlight() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>();
+        List<Runnable> queued = new ArrayList<>();
+
+        // When
+        boolean first = flight.executeAsync("user-1", () -> "v1", queued::add, error -> { });
+        boolean second = flight.executeAsync("user-1", () -> "v2", queued::add, error -> { });
+        queued.forEach(Runnable::run);
+        boolean afterCompletion = flight.executeAsync("user-1", () -> "v3", Runnable::run, error -> { });
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(afterCompletion).isTrue();
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release the key when the executor rejects a background load")
+    void shouldReleaseKeyOnRejection() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        // When
+        boolean started = flight.executeAsync("user-1", () -> "v1",
+                task -> {
+                    throw new RejectedExecutionException("saturated");
+                },
+                error -> { });
+
+        // Then
+        assertThat(started).isFalse();
+        assertThat(flight.inFlightCount()).isZero();
+        assertThat(flight.execute("user-1", () -> "v2")).isEqualTo("v2");
+    }
+
+    @Test
+    @DisplayName("Should propagate a loader failure to the caller")
+    void shouldPropagateLoaderFailure() {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>();
+
+        // When/Then
+        assertThatThrownBy(() -> flight.execute("user-1", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    private static void awaitCoalesced(SingleFlight<?, ?> flight, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(flight.coalescedCount()).isEqualTo(expected);
+    }
+
+    private static void awaitInFlight(SingleFlight<?, ?> flight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.inFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.mybank.common.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCacheManager Tests")
+class TwoLevelCacheManagerTest {
+
+    private static final String CACHE = "assets";
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private ConcurrentMapCache l2;
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        l2 = new ConcurrentMapCache(CACHE);
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                new SimpleMeterRegistry(), 100, Duration.ofSeconds(30), 0);
+    }
+
+    @Test
+    @DisplayName("Should write through to L2 and broadcast an eviction for the key")
+    void shouldBroadcastEvictionOnPut() {
+        // Given
+        Cache cache = givenCache();
+
+        // When
+        cache.put("user-1", "summary");
+
+        // Then
+        assertThat(l2.get("user-1").get()).isEqualTo("summary");
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL), message.capture());
+        assertThat(message.getValue()).endsWith("|E|" + CACHE + "|user-1");
+    }
+
+    @Test
+    @DisplayName("Should drop the L1 entry when another node evicts the key")
+    void shouldEvictL1OnRemoteEviction() {
+        // Given: cached on this node, then changed in L2 by another node
+        Cache cache = givenCache();
+        cache.put("user-1", "stale");
+        l2.put("user-1", "fresh");
+
+        // When
+        cacheManager.onMessage(message("other-node|E|" + CACHE + "|user-1"), null);
+
+        // Then: the next read goes to L2
+        assertThat(cache.get("user-1", String.class)).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("Should drop all L1 entries when another node clears the cache")
+    void shouldClearL1OnRemoteClear() {
+        // Given
+        Cache cache = givenCache();
+        cache.put("user-1", "stale-1");
+        cache.put("user-2", "stale-2");
+        l2.clear();
+
+        // When
+        cacheManager.onMessage(message("other-node|C|" + CACHE + "|"), null);
+
+        // Then
+        assertThat(cache.get("user-1")).isNull();
+        assertThat(cache.get("user-2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should ignore its own invalidation messages")
+    void shouldIgnoreOwnMessages() {
+        // Given
+        Cache cache = givenCache();
+        cache.put("user-1", "summary");
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(stringRedisTemplate).convertAndSend(eq(TwoLevelCacheManager.INVALIDATION_CHANNEL), published.capture());
+        l2.evict("user-1");
+
+        // When
+        cacheManager.onMessage(message(published.getValue()), null);
+
+        // Then: L1 still serves the entry
+        assertThat(cache.get("user-1", String.class)).isEqualTo("summary");
+    }
+
+    @Test
+    @DisplayName("Should keep serving when the invalidation cannot be published")
+    void shouldTolerateInvalidationPublishFailure() {
+        // Given
+        Cache cache = givenCache();
+        doThrow(new IllegalStateException("redis down"))
+                .when(stringRedisTemplate).convertAndSend(anyString(), anyString());
+
+        // When
+        cache.put("user-1", "summary");
+
+        // Then
+        assertThat(cache.get("user-1", String.class)).isEqualTo("summary");
+    }
+
+    @Test
+    @DisplayName("Should fail for a cache without a Redis configuration")
+    void shouldRejectUnknownCache() {
+        // Given
+        when(redisCacheManager.getCache("unknown")).thenReturn(null);
+
+        // When/Then
+        assertThatThrownBy(() -> cacheManager.getCache("unknown"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("unknown");
+    }
+
+    private Cache givenCache() {
+        when(redisCacheManager.getCache(CACHE)).thenReturn(l2);
+        return cacheManager.getCache(CACHE);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
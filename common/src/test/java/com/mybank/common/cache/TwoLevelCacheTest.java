@@ -0,0 +1,157 @@
+package com.mybank.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCache Tests")
+class TwoLevelCacheTest {
+
+    private static final String CACHE = "assets";
+
+    @Mock
+    private RedisCacheManager redisCacheManager;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCache l2;
+    private TwoLevelCacheManager.InvalidationPublisher invalidationPublisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        l2 = new ConcurrentMapCache(CACHE);
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                meterRegistry, 100, Duration.ofSeconds(30), 1.0);
+        invalidationPublisher = manager.new InvalidationPublisher();
+    }
+
+    @Test
+    @DisplayName("Should run one load for concurrent misses of the same key")
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        // Given: the load blocks until every caller has queued behind it
+        TwoLevelCache cache = cache(Duration.ZERO, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("user-1", () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "summary";
+                })));
+            }
+            awaitCoalesced(callers - 1);
+            release.countDown();
+
+            // Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+            }
+            assertThat(loads).hasValue(1);
+            assertThat(l2.get("user-1").get()).isEqualTo("summary");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve an L2 hit without loading and promote it into L1")
+    void shouldPromoteL2Hit() {
+        // Given
+        TwoLevelCache cache = cache(Duration.ZERO, 0);
+        l2.put("user-1", "from-redis");
+
+        // When
+        String value = cache.get("user-1", () -> "loaded");
+        l2.evict("user-1");
+
+        // Then: the second read is served by L1
+        assertThat(value).isEqualTo("from-redis");
+        assertThat(cache.get("user-1", String.class)).isEqualTo("from-redis");
+    }
+
+    @Test
+    @DisplayName("Should refresh a hot entry early when XFetch fires")
+    void shouldRefreshEarly() {
+        // Given: a huge beta makes every hit fall inside the refresh window
+        TwoLevelCache cache = cache(Duration.ofMinutes(30), 1_000_000_000);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("user-1", () -> slowLoad(loads));
+
+        // When
+        cache.get("user-1", () -> slowLoad(loads));
+
+        // Then: the background reload ran (inline executor) and replaced the entry
+        assertThat(loads).hasValue(2);
+        assertThat(cache.get("user-1", String.class)).isEqualTo("summary-2");
+        assertThat(meterRegistry.get("cache.early.refreshes").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should never refresh early when beta is 0")
+    void shouldNotRefreshEarlyWhenDisabled() {
+        // Given
+        TwoLevelCache cache = cache(Duration.ofMinutes(30), 0);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("user-1", () -> slowLoad(loads));
+
+        // When
+        cache.get("user-1", () -> slowLoad(loads));
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.early.refreshes").counter().count()).isZero();
+    }
+
+    private TwoLevelCache cache(Duration l2Ttl, double beta) {
+        return new TwoLevelCache(CACHE, Caffeine.newBuilder().build(), l2, l2Ttl, beta,
+                Runnable::run, invalidationPublisher, meterRegistry);
+    }
+
+    private static String slowLoad(AtomicInteger loads) throws InterruptedException {
+        // A measurable compute time is what XFetch scales
+        Thread.sleep(5);
+        return "summary-" + loads.incrementAndGet();
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(coalesced()).isEqualTo(expected);
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("cache.loads.coalesced").functionCounter().count();
+    }
+}
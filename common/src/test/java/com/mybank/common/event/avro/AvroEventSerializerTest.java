@@ -0,0 +1,136 @@
+package com.mybank.common.event.avro;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.common.event.TransactionEvent;
+import io.confluent.kafka.schemaregistry.testutil.MockSchemaRegistry;
+import io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Avro event serialization Tests")
+class AvroEventSerializerTest {
+
+    private static final String REGISTRY_SCOPE = "avro-event-serializer-test";
+    private static final String TOPIC = "payment-completed";
+
+    private AvroEventSerializer serializer;
+    private AvroEventDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> configs = Map.of(
+                AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, "mock://" + REGISTRY_SCOPE,
+                JsonDeserializer.TRUSTED_PACKAGES, "com.mybank.*");
+        serializer = new AvroEventSerializer();
+        serializer.configure(configs, false);
+        deserializer = new AvroEventDeserializer();
+        deserializer.configure(configs, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serializer.close();
+        deserializer.close();
+        MockSchemaRegistry.dropScope(REGISTRY_SCOPE);
+    }
+
+    @Test
+    @DisplayName("Payment completed event round-trips as a domain event")
+    void paymentCompletedEvent_RoundTrip() {
+        // Given
+        PaymentCompletedEvent event = paymentCompletedEvent(new BigDecimal("12345.5"));
+
+        // When
+        byte[] bytes = serializer.serialize(TOPIC, event);
+        Object result = deserializer.deserialize(TOPIC, new RecordHeaders(), bytes);
+
+        // Then
+        assertThat(bytes[0]).isZero();
+        assertThat(result).isInstanceOf(PaymentCompletedEvent.class);
+        PaymentCompletedEvent decoded = (PaymentCompletedEvent) result;
+        assertThat(decoded.getEventId()).isEqualTo("event123");
+        assertThat(decoded.getTimestamp()).isEqualTo(event.getTimestamp());
+        assertThat(decoded.getPaymentId()).isEqualTo("payment123");
+        assertThat(decoded.getAmount()).isEqualByComparingTo("12345.5");
+        assertThat(decoded.getCurrency()).isEqualTo("KRW");
+        assertThat(decoded.getMerchantName()).isNull();
+    }
+
+    @Test
+    @DisplayName("Avro payload is smaller than the JSON payload")
+    void paymentCompletedEvent_SmallerThanJson() {
+        // Given
+        PaymentCompletedEvent event = paymentCompletedEvent(new BigDecimal("10000"));
+
+        // When
+        byte[] avro = serializer.serialize(TOPIC, event);
+        byte[] json;
+        try (JsonSerializer<Object> jsonSerializer = new JsonSerializer<>()) {
+            json = jsonSerializer.serialize(TOPIC, event);
+        }
+
+        // Then
+        assertThat(avro.length).isLessThan(json.length);
+    }
+
+    @Test
+    @DisplayName("JSON records are still read after switching to Avro")
+    void jsonRecord_FallsBackToJson() {
+        // Given
+        TransactionEvent event = TransactionEvent.builder()
+                .eventType("TRANSACTION")
+                .transactionId("payment123")
+                .accountId("account123")
+                .amount(new BigDecimal("5000"))
+                .transactionType("DEBIT")
+                .status("COMPLETED")
+                .build();
+        RecordHeaders headers = new RecordHeaders();
+        byte[] json;
+        try (JsonSerializer<Object> jsonSerializer = new JsonSerializer<>()) {
+            json = jsonSerializer.serialize("transactions", headers, event);
+        }
+
+        // When
+        Object result = deserializer.deserialize("transactions", headers, json);
+
+        // Then
+        assertThat(result).isInstanceOf(TransactionEvent.class);
+        assertThat(((TransactionEvent) result).getTransactionId()).isEqualTo("payment123");
+    }
+
+    @Test
+    @DisplayName("Amount beyond scale 4 is rejected instead of rounded")
+    void amountBeyondScale_Rejected() {
+        PaymentCompletedEvent event = paymentCompletedEvent(new BigDecimal("1.00001"));
+
+        assertThatThrownBy(() -> serializer.serialize(TOPIC, event))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static PaymentCompletedEvent paymentCompletedEvent(BigDecimal amount) {
+        return PaymentCompletedEvent.builder()
+                .eventId("event123")
+                .eventType("PAYMENT_COMPLETED")
+                .timestamp(LocalDateTime.of(2025, 11, 3, 12, 34, 56))
+                .userId("user123")
+                .paymentId("payment123")
+                .accountId("account123")
+                .amount(amount)
+                .currency("KRW")
+                .build();
+    }
+}
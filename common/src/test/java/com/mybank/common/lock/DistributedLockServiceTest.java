@@ -0,0 +1,150 @@
+package com.mybank.common.lock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DistributedLockService Tests")
+class DistributedLockServiceTest {
+
+    private static final String KEY = "lock:{payment-transfer:user-123:account-123}";
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DistributedLockService lockService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockService = new DistributedLockService(redisTemplate, meterRegistry);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lockService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should acquire a free lock with a random owner token and the lease")
+    void shouldAcquireFreeLock() {
+        // Given
+        when(valueOperations.setIfAbsent(eq(KEY), anyString(), eq(LEASE))).thenReturn(true);
+
+        // When
+        Optional<DistributedLock> lock = lockService.tryAcquire("payment-transfer", "user-123:account-123",
+                LEASE, Duration.ZERO);
+
+        // Then
+        assertThat(lock).isPresent();
+        assertThat(lock.get().isHeld()).isTrue();
+        assertThat(lock.get().getKey()).isEqualTo(KEY);
+        verify(valueOperations).setIfAbsent(KEY, lock.get().getOwnerToken(), LEASE);
+    }
+
+    @Test
+    @DisplayName("Should give up on a held lock after maxWait")
+    void shouldTimeOutOnHeldLock() {
+        // Given
+        when(valueOperations.setIfAbsent(eq(KEY), anyString(), eq(LEASE))).thenReturn(false);
+
+        // When
+        Optional<DistributedLock> lock = lockService.tryAcquire("payment-transfer", "user-123:account-123",
+                LEASE, Duration.ofMillis(50));
+
+        // Then
+        assertThat(lock).isEmpty();
+        verify(valueOperations, atLeast(2)).setIfAbsent(eq(KEY), anyString(), eq(LEASE));
+        assertThat(meterRegistry.get("lock.wait").tag("result", "timeout").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release with a compare-and-delete on the owner token, once")
+    void shouldReleaseWithOwnerToken() {
+        // Given
+        DistributedLock lock = acquire(LEASE);
+        when(redisTemplate.execute(argThat(script("DEL")), eq(List.of(KEY)), eq(lock.getOwnerToken())))
+                .thenReturn(1L);
+
+        // When
+        lock.close();
+        lock.close();
+
+        // Then
+        assertThat(lock.isHeld()).isFalse();
+        verify(redisTemplate, times(1)).execute(argThat(script("DEL")), eq(List.of(KEY)), eq(lock.getOwnerToken()));
+    }
+
+    @Test
+    @DisplayName("Should renew the lease with a compare-and-pexpire while held")
+    void shouldRenewLease() {
+        // Given: lease 30 ms, renewed every 10 ms
+        Duration lease = Duration.ofMillis(30);
+        when(redisTemplate.execute(argThat(script("PEXPIRE")), eq(List.of(KEY)), anyString(), eq("30")))
+                .thenReturn(1L);
+
+        // When
+        DistributedLock lock = acquire(lease);
+
+        // Then
+        verify(redisTemplate, timeout(1000).atLeast(2))
+                .execute(argThat(script("PEXPIRE")), eq(List.of(KEY)), eq(lock.getOwnerToken()), eq("30"));
+        assertThat(lock.isHeld()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should mark the lock lost when a renewal finds another owner")
+    void shouldMarkLockLost() throws Exception {
+        // Given: the key now holds another owner's token, so the compare-and-pexpire fails
+        Duration lease = Duration.ofMillis(30);
+        when(redisTemplate.execute(argThat(script("PEXPIRE")), eq(List.of(KEY)), anyString(), eq("30")))
+                .thenReturn(0L);
+
+        // When
+        DistributedLock lock = acquire(lease);
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (lock.isHeld() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // Then: lost, counted, and close() no longer touches the other owner's key
+        assertThat(lock.isHeld()).isFalse();
+        assertThat(meterRegistry.get("lock.lost").tag("name", "payment-transfer").counter().count()).isEqualTo(1);
+        lock.close();
+        verify(redisTemplate, never()).execute(argThat(script("DEL")), anyList(), any());
+    }
+
+    private DistributedLock acquire(Duration lease) {
+        when(valueOperations.setIfAbsent(eq(KEY), anyString(), eq(lease))).thenReturn(true);
+        return lockService.tryAcquire("payment-transfer", "user-123:account-123", lease, Duration.ZERO)
+                .orElseThrow();
+    }
+
+    private static ArgumentMatcher<RedisScript<Long>> script(String command) {
+        return script -> script != null && script.getScriptAsString().contains("'" + command + "'");
+    }
+}
@@ -0,0 +1,106 @@
+package com.mybank.common.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtUtil Tests")
+class JwtUtilTest {
+
+    private static final String OLD_SECRET = "old-secret-key-for-jwt-token-generation-minimum-256-bits";
+    private static final String NEW_SECRET = "new-secret-key-for-jwt-token-generation-minimum-256-bits";
+
+    @Test
+    @DisplayName("Should parse a generated token once into verified claims")
+    void shouldParseGeneratedToken() {
+        // Given
+        JwtUtil jwtUtil = new JwtUtil(NEW_SECRET, 60_000, "k2", "");
+        String token = jwtUtil.generateToken("user-123", Map.of("email", "test@mybank.com"));
+
+        // When
+        JwtParseResult result = jwtUtil.parse(token);
+
+        // Then
+        assertThat(result.isValid()).isTrue();
+        assertThat(result.userId()).isEqualTo("user-123");
+        assertThat(result.claims().get("email", String.class)).isEqualTo("test@mybank.com");
+    }
+
+    @Test
+    @DisplayName("Should verify tokens signed with a rotated-out key")
+    void shouldVerifyTokenFromPreviousKey() {
+        // Given
+        String oldToken = new JwtUtil(OLD_SECRET, 60_000, "k1", "").generateToken("user-123");
+        JwtUtil rotated = new JwtUtil(NEW_SECRET, 60_000, "k2", "k1=" + OLD_SECRET);
+
+        // When/Then
+        assertThat(rotated.parse(oldToken).isValid()).isTrue();
+        assertThat(new JwtUtil(NEW_SECRET, 60_000, "k2", "").parse(oldToken).failure())
+                .isEqualTo(JwtParseResult.Failure.UNKNOWN_KEY);
+    }
+
+    @Test
+    @DisplayName("Should verify legacy tokens without kid against the active key")
+    void shouldVerifyLegacyTokenWithoutKid() {
+        // Given
+        String legacyToken = Jwts.builder()
+                .subject("user-123")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(NEW_SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        // When/Then
+        assertThat(new JwtUtil(NEW_SECRET, 60_000, "k2", "").parse(legacyToken).userId()).isEqualTo("user-123");
+    }
+
+    @Test
+    @DisplayName("Should report typed failures")
+    void shouldReportTypedFailures() {
+        JwtUtil jwtUtil = new JwtUtil(NEW_SECRET, -1_000, "k2", "");
+        String expired = jwtUtil.generateToken("user-123");
+        String forged = new JwtUtil(OLD_SECRET, 60_000, "k2", "").generateToken("user-123");
+
+        assertThat(jwtUtil.parse(expired).failure()).isEqualTo(JwtParseResult.Failure.EXPIRED);
+        assertThat(jwtUtil.parse(forged).failure()).isEqualTo(JwtParseResult.Failure.INVALID_SIGNATURE);
+        assertThat(jwtUtil.parse("not-a-jwt").failure()).isEqualTo(JwtParseResult.Failure.MALFORMED);
+        assertThat(jwtUtil.parse(" ").failure()).isEqualTo(JwtParseResult.Failure.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should verify ES256 tokens with only the public key from a key source")
+    void shouldVerifyEs256WithPublicKeyOnly() {
+        // Given
+        KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+        JwtUtil signer = new JwtUtil(keyPair, 60_000, "es-1", null);
+        JwtUtil verifier = new JwtUtil(null, 60_000, "es-1",
+                kid -> "es-1".equals(kid) ? keyPair.getPublic() : null);
+        String token = signer.generateToken("user-123");
+
+        // When/Then
+        assertThat(verifier.parse(token).userId()).isEqualTo("user-123");
+        assertThat(verifier.parse(new JwtUtil(NEW_SECRET, 60_000, "es-1", "").generateToken("user-123")).isValid())
+                .isFalse();
+        assertThatThrownBy(() -> verifier.generateToken("user-123"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should publish ES256 public keys and no HS256 secrets")
+    void shouldPublishOnlyPublicKeys() {
+        JwtUtil es256 = new JwtUtil(Jwts.SIG.ES256.keyPair().build(), 60_000, "es-1", null);
+        JwtUtil hs256 = new JwtUtil(NEW_SECRET, 60_000, "k2", "");
+
+        assertThat((List<?>) es256.publicJwks().get("keys")).hasSize(1);
+        assertThat((List<?>) hs256.publicJwks().get("keys")).isEmpty();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mybank.investment.config;
+
+import com.mybank.common.cache.RedisCacheType;
+import com.mybank.investment.dto.InvestmentSummaryResponse;
+import com.mybank.investment.model.RoundUpTarget;
+import com.mybank.investment.service.InvestmentService;
+import com.mybank.investment.service.RoundUpTargetLookup;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache value types for Investment Service (typed Smile values in Redis)
+ */
+@Configuration
+public class InvestmentCacheConfig {
+
+    @Bean
+    public RedisCacheType investmentSummaryCacheType() {
+        return new RedisCacheType(InvestmentService.INVESTMENT_SUMMARY_CACHE,
+                InvestmentSummaryResponse.class, Duration.ofSeconds(60));
+    }
+
+    @Bean
+    public RedisCacheType roundUpTargetsCacheType() {
+        return new RedisCacheType(RoundUpTargetLookup.ROUND_UP_TARGETS_CACHE,
+                RoundUpTarget[].class, Duration.ofMinutes(10));
+    }
+}
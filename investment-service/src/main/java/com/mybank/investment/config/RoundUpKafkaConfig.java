@@ -0,0 +1,99 @@
+package com.mybank.investment.config;
+
+import com.mybank.investment.consumer.PaymentCompletedEventConsumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka listener factories for round-up processing
+ *
+ * - roundUpBatchKafkaListenerContainerFactory (payment-completed): a failed
+ *   batch is retried in place a few times (transient errors), then each of its
+ *   records is forwarded to payment-completed-retry and the offsets committed,
+ *   so one bad event cannot stall the partition; a BatchListenerFailedException
+ *   (undecodable record) forwards only that record, with its original bytes
+ *   (deadLetterKafkaTemplate passes byte[] values through unchanged)
+ * - roundUpRetryKafkaListenerContainerFactory (payment-completed-retry and the
+ *   @RetryableTopic chain behind it, including its DLT): one record per call,
+ *   committed per record; values arrive as raw bytes and are decoded by the
+ *   listener with roundUpEventDeserializer, so an undecodable record still
+ *   reaches the DLT handler and can be stored as is
+ *
+ * Both reuse the settings of the common batchConsumerFactory.
+ */
+@Configuration
+public class RoundUpKafkaConfig {
+
+    @Value("${investment.roundup.batch.retries:3}")
+    private int batchRetries;
+
+    @Value("${mybank.kafka.consumer.batch.concurrency:3}")
+    private int concurrency;
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> roundUpBatchKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> batchConsumerFactory,
+            @Qualifier("deadLetterKafkaTemplate") KafkaTemplate<String, Object> deadLetterKafkaTemplate) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory);
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(batchRetries);
+        backOff.setInitialInterval(500L);
+        backOff.setMultiplier(2.0);
+        DeadLetterPublishingRecoverer forwardToRetry = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate,
+                (record, exception) -> new TopicPartition(PaymentCompletedEventConsumer.PAYMENT_COMPLETED_RETRY_TOPIC, -1));
+        factory.setCommonErrorHandler(new DefaultErrorHandler(forwardToRetry, backOff));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> roundUpRetryKafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> batchConsumerFactory) {
+        Map<String, Object> configProps = new HashMap<>(batchConsumerFactory.getConfigurationProperties());
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(configProps));
+        factory.setConcurrency(1);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
+        return factory;
+    }
+
+    /**
+     * Wire-format value deserializer of the batch consumer, for the raw records
+     * of the retry chain
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public Deserializer<Object> roundUpEventDeserializer(ConsumerFactory<String, Object> batchConsumerFactory) {
+        Map<String, Object> configProps = batchConsumerFactory.getConfigurationProperties();
+        Deserializer<Object> deserializer = BeanUtils.instantiateClass(
+                (Class<? extends Deserializer<Object>>) configProps.get(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS));
+        deserializer.configure(configProps, false);
+        return deserializer;
+    }
+}
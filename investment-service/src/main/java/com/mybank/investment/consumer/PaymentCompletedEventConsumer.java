@@ -4,43 +4,66 @@ import com.mybank.common.event.PaymentCompletedEvent;
 import com.mybank.investment.service.RoundUpService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Kafka consumer for payment completed events
+ * Kafka batch consumer for payment completed events
  * Implements EDA pattern for automatic round-up investing
+ *
+ * Offsets are committed once per batch, after the bulk writes succeed.
+ * On failure the exception propagates: the container retries the batch a few
+ * times, then forwards its records to PAYMENT_COMPLETED_RETRY_TOPIC (see
+ * RoundUpKafkaConfig, RoundUpRetryConsumer). Round-ups are idempotent on paymentId.
+ *
+ * A record that is not a PaymentCompletedEvent (e.g. the ErrorHandlingDeserializer
+ * could not decode it, so its value is null) fails the batch at that record: the
+ * events before it are applied, then the error handler commits them, forwards the
+ * record with its original bytes and redelivers the rest of the batch.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentCompletedEventConsumer {
 
+    public static final String PAYMENT_COMPLETED_TOPIC = "payment-completed";
+    public static final String PAYMENT_COMPLETED_RETRY_TOPIC = "payment-completed-retry";
+
     private final RoundUpService roundUpService;
 
     @KafkaListener(
-            topics = "payment-completed",
+            topics = PAYMENT_COMPLETED_TOPIC,
             groupId = "investment-service",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "roundUpBatchKafkaListenerContainerFactory"
     )
-    public void consumePaymentCompletedEvent(
-            @Payload PaymentCompletedEvent event,
+    public void consumePaymentCompletedEvents(
+            List<ConsumerRecord<String, Object>> records,
             Acknowledgment acknowledgment) {
 
-        try {
-            log.info("Received payment completed event: {}", event.getEventId());
-
-            // Process round-up investment
-            roundUpService.processRoundUp(event);
+        List<PaymentCompletedEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, Object> record : records) {
+            if (record.value() instanceof PaymentCompletedEvent event) {
+                events.add(event);
+            } else {
+                // Undeserializable or foreign payload: apply the preceding events, then
+                // hand this record to the error handler instead of dropping it
+                roundUpService.processRoundUps(events);
+                String message = String.format("Undeserializable payment-completed record at %s-%d@%d",
+                        record.topic(), record.partition(), record.offset());
+                log.warn(message);
+                throw new BatchListenerFailedException(message, record);
+            }
+        }
 
-            // Acknowledge message
-            acknowledgment.acknowledge();
+        int recorded = roundUpService.processRoundUps(events);
+        acknowledgment.acknowledge();
 
-        } catch (Exception e) {
-            log.error("Error processing payment completed event: {}", event.getEventId(), e);
-            // Don't acknowledge - message will be reprocessed
-        }
+        log.debug("Processed {} payment completed events ({} round-ups)", records.size(), recorded);
     }
 }
@@ -0,0 +1,106 @@
+package com.mybank.investment.consumer;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.investment.service.RoundUpDeadLetterService;
+import com.mybank.investment.service.RoundUpService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Non-blocking retry of payment completed events that failed in batch processing
+ *
+ * payment-completed-retry -> payment-completed-retry-retry-0..n (exponential
+ * delay, each topic consumed independently) -> payment-completed-retry-dlt
+ *
+ * A record waiting for its next attempt does not hold back the main topic.
+ * Records arrive as raw bytes and are decoded here: an undecodable record fails
+ * with a DeserializationException (fatal, straight to the DLT), and the DLT
+ * handler stores it with its original bytes instead of failing again.
+ * Records that exhaust their attempts are stored for inspection and replay
+ * (RoundUpDeadLetterService).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoundUpRetryConsumer {
+
+    private final RoundUpService roundUpService;
+    private final RoundUpDeadLetterService roundUpDeadLetterService;
+    private final Deserializer<Object> roundUpEventDeserializer;
+
+    @RetryableTopic(
+            attempts = "${investment.roundup.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${investment.roundup.retry.initial-delay-ms:2000}",
+                    multiplierExpression = "${investment.roundup.retry.multiplier:3.0}",
+                    maxDelayExpression = "${investment.roundup.retry.max-delay-ms:60000}"),
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            dltTopicSuffix = "-dlt",
+            kafkaTemplate = "deadLetterKafkaTemplate",
+            listenerContainerFactory = "roundUpRetryKafkaListenerContainerFactory"
+    )
+    @KafkaListener(
+            topics = PaymentCompletedEventConsumer.PAYMENT_COMPLETED_RETRY_TOPIC,
+            groupId = "investment-service",
+            containerFactory = "roundUpRetryKafkaListenerContainerFactory"
+    )
+    public void retryPaymentCompletedEvent(ConsumerRecord<String, byte[]> record) {
+        PaymentCompletedEvent event = decode(record);
+        log.info("Retrying round-up for payment: {}", event.getPaymentId());
+        roundUpService.processRoundUp(event);
+    }
+
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, byte[]> record) {
+        String exceptionClass = lastHeader(record, KafkaHeaders.DLT_EXCEPTION_FQCN);
+        String exceptionMessage = lastHeader(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+
+        PaymentCompletedEvent event;
+        try {
+            event = decode(record);
+        } catch (DeserializationException e) {
+            log.error("Undecodable round-up record {}-{}@{} exhausted its retries: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            roundUpDeadLetterService.recordUndecodable(record, exceptionClass, exceptionMessage);
+            return;
+        }
+        log.error("Round-up for payment {} exhausted its retries: {}", event.getPaymentId(), exceptionMessage);
+        roundUpDeadLetterService.record(event, exceptionClass, exceptionMessage);
+    }
+
+    private PaymentCompletedEvent decode(ConsumerRecord<String, byte[]> record) {
+        Object value;
+        try {
+            // Copy: the JSON deserializer consumes its type headers
+            value = roundUpEventDeserializer.deserialize(record.topic(),
+                    new RecordHeaders(record.headers().toArray()), record.value());
+        } catch (RuntimeException e) {
+            throw new DeserializationException("Could not decode payment-completed record: " + e.getMessage(),
+                    record.value(), false, e);
+        }
+        if (value instanceof PaymentCompletedEvent event) {
+            return event;
+        }
+        throw new DeserializationException("Not a payment completed event: "
+                + (value != null ? value.getClass().getName() : "null"), record.value(), false, null);
+    }
+
+    private static String lastHeader(ConsumerRecord<?, ?> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+}
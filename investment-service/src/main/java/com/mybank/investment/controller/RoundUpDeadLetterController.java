@@ -0,0 +1,52 @@
+package com.mybank.investment.controller;
+
+import com.mybank.common.dto.ApiResponse;
+import com.mybank.investment.model.RoundUpDeadLetter;
+import com.mybank.investment.service.RoundUpDeadLetterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Operations endpoints for round-up dead letters (inspect and replay)
+ * Admin only: dead letters hold other users' payment details
+ * A dead letter is addressed by payment ID, or by "dlt:<topic>-<partition>@<offset>"
+ * for a record that could not be decoded.
+ */
+@Slf4j
+@RestController
+@PreAuthorize("hasRole('ADMIN')")
+@RequestMapping("/api/invest/roundup/dead-letters")
+@RequiredArgsConstructor
+public class RoundUpDeadLetterController {
+
+    private final RoundUpDeadLetterService roundUpDeadLetterService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<RoundUpDeadLetter>>> getPending(
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(roundUpDeadLetterService.findPending(limit)));
+    }
+
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<ApiResponse<String>> replay(@PathVariable String id) throws Exception {
+        log.info("Replay dead-lettered round-up: {}", id);
+        if (!roundUpDeadLetterService.replay(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Dead letter not found", "DEAD_LETTER_NOT_FOUND"));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Round-up event replayed"));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<ApiResponse<Integer>> replayPending(
+            @RequestParam(defaultValue = "100") int limit) throws Exception {
+        log.info("Replay up to {} pending dead-lettered round-ups", limit);
+        return ResponseEntity.ok(ApiResponse.success(roundUpDeadLetterService.replayPending(limit)));
+    }
+}
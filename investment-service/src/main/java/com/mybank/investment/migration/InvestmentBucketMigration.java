@@ -0,0 +1,142 @@
+package com.mybank.investment.migration;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.repository.InvestmentBucketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * One-off migration to the bucketed investment layout
+ *
+ * For every account still in the old layout:
+ * - move embedded investments into their monthly InvestmentBucket
+ *   (InvestmentBucketRepository.append skips ones already moved)
+ * - $unset the embedded list
+ * - rewrite string-encoded balance / totalRoundedUp as Decimal128 so $inc works
+ *
+ * Idempotent and safe to run on several nodes at once: a stopped run resumes
+ * where it left off, and the numeric rewrite only applies while the stored
+ * value is still the string that was read.
+ *
+ * - Opt-in (investment.migration.buckets.enabled); enable it for the rollout only
+ * - A completed run writes a marker to the migrations collection, so later
+ *   startups skip the (unindexed) scan of the accounts collection
+ * - Runs as a lifecycle bean in a phase before the Kafka listener containers, so
+ *   no round-up is applied to an account still in the old layout; a failure
+ *   aborts startup
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "investment.migration.buckets.enabled", havingValue = "true")
+public class InvestmentBucketMigration implements SmartLifecycle {
+
+    static final String MIGRATIONS_COLLECTION = "migrations";
+    static final String MIGRATION_ID = "investment-buckets";
+
+    private final MongoTemplate mongoTemplate;
+    private final InvestmentBucketRepository investmentBucketRepository;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        if (isCompleted()) {
+            log.debug("Bucket migration already completed, skipping");
+        } else {
+            migrateAll();
+            markCompleted();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Before the listener containers (KafkaListenerEndpointRegistry)
+        return AbstractMessageListenerContainer.DEFAULT_PHASE - 1;
+    }
+
+    private boolean isCompleted() {
+        return mongoTemplate.getCollection(MIGRATIONS_COLLECTION)
+                .find(Filters.eq("_id", MIGRATION_ID)).first() != null;
+    }
+
+    private void markCompleted() {
+        mongoTemplate.getCollection(MIGRATIONS_COLLECTION).replaceOne(
+                Filters.eq("_id", MIGRATION_ID),
+                new Document("_id", MIGRATION_ID).append("completedAt", new Date()),
+                new ReplaceOptions().upsert(true));
+    }
+
+    private void migrateAll() {
+        String collection = mongoTemplate.getCollectionName(InvestmentAccount.class);
+        int migrated = 0;
+        for (Document account : mongoTemplate.getCollection(collection).find(Filters.or(
+                Filters.exists("investments"),
+                Filters.type("balance", "string"),
+                Filters.type("roundUpConfig.totalRoundedUp", "string")))) {
+            migrate(account);
+            migrated++;
+        }
+        if (migrated > 0) {
+            log.info("Migrated {} investment accounts to bucketed investments", migrated);
+        }
+    }
+
+    private void migrate(Document account) {
+        Object accountId = account.get("_id");
+
+        List<Document> embedded = account.getList("investments", Document.class, List.of());
+        if (!embedded.isEmpty()) {
+            List<Investment> investments = embedded.stream()
+                    .map(document -> mongoTemplate.getConverter().read(Investment.class, document))
+                    .toList();
+            int appended = investmentBucketRepository.append(investments);
+            log.debug("Account {}: moved {} of {} embedded investments", accountId, appended, investments.size());
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(accountId)),
+                new Update().unset("investments"), InvestmentAccount.class);
+
+        toDecimal128(accountId, "balance", account.get("balance"));
+        Document roundUpConfig = account.get("roundUpConfig", Document.class);
+        if (roundUpConfig != null) {
+            toDecimal128(accountId, "roundUpConfig.totalRoundedUp", roundUpConfig.get("totalRoundedUp"));
+        }
+    }
+
+    private void toDecimal128(Object accountId, String field, Object stored) {
+        if (!(stored instanceof String text)) {
+            return;
+        }
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(InvestmentAccount.class)).updateOne(
+                Filters.and(Filters.eq("_id", accountId), Filters.eq(field, text)),
+                new Document("$set", new Document(field, new Decimal128(new BigDecimal(text)))));
+    }
+}
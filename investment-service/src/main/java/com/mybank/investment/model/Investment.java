@@ -4,14 +4,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
- * Investment Entity (embedded within InvestmentAccount)
- * NOT a separate Document - managed by InvestmentAccount Aggregate
+ * Investment Entity (embedded within a monthly InvestmentBucket)
+ * NOT a separate Document - recorded through the InvestmentAccount Aggregate
  */
 @Data
 @Builder
@@ -32,6 +34,7 @@ public class Investment {
 
     private InvestmentType investmentType; // ROUNDUP, MANUAL, AUTO
 
+    @Field(targetType = FieldType.DECIMAL128)
     private BigDecimal amount;
 
     private String currency;
@@ -41,6 +44,14 @@ public class Investment {
     @Builder.Default
     private LocalDateTime investedAt = LocalDateTime.now();
 
+    /**
+     * Deterministic ID of the round-up investment for a payment into an account,
+     * so a re-delivered payment event maps to the same investment
+     */
+    public static String roundUpIdOf(String paymentId, String accountId) {
+        return "ROUNDUP:" + paymentId + ":" + accountId;
+    }
+
     public enum InvestmentType {
         ROUNDUP, MANUAL, AUTO
     }
@@ -5,11 +5,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -17,11 +19,15 @@ import java.util.List;
  * Bounded Context: Investment Management
  *
  * Manages:
- * - Investment transactions within this account
+ * - Investment transactions within this account (stored in InvestmentBucket,
+ *   the account keeps only running totals)
  * - Round-up configuration for automatic investing
  * - Account balance and lifecycle
  */
 @Document(collection = "investment_accounts")
+@CompoundIndex(name = "roundup_source_idx",
+        def = "{'roundUpConfig.sourceAccountId': 1, 'roundUpConfig.enabled': 1}",
+        partialFilter = "{'roundUpConfig.enabled': true}")
 @Data
 @Builder
 @NoArgsConstructor
@@ -37,7 +43,8 @@ public class InvestmentAccount {
 
     private String accountName;
 
-    private BigDecimal balance;
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal balance; // Maintained with $inc
 
     private String currency;
 
@@ -45,12 +52,11 @@ public class InvestmentAccount {
 
     private boolean isActive;
 
-    // Embedded entities and value objects
-    @Builder.Default
-    private List<Investment> investments = new ArrayList<>();
-
+    // Embedded value objects
     private RoundUpConfig roundUpConfig;
 
+    private List<String> recentRoundUpPaymentIds; // Capped, newest last (makes re-delivery a no-op)
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -60,18 +66,12 @@ public class InvestmentAccount {
     }
 
     // Aggregate behavior: Add investment to this account
+    // The investment itself is persisted to its InvestmentBucket by the repository
     public void addInvestment(Investment investment) {
-        if (this.investments == null) {
-            this.investments = new ArrayList<>();
-        }
-
         // Set the account reference
         investment.setAccountId(this.id);
         investment.setUserId(this.userId);
 
-        // Add to collection
-        this.investments.add(investment);
-
         // Update balance
         this.balance = this.balance.add(investment.getAmount());
         this.updatedAt = LocalDateTime.now();
@@ -79,6 +79,12 @@ public class InvestmentAccount {
 
     // Aggregate behavior: Process round-up investment
     public Investment processRoundUp(String paymentId, BigDecimal paymentAmount, String currency) {
+        return processRoundUp(paymentId, paymentAmount, currency, LocalDateTime.now());
+    }
+
+    // Aggregate behavior: Process round-up investment for a payment made at paidAt
+    public Investment processRoundUp(String paymentId, BigDecimal paymentAmount, String currency,
+                                     LocalDateTime paidAt) {
         if (roundUpConfig == null || !roundUpConfig.isEnabled()) {
             throw new IllegalStateException("Round-up not enabled for this account");
         }
@@ -91,6 +97,7 @@ public class InvestmentAccount {
 
         // Create round-up investment
         Investment investment = Investment.builder()
+                .id(Investment.roundUpIdOf(paymentId, this.id))
                 .userId(this.userId)
                 .accountId(this.id)
                 .productId("ROUNDUP-PRODUCT-001")
@@ -99,7 +106,7 @@ public class InvestmentAccount {
                 .amount(roundUpAmount)
                 .currency(currency)
                 .relatedPaymentId(paymentId)
-                .investedAt(LocalDateTime.now())
+                .investedAt(paidAt)
                 .build();
 
         // Add investment to account
@@ -0,0 +1,61 @@
+package com.mybank.investment.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * InvestmentBucket
+ * Bounded Context: Investment Management
+ * Pattern: Bucket (time-partitioned child collection of InvestmentAccount)
+ *
+ * One document per investment account and month. New investments are appended
+ * with $push and the bucket totals maintained with $inc, so recording an
+ * investment never rewrites the account or earlier history, and no document
+ * grows without bound.
+ */
+@Document(collection = "investment_buckets")
+@CompoundIndex(name = "account_last_invested_idx", def = "{'accountId': 1, 'lastInvestedAt': -1}")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvestmentBucket {
+
+    @Id
+    private String id; // accountId:yyyy-MM
+
+    private String accountId;
+
+    private String userId;
+
+    private String month; // yyyy-MM
+
+    private List<Investment> investments; // Append order (oldest first)
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal total;
+
+    private long count;
+
+    private LocalDateTime lastInvestedAt;
+
+    public static String idOf(String accountId, LocalDateTime investedAt) {
+        return accountId + ":" + monthOf(investedAt);
+    }
+
+    public static String monthOf(LocalDateTime investedAt) {
+        return YearMonth.from(investedAt).toString();
+    }
+}
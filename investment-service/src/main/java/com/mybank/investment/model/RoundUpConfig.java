@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,7 +31,8 @@ public class RoundUpConfig {
     private boolean enabled = false;
 
     @Builder.Default
-    private BigDecimal totalRoundedUp = BigDecimal.ZERO;
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal totalRoundedUp = BigDecimal.ZERO; // Maintained with $inc
 
     @Builder.Default
     private int totalTransactions = 0;
@@ -0,0 +1,76 @@
+package com.mybank.investment.model;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * RoundUpDeadLetter
+ * Payment completed event whose round-up failed all retry attempts
+ * One document per payment; a repeated failure updates it.
+ *
+ * A record that could not be decoded has no event: it is stored under its DLT
+ * coordinates with its original key, value bytes and headers, so it can be
+ * republished as is (e.g. once the decoder is fixed).
+ */
+@Document(collection = "round_up_dead_letters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoundUpDeadLetter {
+
+    @Id
+    private String id; // Payment ID, or "dlt:<topic>-<partition>@<offset>" for an undecodable record
+
+    private String userId;
+
+    private PaymentCompletedEvent event; // Null for an undecodable record
+
+    private String recordKey; // Undecodable record only
+
+    private byte[] payload; // Undecodable record only: original value bytes
+
+    private List<RawHeader> payloadHeaders; // Undecodable record only: original non-framework headers
+
+    @Indexed
+    private Status status;
+
+    private String exceptionClass;
+
+    private String exceptionMessage;
+
+    private int failureCount;
+
+    private int replayCount;
+
+    private LocalDateTime firstFailedAt;
+
+    private LocalDateTime lastFailedAt;
+
+    private LocalDateTime replayedAt;
+
+    public static String undecodableIdOf(String topic, int partition, long offset) {
+        return "dlt:" + topic + "-" + partition + "@" + offset;
+    }
+
+    public enum Status {
+        PENDING, REPLAYED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RawHeader {
+        private String key;
+        private byte[] value;
+    }
+}
@@ -0,0 +1,56 @@
+package com.mybank.investment.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * RoundUpTarget (read model)
+ * Investment account that receives round-ups for a payment source account,
+ * with just the settings needed to compute them. Cached per source account.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoundUpTarget {
+
+    private String accountId;
+
+    private String userId;
+
+    private String sourceAccountId;
+
+    private BigDecimal roundUpUnit;
+
+    public static RoundUpTarget of(InvestmentAccount account) {
+        return RoundUpTarget.builder()
+                .accountId(account.getId())
+                .userId(account.getUserId())
+                .sourceAccountId(account.getRoundUpConfig().getSourceAccountId())
+                .roundUpUnit(account.getRoundUpConfig().getRoundUpUnit())
+                .build();
+    }
+
+    /**
+     * Transient aggregate carrying only the round-up settings, for computing a
+     * round-up through InvestmentAccount; its totals are not the stored ones
+     */
+    public InvestmentAccount toAggregate() {
+        return InvestmentAccount.builder()
+                .id(accountId)
+                .userId(userId)
+                .balance(BigDecimal.ZERO)
+                .isActive(true)
+                .roundUpConfig(RoundUpConfig.builder()
+                        .sourceAccountId(sourceAccountId)
+                        .targetInvestmentAccountId(accountId)
+                        .roundUpUnit(roundUpUnit)
+                        .enabled(true)
+                        .build())
+                .build();
+    }
+}
@@ -2,15 +2,29 @@ package com.mybank.investment.repository;
 
 import com.mybank.investment.model.InvestmentAccount;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Investment account repository
  */
 @Repository
-public interface InvestmentAccountRepository extends MongoRepository<InvestmentAccount, String> {
+public interface InvestmentAccountRepository extends MongoRepository<InvestmentAccount, String>, InvestmentAccountRepositoryCustom {
 
+    /**
+     * Accounts of a user, without the applied round-up payment IDs
+     */
+    @Query(value = "{ 'userId': ?0, 'isActive': ?1 }", fields = "{ 'recentRoundUpPaymentIds': 0 }")
     List<InvestmentAccount> findByUserIdAndIsActive(String userId, boolean isActive);
+
+    /**
+     * Active accounts with round-up enabled for any of the source accounts
+     * (served by the partial index roundup_source_idx)
+     */
+    @Query(value = "{ 'roundUpConfig.sourceAccountId': { $in: ?0 }, 'roundUpConfig.enabled': true, 'isActive': true }",
+            fields = "{ 'userId': 1, 'roundUpConfig.sourceAccountId': 1, 'roundUpConfig.roundUpUnit': 1 }")
+    List<InvestmentAccount> findRoundUpTargets(Collection<String> sourceAccountIds);
 }
@@ -0,0 +1,49 @@
+package com.mybank.investment.repository;
+
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentAccount;
+
+import java.util.List;
+
+/**
+ * Custom Investment Account writes executed as targeted Mongo updates
+ * (never a full-document rewrite, so concurrent writers do not overwrite
+ * each other's balance or round-up totals)
+ */
+public interface InvestmentAccountRepositoryCustom {
+
+    /**
+     * Apply a round-up investment to the account totals in one atomic findAndModify
+     * ($inc balance and round-up statistics, record the payment ID)
+     *
+     * @param sourceAccountId payment account the round-up was computed for
+     * @return the updated account, or null if the payment was already applied,
+     *         or round-up is no longer enabled for that source account
+     */
+    InvestmentAccount applyRoundUp(Investment investment, String sourceAccountId);
+
+    /**
+     * Bulk variant of applyRoundUp: the same guarded updates in one unordered bulk write
+     *
+     * @return the round-ups whose payment is recorded on their account afterwards
+     *         (applied by this call or by an earlier delivery)
+     */
+    List<PendingRoundUp> applyRoundUps(List<PendingRoundUp> roundUps);
+
+    /**
+     * Whether a payment's round-up is among the account's recently applied ones
+     */
+    boolean hasAppliedRoundUp(String accountId, String paymentId);
+
+    /**
+     * Persist the round-up settings of the account ($set), leaving its
+     * running totals untouched
+     */
+    void saveRoundUpSettings(InvestmentAccount account);
+
+    /**
+     * Round-up investment computed from a payment of the given source account
+     */
+    record PendingRoundUp(Investment investment, String sourceAccountId) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.mybank.investment.repository;
+
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.model.RoundUpConfig;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Investment account updates
+ *
+ * applyRoundUp (findAndModify), applyRoundUps (bulk of updateOne):
+ *   { _id, roundUpConfig.enabled: true, roundUpConfig.sourceAccountId,
+ *     recentRoundUpPaymentIds: { $ne: paymentId } }
+ *   $inc balance, roundUpConfig.totalRoundedUp/totalTransactions
+ *   $push recentRoundUpPaymentIds { $each: [paymentId], $slice: -RECENT_ROUND_UP_PAYMENTS }
+ * saveRoundUpSettings: $set roundUpConfig settings fields
+ *
+ * The guard and the counters change in the same single-document update, so
+ * concurrent or re-delivered events apply each payment at most once. The
+ * payment ID window is capped; re-delivery older than the window is not
+ * detected here (Kafka re-delivery happens within seconds to minutes).
+ */
+@RequiredArgsConstructor
+public class InvestmentAccountRepositoryCustomImpl implements InvestmentAccountRepositoryCustom {
+
+    static final int RECENT_ROUND_UP_PAYMENTS = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public InvestmentAccount applyRoundUp(Investment investment, String sourceAccountId) {
+        Query query = roundUpQuery(investment, sourceAccountId);
+        query.fields().exclude("recentRoundUpPaymentIds");
+
+        return mongoTemplate.findAndModify(query, roundUpUpdate(investment, LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), InvestmentAccount.class);
+    }
+
+    /**
+     * When some updates did not match (re-delivered payment or round-up turned
+     * off meanwhile), one extra read of the affected accounts' payment IDs tells
+     * which of them are recorded
+     */
+    @Override
+    public List<PendingRoundUp> applyRoundUps(List<PendingRoundUp> roundUps) {
+        if (roundUps.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvestmentAccount.class);
+        roundUps.forEach(roundUp -> bulk.updateOne(
+                roundUpQuery(roundUp.investment(), roundUp.sourceAccountId()),
+                roundUpUpdate(roundUp.investment(), now)));
+        if (bulk.execute().getModifiedCount() == roundUps.size()) {
+            return roundUps;
+        }
+
+        Set<String> accountIds = new HashSet<>();
+        roundUps.forEach(roundUp -> accountIds.add(roundUp.investment().getAccountId()));
+        Query query = Query.query(Criteria.where("_id").in(accountIds));
+        query.fields().include("recentRoundUpPaymentIds");
+
+        Map<String, Set<String>> recorded = new HashMap<>();
+        for (InvestmentAccount account : mongoTemplate.find(query, InvestmentAccount.class)) {
+            if (account.getRecentRoundUpPaymentIds() != null) {
+                recorded.put(account.getId(), new HashSet<>(account.getRecentRoundUpPaymentIds()));
+            }
+        }
+
+        return roundUps.stream()
+                .filter(roundUp -> recorded.getOrDefault(roundUp.investment().getAccountId(), Set.of())
+                        .contains(roundUp.investment().getRelatedPaymentId()))
+                .toList();
+    }
+
+    @Override
+    public boolean hasAppliedRoundUp(String accountId, String paymentId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(accountId)
+                .and("recentRoundUpPaymentIds").is(paymentId)), InvestmentAccount.class);
+    }
+
+    @Override
+    public void saveRoundUpSettings(InvestmentAccount account) {
+        Update update = new Update().set("updatedAt", account.getUpdatedAt());
+        RoundUpConfig config = account.getRoundUpConfig();
+        if (config != null) {
+            update.set("roundUpConfig.sourceAccountId", config.getSourceAccountId())
+                    .set("roundUpConfig.targetInvestmentAccountId", config.getTargetInvestmentAccountId())
+                    .set("roundUpConfig.roundUpUnit", config.getRoundUpUnit())
+                    .set("roundUpConfig.enabled", config.isEnabled())
+                    .set("roundUpConfig.createdAt", config.getCreatedAt())
+                    .set("roundUpConfig.updatedAt", config.getUpdatedAt());
+        }
+
+        mongoTemplate.updateFirst(byId(account.getId()), update, InvestmentAccount.class);
+    }
+
+    private static Query roundUpQuery(Investment investment, String sourceAccountId) {
+        return Query.query(Criteria.where("_id").is(investment.getAccountId())
+                .and("roundUpConfig.enabled").is(true)
+                .and("roundUpConfig.sourceAccountId").is(sourceAccountId)
+                .and("recentRoundUpPaymentIds").ne(investment.getRelatedPaymentId()));
+    }
+
+    private static Update roundUpUpdate(Investment investment, LocalDateTime now) {
+        Decimal128 amount = new Decimal128(investment.getAmount());
+        Update update = new Update()
+                .inc("balance", amount)
+                .inc("roundUpConfig.totalRoundedUp", amount)
+                .inc("roundUpConfig.totalTransactions", 1)
+                .set("roundUpConfig.updatedAt", now)
+                .set("updatedAt", now);
+        update.push("recentRoundUpPaymentIds")
+                .slice(-RECENT_ROUND_UP_PAYMENTS)
+                .each(investment.getRelatedPaymentId());
+        return update;
+    }
+
+    private static Query byId(String accountId) {
+        return Query.query(Criteria.where("_id").is(accountId));
+    }
+}
@@ -0,0 +1,24 @@
+package com.mybank.investment.repository;
+
+import com.mybank.investment.model.InvestmentBucket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Investment Bucket Repository
+ */
+@Repository
+public interface InvestmentBucketRepository extends MongoRepository<InvestmentBucket, String>, InvestmentBucketRepositoryCustom {
+
+    /**
+     * Buckets of the given accounts with only their last 10 investments
+     * Page with a lastInvestedAt DESC sort to get the newest buckets.
+     */
+    @Query(value = "{ 'accountId': { $in: ?0 } }", fields = "{ 'investments': { $slice: -10 } }")
+    List<InvestmentBucket> findRecentByAccountIdIn(Collection<String> accountIds, Pageable pageable);
+}
@@ -0,0 +1,19 @@
+package com.mybank.investment.repository;
+
+import com.mybank.investment.model.Investment;
+
+import java.util.List;
+
+/**
+ * Custom Investment Bucket writes executed as targeted Mongo updates
+ */
+public interface InvestmentBucketRepositoryCustom {
+
+    /**
+     * Append investments to their monthly buckets ($push + $inc, upsert)
+     * Investments already present in their bucket are skipped.
+     *
+     * @return number of investments appended
+     */
+    int append(List<Investment> investments);
+}
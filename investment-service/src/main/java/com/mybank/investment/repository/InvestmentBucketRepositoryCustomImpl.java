@@ -0,0 +1,82 @@
+package com.mybank.investment.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentBucket;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Investment bucket append
+ *
+ * upsert { _id: accountId:month, investments.id: { $ne: investmentId } }
+ *   $push investments, $inc total/count, $max lastInvestedAt, $setOnInsert owner
+ *
+ * The $ne guard makes a re-applied investment a no-op: the filter no longer
+ * matches the existing bucket, and the upsert fails with a duplicate key.
+ */
+@RequiredArgsConstructor
+public class InvestmentBucketRepositoryCustomImpl implements InvestmentBucketRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * A duplicate-key error means either the investment was already appended
+     * (guard excluded the existing bucket) or two writers raced to create the
+     * bucket; the failed operations are retried once to tell the two apart.
+     */
+    @Override
+    public int append(List<Investment> investments) {
+        List<Investment> pending = investments;
+        int appended = 0;
+        for (int attempt = 0; attempt < 2 && !pending.isEmpty(); attempt++) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvestmentBucket.class);
+            pending.forEach(investment -> bulk.upsert(bucketQuery(investment), bucketUpdate(investment)));
+
+            try {
+                BulkWriteResult result = bulk.execute();
+                return appended + result.getUpserts().size() + result.getModifiedCount();
+            } catch (BulkOperationException e) {
+                List<Investment> retry = new ArrayList<>();
+                for (BulkWriteError error : e.getErrors()) {
+                    if (error.getCode() != DUPLICATE_KEY) {
+                        throw e;
+                    }
+                    retry.add(pending.get(error.getIndex()));
+                }
+                appended += e.getResult().getUpserts().size() + e.getResult().getModifiedCount();
+                pending = retry;
+            }
+        }
+        return appended;
+    }
+
+    private static Query bucketQuery(Investment investment) {
+        String bucketId = InvestmentBucket.idOf(investment.getAccountId(), investment.getInvestedAt());
+        return Query.query(Criteria.where("_id").is(bucketId)
+                .and("investments.id").ne(investment.getId()));
+    }
+
+    private static Update bucketUpdate(Investment investment) {
+        return new Update()
+                .setOnInsert("accountId", investment.getAccountId())
+                .setOnInsert("userId", investment.getUserId())
+                .setOnInsert("month", InvestmentBucket.monthOf(investment.getInvestedAt()))
+                .push("investments", investment)
+                .inc("total", new Decimal128(investment.getAmount()))
+                .inc("count", 1L)
+                .max("lastInvestedAt", investment.getInvestedAt());
+    }
+}
@@ -0,0 +1,19 @@
+package com.mybank.investment.repository;
+
+import com.mybank.investment.model.RoundUpDeadLetter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Round-up dead letter repository
+ */
+@Repository
+public interface RoundUpDeadLetterRepository extends MongoRepository<RoundUpDeadLetter, String> {
+
+    List<RoundUpDeadLetter> findByStatusOrderByLastFailedAtAsc(RoundUpDeadLetter.Status status, Pageable pageable);
+
+    long countByStatus(RoundUpDeadLetter.Status status);
+}
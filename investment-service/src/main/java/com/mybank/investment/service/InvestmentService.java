@@ -4,25 +4,43 @@ import com.mybank.investment.dto.InvestmentSummaryResponse;
 import com.mybank.investment.model.Investment;
 import com.mybank.investment.model.InvestmentAccount;
 import com.mybank.investment.repository.InvestmentAccountRepository;
+import com.mybank.investment.repository.InvestmentBucketRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
  * Investment service
  * DDD-compliant: Works with Aggregate Roots only
+ *
+ * Summaries are cached for a short TTL with coalesced loads (sync = true);
+ * round-up configuration changes and round-up investments evict the user's entry.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class InvestmentService {
 
+    public static final String INVESTMENT_SUMMARY_CACHE = "investmentSummary";
+
+    private static final int RECENT_INVESTMENTS = 10;
+
     private final InvestmentAccountRepository investmentAccountRepository;
+    private final InvestmentBucketRepository investmentBucketRepository;
+    private final RoundUpTargetLookup roundUpTargetLookup;
+    private final CacheManager cacheManager;
 
+    @Cacheable(value = INVESTMENT_SUMMARY_CACHE, key = "#userId", sync = true)
     public InvestmentSummaryResponse getInvestmentSummary(String userId) {
         log.info("Fetching investment summary for user: {}", userId);
 
@@ -46,10 +64,15 @@ public class InvestmentService {
                 .sum();
 
         // Get recent investments from all accounts
-        List<InvestmentSummaryResponse.InvestmentDetail> recentInvestments = accounts.stream()
-                .flatMap(account -> account.getInvestments().stream())
-                .sorted((a, b) -> b.getInvestedAt().compareTo(a.getInvestedAt()))
-                .limit(10)
+        // The newest N buckets (by last investment) always contain the newest N investments
+        List<String> accountIds = accounts.stream().map(InvestmentAccount::getId).collect(Collectors.toList());
+        List<InvestmentSummaryResponse.InvestmentDetail> recentInvestments = accountIds.isEmpty() ? List.of()
+                : investmentBucketRepository.findRecentByAccountIdIn(accountIds,
+                        PageRequest.of(0, RECENT_INVESTMENTS, Sort.by(Sort.Direction.DESC, "lastInvestedAt")))
+                .stream()
+                .flatMap(bucket -> bucket.getInvestments().stream())
+                .sorted(Comparator.comparing(Investment::getInvestedAt).reversed())
+                .limit(RECENT_INVESTMENTS)
                 .map(investment -> InvestmentSummaryResponse.InvestmentDetail.builder()
                         .investmentId(investment.getId())
                         .productName(investment.getProductName())
@@ -75,11 +98,17 @@ public class InvestmentService {
             throw new RuntimeException("Unauthorized access to investment account");
         }
 
+        String previousSourceAccountId = account.getRoundUpConfig() != null
+                ? account.getRoundUpConfig().getSourceAccountId() : null;
+
         // Delegate to Aggregate Root
         account.enableRoundUp(sourceAccountId, roundUpUnit);
 
-        // Save the entire aggregate
-        investmentAccountRepository.save(account);
+        // Persist only the round-up settings (running totals are maintained with $inc)
+        investmentAccountRepository.saveRoundUpSettings(account);
+        invalidateSummaryCache(userId);
+        roundUpTargetLookup.evict(previousSourceAccountId);
+        roundUpTargetLookup.evict(sourceAccountId);
     }
 
     public void disableRoundUp(String userId, String accountId) {
@@ -93,7 +122,18 @@ public class InvestmentService {
         // Delegate to Aggregate Root
         account.disableRoundUp();
 
-        // Save the entire aggregate
-        investmentAccountRepository.save(account);
+        // Persist only the round-up settings (running totals are maintained with $inc)
+        investmentAccountRepository.saveRoundUpSettings(account);
+        invalidateSummaryCache(userId);
+        if (account.getRoundUpConfig() != null) {
+            roundUpTargetLookup.evict(account.getRoundUpConfig().getSourceAccountId());
+        }
+    }
+
+    public void invalidateSummaryCache(String userId) {
+        Cache cache = cacheManager.getCache(INVESTMENT_SUMMARY_CACHE);
+        if (cache != null) {
+            cache.evict(userId);
+        }
     }
 }
@@ -0,0 +1,173 @@
+package com.mybank.investment.service;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.investment.consumer.PaymentCompletedEventConsumer;
+import com.mybank.investment.model.RoundUpDeadLetter;
+import com.mybank.investment.repository.RoundUpDeadLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-up dead letters: storage, metrics and replay
+ *
+ * - record(): upsert per payment ID from the DLT handler
+ * - recordUndecodable(): upsert per DLT record of a record that could not be
+ *   decoded, keeping its original key, value bytes and headers
+ * - replay(): republish the stored event to payment-completed (keyed by
+ *   payment ID, like the original), or the stored bytes and headers unchanged,
+ *   and mark it REPLAYED once the broker acks; processing is idempotent, so
+ *   replaying an already applied payment is a no-op
+ *
+ * Metrics:
+ * - roundup.dlt.records (dead-lettered events), roundup.dlt.replayed
+ * - roundup.dlt.pending (gauge, stored events not yet replayed)
+ */
+@Slf4j
+@Service
+public class RoundUpDeadLetterService {
+
+    private static final long REPLAY_ACK_TIMEOUT_SECONDS = 10;
+
+    // Added by the DLT / retry topic infrastructure, not part of the original record
+    private static final List<String> FRAMEWORK_HEADER_PREFIXES = List.of(
+            KafkaHeaders.PREFIX, "retry_topic-", SerializationUtils.DESERIALIZER_EXCEPTION_HEADER_PREFIX);
+
+    private final RoundUpDeadLetterRepository roundUpDeadLetterRepository;
+    private final MongoTemplate mongoTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final Counter deadLettered;
+    private final Counter replayed;
+
+    public RoundUpDeadLetterService(RoundUpDeadLetterRepository roundUpDeadLetterRepository,
+                                    MongoTemplate mongoTemplate,
+                                    @Qualifier("deadLetterKafkaTemplate") KafkaTemplate<String, Object> kafkaTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.roundUpDeadLetterRepository = roundUpDeadLetterRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.kafkaTemplate = kafkaTemplate;
+        this.deadLettered = meterRegistry.counter("roundup.dlt.records");
+        this.replayed = meterRegistry.counter("roundup.dlt.replayed");
+        Gauge.builder("roundup.dlt.pending", roundUpDeadLetterRepository,
+                        repository -> repository.countByStatus(RoundUpDeadLetter.Status.PENDING))
+                .register(meterRegistry);
+    }
+
+    public void record(PaymentCompletedEvent event, String exceptionClass, String exceptionMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("userId", event.getUserId())
+                .set("event", event)
+                .set("status", RoundUpDeadLetter.Status.PENDING)
+                .set("exceptionClass", exceptionClass)
+                .set("exceptionMessage", exceptionMessage)
+                .set("lastFailedAt", now)
+                .setOnInsert("firstFailedAt", now)
+                .inc("failureCount", 1);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(event.getPaymentId())),
+                update, RoundUpDeadLetter.class);
+        deadLettered.increment();
+    }
+
+    public void recordUndecodable(ConsumerRecord<String, byte[]> record, String exceptionClass,
+                                  String exceptionMessage) {
+        List<RoundUpDeadLetter.RawHeader> headers = new ArrayList<>();
+        for (Header header : record.headers()) {
+            if (FRAMEWORK_HEADER_PREFIXES.stream().noneMatch(header.key()::startsWith)) {
+                headers.add(new RoundUpDeadLetter.RawHeader(header.key(), header.value()));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Update update = new Update()
+                .set("recordKey", record.key())
+                .set("payload", record.value())
+                .set("payloadHeaders", headers)
+                .set("status", RoundUpDeadLetter.Status.PENDING)
+                .set("exceptionClass", exceptionClass)
+                .set("exceptionMessage", exceptionMessage)
+                .set("lastFailedAt", now)
+                .setOnInsert("firstFailedAt", now)
+                .inc("failureCount", 1);
+        String id = RoundUpDeadLetter.undecodableIdOf(record.topic(), record.partition(), record.offset());
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(id)), update, RoundUpDeadLetter.class);
+        deadLettered.increment();
+    }
+
+    public List<RoundUpDeadLetter> findPending(int limit) {
+        return roundUpDeadLetterRepository.findByStatusOrderByLastFailedAtAsc(
+                RoundUpDeadLetter.Status.PENDING, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Republish one dead-lettered event
+     *
+     * @param id payment ID, or the ID of an undecodable record
+     * @return false if there is no such dead letter
+     */
+    public boolean replay(String id) throws Exception {
+        RoundUpDeadLetter deadLetter = roundUpDeadLetterRepository.findById(id).orElse(null);
+        if (deadLetter == null) {
+            return false;
+        }
+
+        ProducerRecord<String, Object> record;
+        if (deadLetter.getEvent() != null) {
+            record = new ProducerRecord<>(PaymentCompletedEventConsumer.PAYMENT_COMPLETED_TOPIC, id, deadLetter.getEvent());
+        } else {
+            List<Header> headers = new ArrayList<>();
+            if (deadLetter.getPayloadHeaders() != null) {
+                deadLetter.getPayloadHeaders().forEach(header -> headers.add(new RecordHeader(header.getKey(), header.getValue())));
+            }
+            record = new ProducerRecord<>(PaymentCompletedEventConsumer.PAYMENT_COMPLETED_TOPIC, null,
+                    deadLetter.getRecordKey(), deadLetter.getPayload(), headers);
+        }
+        kafkaTemplate.send(record).get(REPLAY_ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                new Update()
+                        .set("status", RoundUpDeadLetter.Status.REPLAYED)
+                        .set("replayedAt", LocalDateTime.now())
+                        .inc("replayCount", 1),
+                RoundUpDeadLetter.class);
+        replayed.increment();
+        log.info("Replayed dead-lettered round-up: {}", id);
+        return true;
+    }
+
+    /**
+     * Republish up to limit pending events, oldest failure first
+     *
+     * @return number of events replayed
+     */
+    public int replayPending(int limit) throws Exception {
+        int count = 0;
+        for (RoundUpDeadLetter deadLetter : findPending(limit)) {
+            if (replay(deadLetter.getId())) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -3,18 +3,40 @@ package com.mybank.investment.service;
 import com.mybank.common.event.PaymentCompletedEvent;
 import com.mybank.investment.model.Investment;
 import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.model.RoundUpTarget;
 import com.mybank.investment.repository.InvestmentAccountRepository;
+import com.mybank.investment.repository.InvestmentAccountRepositoryCustom.PendingRoundUp;
+import com.mybank.investment.repository.InvestmentBucketRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Round-up investing service implementing EDA pattern
  * Automatically invests spare change from payments
  *
  * DDD-compliant: Delegates business logic to Aggregate Root
+ *
+ * Each payment resolves to exactly its target accounts through
+ * RoundUpTargetLookup (source account -> round-up enabled accounts, cached),
+ * so no account is read just to be filtered out.
+ *
+ * Persistence is two O(1) updates instead of an aggregate rewrite:
+ * - account totals: one atomic findAndModify ($inc), guarded by the payment ID
+ *   and by round-up still being enabled for the payment's source account
+ * - investment: $push-ed to its monthly bucket (deterministic ID, skipped if present)
+ * Both steps are idempotent, so a re-delivered event repairs a partially
+ * applied one instead of double counting it.
+ *
+ * processRoundUps handles a whole poll: one target lookup for all source
+ * accounts in the batch, round-ups computed in memory, one bulk write per collection.
  */
 @Slf4j
 @Service
@@ -22,47 +44,105 @@ import java.util.List;
 public class RoundUpService {
 
     private final InvestmentAccountRepository investmentAccountRepository;
+    private final InvestmentBucketRepository investmentBucketRepository;
+    private final RoundUpTargetLookup roundUpTargetLookup;
+    private final InvestmentService investmentService;
 
+    /**
+     * Process a single payment event (retry path)
+     * Exceptions propagate, so the caller can retry the event.
+     */
     public void processRoundUp(PaymentCompletedEvent event) {
         log.info("Processing round-up for payment: {}", event.getPaymentId());
 
         // Find investment accounts with round-up enabled for this payment source
-        List<InvestmentAccount> accounts = investmentAccountRepository
-                .findByUserIdAndIsActive(event.getUserId(), true);
+        for (RoundUpTarget target : roundUpTargetLookup.find(event.getAccountId())) {
+            if (!Objects.equals(target.getUserId(), event.getUserId())) {
+                continue;
+            }
 
-        for (InvestmentAccount account : accounts) {
-            try {
-                // Check if this account has round-up enabled for the payment account
-                if (account.getRoundUpConfig() == null || !account.getRoundUpConfig().isEnabled()) {
-                    continue;
-                }
+            log.info("Processing round-up for account: {}", target.getAccountId());
 
-                if (!event.getAccountId().equals(account.getRoundUpConfig().getSourceAccountId())) {
-                    continue;
-                }
+            Investment investment = roundUpFor(target.toAggregate(), event);
+            if (investment == null) {
+                log.info("No round-up needed for amount: {}", event.getAmount());
+                continue;
+            }
+
+            InvestmentAccount updated = investmentAccountRepository.applyRoundUp(
+                    investment, event.getAccountId());
+            if (updated == null && !investmentAccountRepository.hasAppliedRoundUp(
+                    target.getAccountId(), event.getPaymentId())) {
+                // Round-up was disabled or re-pointed since the target was cached
+                log.info("Round-up no longer enabled for account: {}", target.getAccountId());
+                roundUpTargetLookup.evict(event.getAccountId());
+                continue;
+            }
+
+            // Totals applied now or by an earlier delivery: make sure the investment is recorded too
+            investmentBucketRepository.append(List.of(investment));
+            investmentService.invalidateSummaryCache(target.getUserId());
 
-                log.info("Processing round-up for account: {}", account.getId());
+            if (updated != null) {
+                log.info("Round-up investment completed: {} {}", investment.getAmount(), investment.getCurrency());
+            } else {
+                log.info("Round-up already applied for payment: {}", event.getPaymentId());
+            }
+        }
+    }
 
-                // Delegate to Aggregate Root
-                Investment investment = account.processRoundUp(
-                        event.getPaymentId(),
-                        event.getAmount(),
-                        event.getCurrency()
-                );
+    /**
+     * Process a batch of payment events
+     * Exceptions propagate, so the caller can re-deliver the whole batch.
+     *
+     * @return number of round-ups recorded (including ones an earlier delivery applied)
+     */
+    public int processRoundUps(List<PaymentCompletedEvent> events) {
+        // Re-delivered duplicates within a batch collapse to one event per payment
+        Map<String, PaymentCompletedEvent> byPayment = new LinkedHashMap<>();
+        events.stream()
+                .filter(event -> event.getPaymentId() != null && event.getAccountId() != null)
+                .forEach(event -> byPayment.putIfAbsent(event.getPaymentId(), event));
+        if (byPayment.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<RoundUpTarget>> targetsBySource = roundUpTargetLookup.findAll(
+                byPayment.values().stream().map(PaymentCompletedEvent::getAccountId).distinct().toList());
 
+        List<PendingRoundUp> pending = new ArrayList<>();
+        for (PaymentCompletedEvent event : byPayment.values()) {
+            for (RoundUpTarget target : targetsBySource.getOrDefault(event.getAccountId(), List.of())) {
+                if (!Objects.equals(target.getUserId(), event.getUserId())) {
+                    continue;
+                }
+                Investment investment = roundUpFor(target.toAggregate(), event);
                 if (investment != null) {
-                    // Save the entire aggregate (single transaction)
-                    investmentAccountRepository.save(account);
-                    log.info("Round-up investment completed: {} {}", investment.getAmount(), investment.getCurrency());
-                } else {
-                    log.info("No round-up needed for amount: {}", event.getAmount());
+                    pending.add(new PendingRoundUp(investment, event.getAccountId()));
                 }
-
-            } catch (IllegalStateException e) {
-                log.warn("Round-up failed for account {}: {}", account.getId(), e.getMessage());
-            } catch (Exception e) {
-                log.error("Unexpected error processing round-up for account {}", account.getId(), e);
             }
         }
+
+        List<PendingRoundUp> recorded = investmentAccountRepository.applyRoundUps(pending);
+        investmentBucketRepository.append(recorded.stream().map(PendingRoundUp::investment).toList());
+        recorded.stream()
+                .map(roundUp -> roundUp.investment().getUserId())
+                .distinct()
+                .forEach(investmentService::invalidateSummaryCache);
+
+        log.info("Processed {} payment events: {} round-ups computed, {} recorded",
+                byPayment.size(), pending.size(), recorded.size());
+        return recorded.size();
+    }
+
+    /**
+     * Delegate to Aggregate Root; null when the payment needs no round-up
+     */
+    private static Investment roundUpFor(InvestmentAccount account, PaymentCompletedEvent event) {
+        return account.processRoundUp(
+                event.getPaymentId(),
+                event.getAmount(),
+                event.getCurrency(),
+                event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now());
     }
 }
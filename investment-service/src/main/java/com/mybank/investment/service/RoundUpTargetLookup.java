@@ -0,0 +1,123 @@
+package com.mybank.investment.service;
+
+import com.mybank.investment.model.RoundUpTarget;
+import com.mybank.investment.repository.InvestmentAccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Source account -> round-up target accounts
+ *
+ * - Cached per source account in ROUND_UP_TARGETS_CACHE (two-level cache, so
+ *   an eviction on one node reaches the others); empty results are cached too
+ * - Misses of a whole batch are loaded with one query on the partial index
+ *   (roundUpConfig.sourceAccountId, roundUpConfig.enabled) of enabled accounts
+ * - Evicted when round-up is enabled, re-pointed or disabled
+ *
+ * Evictions win over in-flight loads: evict() bumps a per-source generation in
+ * Redis before evicting, and a load re-reads the generations after its put and
+ * evicts again if any changed. Otherwise a load that read Mongo before the
+ * settings committed could re-cache a result missing the new target, and every
+ * payment from that source would be skipped until the entry expired.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoundUpTargetLookup {
+
+    public static final String ROUND_UP_TARGETS_CACHE = "roundUpTargets";
+
+    static final String GENERATION_PREFIX = "investment:roundup-targets:gen:";
+
+    // Only needs to outlive a load (Mongo query + put)
+    private static final Duration GENERATION_TTL = Duration.ofHours(1);
+
+    private final InvestmentAccountRepository investmentAccountRepository;
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public List<RoundUpTarget> find(String sourceAccountId) {
+        return findAll(List.of(sourceAccountId)).getOrDefault(sourceAccountId, List.of());
+    }
+
+    /**
+     * Targets for each source account (absent key: no targets)
+     */
+    public Map<String, List<RoundUpTarget>> findAll(Collection<String> sourceAccountIds) {
+        Cache cache = cacheManager.getCache(ROUND_UP_TARGETS_CACHE);
+        Map<String, List<RoundUpTarget>> targets = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+
+        for (String sourceAccountId : sourceAccountIds) {
+            RoundUpTarget[] cached = cache != null ? cache.get(sourceAccountId, RoundUpTarget[].class) : null;
+            if (cached == null) {
+                misses.add(sourceAccountId);
+            } else if (cached.length > 0) {
+                targets.put(sourceAccountId, Arrays.asList(cached));
+            }
+        }
+        if (misses.isEmpty()) {
+            return targets;
+        }
+
+        List<String> generations = cache != null ? generationsOf(misses) : null;
+        Map<String, List<RoundUpTarget>> loaded = investmentAccountRepository.findRoundUpTargets(misses).stream()
+                .map(RoundUpTarget::of)
+                .collect(Collectors.groupingBy(RoundUpTarget::getSourceAccountId));
+        for (String sourceAccountId : misses) {
+            List<RoundUpTarget> found = loaded.getOrDefault(sourceAccountId, List.of());
+            if (cache != null) {
+                cache.put(sourceAccountId, found.toArray(RoundUpTarget[]::new));
+            }
+            if (!found.isEmpty()) {
+                targets.put(sourceAccountId, found);
+            }
+        }
+        if (cache != null) {
+            // An evict() since the generations were read may predate the put: drop what was put
+            List<String> current = generationsOf(misses);
+            for (int i = 0; i < misses.size(); i++) {
+                if (!Objects.equals(generations.get(i), current.get(i))) {
+                    log.debug("Round-up targets of {} changed during load, evicting", misses.get(i));
+                    cache.evict(misses.get(i));
+                }
+            }
+        }
+        log.debug("Loaded round-up targets for {} source accounts", misses.size());
+        return targets;
+    }
+
+    /**
+     * Call after the round-up settings change is persisted
+     */
+    public void evict(String sourceAccountId) {
+        Cache cache = cacheManager.getCache(ROUND_UP_TARGETS_CACHE);
+        if (cache != null && sourceAccountId != null) {
+            String generationKey = GENERATION_PREFIX + sourceAccountId;
+            stringRedisTemplate.opsForValue().increment(generationKey);
+            stringRedisTemplate.expire(generationKey, GENERATION_TTL);
+            cache.evict(sourceAccountId);
+        }
+    }
+
+    private List<String> generationsOf(List<String> sourceAccountIds) {
+        List<String> generations = stringRedisTemplate.opsForValue().multiGet(
+                sourceAccountIds.stream().map(id -> GENERATION_PREFIX + id).toList());
+        return generations != null ? generations : Collections.nCopies(sourceAccountIds.size(), null);
+    }
+}
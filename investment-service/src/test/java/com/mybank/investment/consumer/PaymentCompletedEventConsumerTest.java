@@ -0,0 +1,85 @@
+package com.mybank.investment.consumer;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.investment.service.RoundUpService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentCompletedEventConsumer Tests")
+class PaymentCompletedEventConsumerTest {
+
+    @Mock
+    private RoundUpService roundUpService;
+
+    @Mock
+    private Acknowledgment acknowledgment;
+
+    @InjectMocks
+    private PaymentCompletedEventConsumer consumer;
+
+    @Test
+    @DisplayName("Should process the batch and acknowledge it")
+    void shouldProcessBatchAndAcknowledge() {
+        // Given
+        PaymentCompletedEvent payment1 = event("payment-1");
+        PaymentCompletedEvent payment2 = event("payment-2");
+
+        // When
+        consumer.consumePaymentCompletedEvents(
+                List.of(record(0, payment1), record(1, payment2)), acknowledgment);
+
+        // Then
+        verify(roundUpService).processRoundUps(List.of(payment1, payment2));
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    @DisplayName("Should fail the batch at a record with a null value")
+    void shouldFailBatchAtUndeserializableRecord() {
+        // Given: the ErrorHandlingDeserializer could not decode offset 1
+        PaymentCompletedEvent payment1 = event("payment-1");
+        ConsumerRecord<String, Object> poison = record(1, null);
+
+        // When
+        BatchListenerFailedException exception = catchThrowableOfType(
+                () -> consumer.consumePaymentCompletedEvents(
+                        List.of(record(0, payment1), poison, record(2, event("payment-3"))), acknowledgment),
+                BatchListenerFailedException.class);
+
+        // Then: the preceding event is applied, the error handler gets the poison record
+        assertThat(exception).isNotNull();
+        assertThat(exception.getRecord()).isSameAs(poison);
+        verify(roundUpService).processRoundUps(List.of(payment1));
+        verifyNoMoreInteractions(roundUpService);
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    private static ConsumerRecord<String, Object> record(long offset, Object value) {
+        return new ConsumerRecord<>(PaymentCompletedEventConsumer.PAYMENT_COMPLETED_TOPIC, 0, offset, "key", value);
+    }
+
+    private static PaymentCompletedEvent event(String paymentId) {
+        return PaymentCompletedEvent.builder()
+                .paymentId(paymentId)
+                .userId("user-123")
+                .accountId("account-123")
+                .amount(new BigDecimal("12300"))
+                .currency("KRW")
+                .build();
+    }
+}
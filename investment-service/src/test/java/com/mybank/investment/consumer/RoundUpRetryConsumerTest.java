@@ -0,0 +1,137 @@
+package com.mybank.investment.consumer;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.investment.service.RoundUpDeadLetterService;
+import com.mybank.investment.service.RoundUpService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoundUpRetryConsumer Tests")
+class RoundUpRetryConsumerTest {
+
+    private static final String DLT_TOPIC = "payment-completed-retry-dlt";
+    private static final byte[] PAYLOAD = "payload".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RoundUpService roundUpService;
+
+    @Mock
+    private RoundUpDeadLetterService roundUpDeadLetterService;
+
+    @Mock
+    private Deserializer<Object> roundUpEventDeserializer;
+
+    @InjectMocks
+    private RoundUpRetryConsumer consumer;
+
+    @Test
+    @DisplayName("Should decode and retry a payment completed event")
+    void shouldRetryDecodedEvent() {
+        // Given
+        PaymentCompletedEvent event = event();
+        when(roundUpEventDeserializer.deserialize(eq("payment-completed-retry"), any(Headers.class), eq(PAYLOAD)))
+                .thenReturn(event);
+
+        // When
+        consumer.retryPaymentCompletedEvent(new ConsumerRecord<>("payment-completed-retry", 0, 0L, "payment-1", PAYLOAD));
+
+        // Then
+        verify(roundUpService).processRoundUp(event);
+    }
+
+    @Test
+    @DisplayName("Should fail an undecodable record with a DeserializationException")
+    void shouldFailUndecodableRetry() {
+        // Given
+        when(roundUpEventDeserializer.deserialize(anyString(), any(Headers.class), any(byte[].class)))
+                .thenThrow(new SerializationException("Unknown magic byte"));
+
+        // When/Then: fatal for the retry topics, so the record goes straight to the DLT
+        assertThatThrownBy(() -> consumer.retryPaymentCompletedEvent(
+                new ConsumerRecord<>("payment-completed-retry", 0, 0L, "payment-1", PAYLOAD)))
+                .isInstanceOf(DeserializationException.class);
+        verifyNoInteractions(roundUpService);
+    }
+
+    @Test
+    @DisplayName("Should store a decodable dead letter as its event")
+    void shouldRecordDecodedDeadLetter() {
+        // Given
+        PaymentCompletedEvent event = event();
+        ConsumerRecord<String, byte[]> record = deadLetter();
+        when(roundUpEventDeserializer.deserialize(eq(DLT_TOPIC), any(Headers.class), eq(PAYLOAD))).thenReturn(event);
+
+        // When
+        consumer.handleDeadLetter(record);
+
+        // Then
+        verify(roundUpDeadLetterService).record(event, "java.lang.IllegalStateException", "boom");
+        verify(roundUpDeadLetterService, never()).recordUndecodable(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should store an undecodable dead letter with its original bytes")
+    void shouldRecordUndecodableDeadLetter() {
+        // Given
+        ConsumerRecord<String, byte[]> record = deadLetter();
+        when(roundUpEventDeserializer.deserialize(eq(DLT_TOPIC), any(Headers.class), eq(PAYLOAD)))
+                .thenThrow(new SerializationException("Unknown magic byte"));
+
+        // When
+        consumer.handleDeadLetter(record);
+
+        // Then
+        verify(roundUpDeadLetterService).recordUndecodable(record, "java.lang.IllegalStateException", "boom");
+        verify(roundUpDeadLetterService, never()).record(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should store a dead letter with a null value as undecodable")
+    void shouldRecordNullValueDeadLetter() {
+        // Given
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(DLT_TOPIC, 0, 7L, "payment-1", null);
+        when(roundUpEventDeserializer.deserialize(eq(DLT_TOPIC), any(Headers.class), isNull())).thenReturn(null);
+
+        // When
+        consumer.handleDeadLetter(record);
+
+        // Then
+        verify(roundUpDeadLetterService).recordUndecodable(record, null, null);
+    }
+
+    private static ConsumerRecord<String, byte[]> deadLetter() {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(DLT_TOPIC, 0, 3L, "payment-1", PAYLOAD);
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN,
+                "java.lang.IllegalStateException".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, "boom".getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private static PaymentCompletedEvent event() {
+        return PaymentCompletedEvent.builder()
+                .paymentId("payment-1")
+                .userId("user-123")
+                .accountId("account-123")
+                .amount(new BigDecimal("12300"))
+                .currency("KRW")
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.mybank.investment.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.repository.InvestmentAccountRepositoryCustom.PendingRoundUp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InvestmentAccountRepositoryCustomImpl Tests")
+class InvestmentAccountRepositoryCustomImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Mock
+    private BulkWriteResult bulkWriteResult;
+
+    @InjectMocks
+    private InvestmentAccountRepositoryCustomImpl repository;
+
+    private List<PendingRoundUp> roundUps;
+
+    @BeforeEach
+    void setUp() {
+        roundUps = List.of(
+                roundUp("payment-1", "investment-123"),
+                roundUp("payment-2", "investment-123"),
+                roundUp("payment-3", "investment-456"));
+    }
+
+    @Test
+    @DisplayName("Should return every round-up when all guarded updates applied")
+    void shouldReturnAllWhenFullyApplied() {
+        // Given
+        givenModifiedCount(3);
+
+        // When
+        List<PendingRoundUp> recorded = repository.applyRoundUps(roundUps);
+
+        // Then
+        assertThat(recorded).isEqualTo(roundUps);
+        verify(bulkOperations, times(3)).updateOne(any(Query.class), any(Update.class));
+        verify(mongoTemplate, never()).find(any(Query.class), eq(InvestmentAccount.class));
+    }
+
+    @Test
+    @DisplayName("Should re-read the recorded payment IDs when some updates did not match")
+    void shouldReReadPaymentIdsOnShortfall() {
+        // Given: payment-2 was applied by an earlier delivery, round-up on investment-456 was turned off
+        givenModifiedCount(1);
+        when(mongoTemplate.find(any(Query.class), eq(InvestmentAccount.class))).thenReturn(List.of(
+                account("investment-123", List.of("payment-0", "payment-1", "payment-2")),
+                account("investment-456", null)));
+
+        // When
+        List<PendingRoundUp> recorded = repository.applyRoundUps(roundUps);
+
+        // Then
+        assertThat(recorded)
+                .extracting(roundUp -> roundUp.investment().getRelatedPaymentId())
+                .containsExactly("payment-1", "payment-2");
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(InvestmentAccount.class));
+        assertThat(query.getValue().getFieldsObject()).containsKey("recentRoundUpPaymentIds");
+        assertThat(query.getValue().getQueryObject().toJson())
+                .contains("investment-123")
+                .contains("investment-456");
+    }
+
+    @Test
+    @DisplayName("Should skip the bulk write for an empty batch")
+    void shouldSkipEmptyBatch() {
+        // When
+        List<PendingRoundUp> recorded = repository.applyRoundUps(List.of());
+
+        // Then
+        assertThat(recorded).isEmpty();
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    private void givenModifiedCount(int modifiedCount) {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, InvestmentAccount.class))
+                .thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+        when(bulkWriteResult.getModifiedCount()).thenReturn(modifiedCount);
+    }
+
+    private static PendingRoundUp roundUp(String paymentId, String accountId) {
+        Investment investment = Investment.builder()
+                .id(Investment.roundUpIdOf(paymentId, accountId))
+                .userId("user-123")
+                .accountId(accountId)
+                .investmentType(Investment.InvestmentType.ROUNDUP)
+                .amount(new BigDecimal("700"))
+                .currency("KRW")
+                .relatedPaymentId(paymentId)
+                .build();
+        return new PendingRoundUp(investment, "account-123");
+    }
+
+    private static InvestmentAccount account(String accountId, List<String> recentRoundUpPaymentIds) {
+        return InvestmentAccount.builder()
+                .id(accountId)
+                .recentRoundUpPaymentIds(recentRoundUpPaymentIds)
+                .build();
+    }
+}
@@ -2,10 +2,11 @@ package com.mybank.investment.service;
 
 import com.mybank.investment.dto.InvestmentSummaryResponse;
 import com.mybank.investment.model.Investment;
-import com.mybank.investment.model.InvestmentType;
+import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.model.InvestmentBucket;
 import com.mybank.investment.model.RoundUpConfig;
-import com.mybank.investment.repository.InvestmentRepository;
-import com.mybank.investment.repository.RoundUpConfigRepository;
+import com.mybank.investment.repository.InvestmentAccountRepository;
+import com.mybank.investment.repository.InvestmentBucketRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,46 +14,70 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("InvestmentService Tests")
 class InvestmentServiceTest {
 
     @Mock
-    private InvestmentRepository investmentRepository;
+    private InvestmentAccountRepository investmentAccountRepository;
 
     @Mock
-    private RoundUpConfigRepository roundUpConfigRepository;
+    private InvestmentBucketRepository investmentBucketRepository;
+
+    @Mock
+    private RoundUpTargetLookup roundUpTargetLookup;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
 
     @InjectMocks
     private InvestmentService investmentService;
 
-    private List<Investment> testInvestments;
-    private RoundUpConfig roundUpConfig;
+    private InvestmentAccount roundUpAccount;
+    private InvestmentAccount manualAccount;
 
     @BeforeEach
     void setUp() {
-        testInvestments = Arrays.asList(
-                createInvestment("inv-1", InvestmentType.ROUNDUP, new BigDecimal("500")),
-                createInvestment("inv-2", InvestmentType.MANUAL, new BigDecimal("100000")),
-                createInvestment("inv-3", InvestmentType.ROUNDUP, new BigDecimal("300"))
-        );
-
-        roundUpConfig = RoundUpConfig.builder()
-                .id("config-1")
+        roundUpAccount = InvestmentAccount.builder()
+                .id("investment-1")
                 .userId("user-123")
-                .roundUpUnit(new BigDecimal("1000"))
-                .totalRoundedUp(new BigDecimal("800"))
-                .totalTransactions(2)
-                .enabled(true)
+                .balance(new BigDecimal("800"))
+                .accountType(InvestmentAccount.AccountType.ROUNDUP)
+                .isActive(true)
+                .roundUpConfig(RoundUpConfig.builder()
+                        .sourceAccountId("account-123")
+                        .roundUpUnit(new BigDecimal("1000"))
+                        .totalRoundedUp(new BigDecimal("800"))
+                        .totalTransactions(2)
+                        .enabled(true)
+                        .build())
+                .build();
+
+        manualAccount = InvestmentAccount.builder()
+                .id("investment-2")
+                .userId("user-123")
+                .balance(new BigDecimal("100000"))
+                .accountType(InvestmentAccount.AccountType.STOCKS)
+                .isActive(true)
                 .build();
     }
 
@@ -60,57 +85,96 @@ class InvestmentServiceTest {
     @DisplayName("Should get investment summary successfully")
     void shouldGetInvestmentSummarySuccessfully() {
         // Given
-        when(investmentRepository.findByUserId("user-123")).thenReturn(testInvestments);
-        when(roundUpConfigRepository.findByUserId("user-123")).thenReturn(Optional.of(roundUpConfig));
+        when(investmentAccountRepository.findByUserIdAndIsActive("user-123", true))
+                .thenReturn(List.of(roundUpAccount, manualAccount));
+        when(investmentBucketRepository.findRecentByAccountIdIn(eq(List.of("investment-1", "investment-2")),
+                any(Pageable.class)))
+                .thenReturn(List.of(
+                        bucket("investment-1", createInvestment("inv-1", Investment.InvestmentType.ROUNDUP, "500", 1),
+                                createInvestment("inv-3", Investment.InvestmentType.ROUNDUP, "300", 3)),
+                        bucket("investment-2", createInvestment("inv-2", Investment.InvestmentType.MANUAL, "100000", 2))));
 
         // When
-        InvestmentSummaryResponse response = investmentService.getSummary("user-123");
+        InvestmentSummaryResponse response = investmentService.getInvestmentSummary("user-123");
 
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getTotalInvested()).isEqualByComparingTo(new BigDecimal("100800"));
         assertThat(response.getTotalRoundedUp()).isEqualByComparingTo(new BigDecimal("800"));
         assertThat(response.getTotalRoundUpTransactions()).isEqualTo(2);
-        assertThat(response.getRecentInvestments()).hasSize(3);
+        assertThat(response.getRecentInvestments())
+                .extracting(InvestmentSummaryResponse.InvestmentDetail::getInvestmentId)
+                .containsExactly("inv-3", "inv-2", "inv-1");
     }
 
     @Test
-    @DisplayName("Should calculate round-up amount correctly")
-    void shouldCalculateRoundUpAmountCorrectly() {
+    @DisplayName("Should return an empty summary for a user without accounts")
+    void shouldGetEmptySummaryWithoutAccounts() {
         // Given
-        BigDecimal paymentAmount = new BigDecimal("15300");
-        BigDecimal roundUpUnit = new BigDecimal("1000");
+        when(investmentAccountRepository.findByUserIdAndIsActive("user-123", true)).thenReturn(List.of());
 
         // When
-        BigDecimal roundUpAmount = investmentService.calculateRoundUpAmount(paymentAmount, roundUpUnit);
+        InvestmentSummaryResponse response = investmentService.getInvestmentSummary("user-123");
 
         // Then
-        // 15300 -> 16000, so round up is 700
-        assertThat(roundUpAmount).isEqualByComparingTo(new BigDecimal("700"));
+        assertThat(response.getTotalInvested()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(response.getRecentInvestments()).isEmpty();
+        verify(investmentBucketRepository, never()).findRecentByAccountIdIn(any(), any());
     }
 
     @Test
-    @DisplayName("Should return zero for already rounded amount")
-    void shouldReturnZeroForAlreadyRoundedAmount() {
+    @DisplayName("Should enable round-up and evict the summary and both source accounts")
+    void shouldEnableRoundUp() {
         // Given
-        BigDecimal paymentAmount = new BigDecimal("15000");
-        BigDecimal roundUpUnit = new BigDecimal("1000");
+        when(investmentAccountRepository.findById("investment-1")).thenReturn(Optional.of(roundUpAccount));
+        when(cacheManager.getCache(InvestmentService.INVESTMENT_SUMMARY_CACHE)).thenReturn(cache);
 
         // When
-        BigDecimal roundUpAmount = investmentService.calculateRoundUpAmount(paymentAmount, roundUpUnit);
+        investmentService.enableRoundUp("user-123", "investment-1", "account-456", new BigDecimal("500"));
 
         // Then
-        assertThat(roundUpAmount).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(roundUpAccount.getRoundUpConfig().getSourceAccountId()).isEqualTo("account-456");
+        assertThat(roundUpAccount.getRoundUpConfig().getRoundUpUnit()).isEqualByComparingTo(new BigDecimal("500"));
+        verify(investmentAccountRepository).saveRoundUpSettings(roundUpAccount);
+        verify(cache).evict("user-123");
+        verify(roundUpTargetLookup).evict("account-123");
+        verify(roundUpTargetLookup).evict("account-456");
+    }
+
+    @Test
+    @DisplayName("Should reject round-up changes on another user's account")
+    void shouldRejectDisableRoundUpForOtherUser() {
+        // Given
+        when(investmentAccountRepository.findById("investment-1")).thenReturn(Optional.of(roundUpAccount));
+
+        // When/Then
+        assertThatThrownBy(() -> investmentService.disableRoundUp("user-456", "investment-1"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Unauthorized access to investment account");
+
+        verify(investmentAccountRepository, never()).saveRoundUpSettings(any());
+        verify(roundUpTargetLookup, never()).evict(anyString());
+    }
+
+    private static InvestmentBucket bucket(String accountId, Investment... investments) {
+        return InvestmentBucket.builder()
+                .id(accountId + ":2026-10")
+                .accountId(accountId)
+                .userId("user-123")
+                .month("2026-10")
+                .investments(List.of(investments))
+                .build();
     }
 
-    private Investment createInvestment(String id, InvestmentType type, BigDecimal amount) {
+    private static Investment createInvestment(String id, Investment.InvestmentType type, String amount, int day) {
         return Investment.builder()
                 .id(id)
                 .userId("user-123")
                 .investmentType(type)
-                .amount(amount)
+                .amount(new BigDecimal(amount))
                 .productName("Test Product")
                 .currency("KRW")
+                .investedAt(LocalDateTime.of(2026, 10, day, 12, 0))
                 .build();
     }
 }
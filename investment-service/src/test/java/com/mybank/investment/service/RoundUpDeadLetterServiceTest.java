@@ -0,0 +1,126 @@
+package com.mybank.investment.service;
+
+import com.mybank.investment.model.RoundUpDeadLetter;
+import com.mybank.investment.repository.RoundUpDeadLetterRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoundUpDeadLetterService Tests")
+class RoundUpDeadLetterServiceTest {
+
+    private static final byte[] PAYLOAD = "not-an-event".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private RoundUpDeadLetterRepository roundUpDeadLetterRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private RoundUpDeadLetterService roundUpDeadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        roundUpDeadLetterService = new RoundUpDeadLetterService(roundUpDeadLetterRepository, mongoTemplate,
+                kafkaTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should store an undecodable record with its bytes and original headers")
+    @SuppressWarnings("unchecked")
+    void shouldRecordUndecodable() {
+        // Given
+        ConsumerRecord<String, byte[]> record =
+                new ConsumerRecord<>("payment-completed-retry-dlt", 1, 42L, "payment-1", PAYLOAD);
+        record.headers().add("__TypeId__", "com.mybank.common.event.PaymentCompletedEvent".getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaHeaders.DLT_EXCEPTION_FQCN, "x".getBytes(StandardCharsets.UTF_8));
+        record.headers().add("retry_topic-attempts", new byte[]{0, 0, 0, 4});
+
+        // When
+        roundUpDeadLetterService.recordUndecodable(record, "org.springframework.kafka.support.serializer.DeserializationException", "bad");
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(RoundUpDeadLetter.class));
+        assertThat(query.getValue().getQueryObject().get("_id"))
+                .isEqualTo("dlt:payment-completed-retry-dlt-1@42");
+
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("payload")).isEqualTo(PAYLOAD);
+        assertThat(set.get("recordKey")).isEqualTo("payment-1");
+        assertThat((List<RoundUpDeadLetter.RawHeader>) set.get("payloadHeaders"))
+                .extracting(RoundUpDeadLetter.RawHeader::getKey)
+                .containsExactly("__TypeId__");
+        assertThat(set.get("status")).isEqualTo(RoundUpDeadLetter.Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should replay an undecodable dead letter as its original bytes")
+    @SuppressWarnings("unchecked")
+    void shouldReplayUndecodableAsBytes() throws Exception {
+        // Given
+        String id = "dlt:payment-completed-retry-dlt-1@42";
+        RoundUpDeadLetter deadLetter = RoundUpDeadLetter.builder()
+                .id(id)
+                .recordKey("payment-1")
+                .payload(PAYLOAD)
+                .payloadHeaders(List.of(new RoundUpDeadLetter.RawHeader("__TypeId__", new byte[]{1})))
+                .status(RoundUpDeadLetter.Status.PENDING)
+                .build();
+        when(roundUpDeadLetterRepository.findById(id)).thenReturn(Optional.of(deadLetter));
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        // When
+        boolean replayed = roundUpDeadLetterService.replay(id);
+
+        // Then
+        assertThat(replayed).isTrue();
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(sent.capture());
+        assertThat(sent.getValue().topic()).isEqualTo("payment-completed");
+        assertThat(sent.getValue().key()).isEqualTo("payment-1");
+        assertThat(sent.getValue().value()).isEqualTo(PAYLOAD);
+        assertThat(sent.getValue().headers().lastHeader("__TypeId__").value()).containsExactly(1);
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(RoundUpDeadLetter.class));
+    }
+
+    @Test
+    @DisplayName("Should report a missing dead letter")
+    void shouldReturnFalseForMissingDeadLetter() throws Exception {
+        // Given
+        when(roundUpDeadLetterRepository.findById("payment-9")).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThat(roundUpDeadLetterService.replay("payment-9")).isFalse();
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
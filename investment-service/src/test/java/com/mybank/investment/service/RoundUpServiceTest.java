@@ -0,0 +1,197 @@
+package com.mybank.investment.service;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.investment.model.Investment;
+import com.mybank.investment.model.InvestmentAccount;
+import com.mybank.investment.model.RoundUpTarget;
+import com.mybank.investment.repository.InvestmentAccountRepository;
+import com.mybank.investment.repository.InvestmentAccountRepositoryCustom.PendingRoundUp;
+import com.mybank.investment.repository.InvestmentBucketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RoundUpService Tests")
+class RoundUpServiceTest {
+
+    @Mock
+    private InvestmentAccountRepository investmentAccountRepository;
+
+    @Mock
+    private InvestmentBucketRepository investmentBucketRepository;
+
+    @Mock
+    private RoundUpTargetLookup roundUpTargetLookup;
+
+    @Mock
+    private InvestmentService investmentService;
+
+    @InjectMocks
+    private RoundUpService roundUpService;
+
+    private RoundUpTarget target;
+
+    @BeforeEach
+    void setUp() {
+        target = RoundUpTarget.builder()
+                .accountId("investment-123")
+                .userId("user-123")
+                .sourceAccountId("account-123")
+                .roundUpUnit(new BigDecimal("1000"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should collapse re-delivered events to one round-up per payment")
+    @SuppressWarnings("unchecked")
+    void shouldDeduplicateEventsByPayment() {
+        // Given
+        PaymentCompletedEvent payment1 = event("payment-1", "12300");
+        PaymentCompletedEvent payment2 = event("payment-2", "4500");
+        when(roundUpTargetLookup.findAll(List.of("account-123")))
+                .thenReturn(Map.of("account-123", List.of(target)));
+        when(investmentAccountRepository.applyRoundUps(anyList())).then(invocation -> invocation.getArgument(0));
+
+        // When
+        int recorded = roundUpService.processRoundUps(List.of(payment1, payment2, payment1));
+
+        // Then
+        assertThat(recorded).isEqualTo(2);
+
+        ArgumentCaptor<List<PendingRoundUp>> applied = ArgumentCaptor.forClass(List.class);
+        verify(investmentAccountRepository).applyRoundUps(applied.capture());
+        assertThat(applied.getValue())
+                .extracting(roundUp -> roundUp.investment().getRelatedPaymentId())
+                .containsExactly("payment-1", "payment-2");
+        assertThat(applied.getValue())
+                .extracting(roundUp -> roundUp.investment().getAmount())
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("700"), new BigDecimal("500"));
+        verify(investmentService).invalidateSummaryCache("user-123");
+    }
+
+    @Test
+    @DisplayName("Should append only the round-ups recorded on their account")
+    @SuppressWarnings("unchecked")
+    void shouldAppendOnlyRecordedRoundUps() {
+        // Given: round-up was turned off before payment-2 was applied
+        when(roundUpTargetLookup.findAll(List.of("account-123")))
+                .thenReturn(Map.of("account-123", List.of(target)));
+        when(investmentAccountRepository.applyRoundUps(anyList()))
+                .then(invocation -> ((List<PendingRoundUp>) invocation.getArgument(0)).subList(0, 1));
+
+        // When
+        int recorded = roundUpService.processRoundUps(
+                List.of(event("payment-1", "12300"), event("payment-2", "4500")));
+
+        // Then
+        assertThat(recorded).isEqualTo(1);
+
+        ArgumentCaptor<List<Investment>> appended = ArgumentCaptor.forClass(List.class);
+        verify(investmentBucketRepository).append(appended.capture());
+        assertThat(appended.getValue())
+                .extracting(Investment::getRelatedPaymentId)
+                .containsExactly("payment-1");
+    }
+
+    @Test
+    @DisplayName("Should skip payments that need no round-up or belong to another user")
+    void shouldSkipPaymentsWithoutRoundUp() {
+        // Given
+        PaymentCompletedEvent exact = event("payment-1", "5000");
+        PaymentCompletedEvent otherUser = event("payment-2", "12300");
+        otherUser.setUserId("user-456");
+        when(roundUpTargetLookup.findAll(List.of("account-123")))
+                .thenReturn(Map.of("account-123", List.of(target)));
+        when(investmentAccountRepository.applyRoundUps(List.of())).thenReturn(List.of());
+
+        // When
+        int recorded = roundUpService.processRoundUps(List.of(exact, otherUser));
+
+        // Then
+        assertThat(recorded).isZero();
+        verify(investmentBucketRepository).append(List.of());
+        verify(investmentService, never()).invalidateSummaryCache(anyString());
+    }
+
+    @Test
+    @DisplayName("Should record the round-up of a single event")
+    void shouldProcessSingleRoundUp() {
+        // Given
+        PaymentCompletedEvent event = event("payment-1", "12300");
+        when(roundUpTargetLookup.find("account-123")).thenReturn(List.of(target));
+        when(investmentAccountRepository.applyRoundUp(any(Investment.class), eq("account-123")))
+                .thenReturn(InvestmentAccount.builder().id("investment-123").build());
+
+        // When
+        roundUpService.processRoundUp(event);
+
+        // Then
+        verify(investmentBucketRepository).append(argThat(investments -> investments.size() == 1
+                && "payment-1".equals(investments.get(0).getRelatedPaymentId())));
+        verify(investmentService).invalidateSummaryCache("user-123");
+        verify(investmentAccountRepository, never()).hasAppliedRoundUp(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should complete a round-up an earlier delivery already applied")
+    void shouldRepairAlreadyAppliedRoundUp() {
+        // Given: the guard did not match because the payment ID is recorded
+        PaymentCompletedEvent event = event("payment-1", "12300");
+        when(roundUpTargetLookup.find("account-123")).thenReturn(List.of(target));
+        when(investmentAccountRepository.applyRoundUp(any(Investment.class), eq("account-123"))).thenReturn(null);
+        when(investmentAccountRepository.hasAppliedRoundUp("investment-123", "payment-1")).thenReturn(true);
+
+        // When
+        roundUpService.processRoundUp(event);
+
+        // Then: the idempotent bucket append still runs, the targets stay cached
+        verify(investmentBucketRepository).append(anyList());
+        verify(roundUpTargetLookup, never()).evict(anyString());
+    }
+
+    @Test
+    @DisplayName("Should evict the cached targets when round-up was disabled meanwhile")
+    void shouldEvictTargetsWhenRoundUpDisabled() {
+        // Given: the guard did not match and the payment is not recorded
+        PaymentCompletedEvent event = event("payment-1", "12300");
+        when(roundUpTargetLookup.find("account-123")).thenReturn(List.of(target));
+        when(investmentAccountRepository.applyRoundUp(any(Investment.class), eq("account-123"))).thenReturn(null);
+        when(investmentAccountRepository.hasAppliedRoundUp("investment-123", "payment-1")).thenReturn(false);
+
+        // When
+        roundUpService.processRoundUp(event);
+
+        // Then
+        verify(roundUpTargetLookup).evict("account-123");
+        verify(investmentBucketRepository, never()).append(anyList());
+        verify(investmentService, never()).invalidateSummaryCache(anyString());
+    }
+
+    private static PaymentCompletedEvent event(String paymentId, String amount) {
+        return PaymentCompletedEvent.builder()
+                .eventId(paymentId + ":payment-completed")
+                .paymentId(paymentId)
+                .userId("user-123")
+                .accountId("account-123")
+                .amount(new BigDecimal(amount))
+                .currency("KRW")
+                .timestamp(LocalDateTime.of(2026, 10, 1, 12, 0))
+                .build();
+    }
+}
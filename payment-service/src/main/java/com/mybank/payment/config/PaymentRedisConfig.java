@@ -0,0 +1,26 @@
+package com.mybank.payment.config;
+
+import com.mybank.common.cache.VersionedSmileRedisSerializer;
+import com.mybank.payment.model.IdempotencyRecord;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+/**
+ * Payment-specific Redis templates
+ */
+@Configuration
+public class PaymentRedisConfig {
+
+    @Bean
+    public RedisTemplate<String, IdempotencyRecord> idempotencyRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, IdempotencyRecord> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new VersionedSmileRedisSerializer<>(IdempotencyRecord.class));
+        template.afterPropertiesSet();
+        return template;
+    }
+}
@@ -3,6 +3,7 @@ package com.mybank.payment.controller;
 import com.mybank.common.dto.ApiResponse;
 import com.mybank.payment.dto.PaymentResponse;
 import com.mybank.payment.dto.TransferRequest;
+import com.mybank.payment.service.IdempotencyService;
 import com.mybank.payment.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,9 @@ import org.springframework.web.bind.annotation.*;
 
 /**
  * Payment REST controller
+ *
+ * POST /transfer accepts an optional Idempotency-Key header: retries with the
+ * same key and body return the original response (see IdempotencyService).
  */
 @Slf4j
 @RestController
@@ -20,13 +24,18 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/transfer")
     public ResponseEntity<ApiResponse<PaymentResponse>> transfer(
             @RequestHeader("X-User-Id") String userId,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody TransferRequest request) {
         log.info("Transfer request from user: {}", userId);
-        PaymentResponse response = paymentService.transfer(userId, request);
+        PaymentResponse response = idempotencyKey != null
+                ? idempotencyService.execute(userId, idempotencyKey, request,
+                        () -> paymentService.transfer(userId, request))
+                : paymentService.transfer(userId, request);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -0,0 +1,200 @@
+package com.mybank.payment.event;
+
+import com.mybank.common.event.PaymentCompletedEvent;
+import com.mybank.common.event.TransactionEvent;
+import com.mybank.payment.model.Payment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous publishing stage for payment events
+ *
+ * - Request threads only enqueue; a single publisher thread hands records to the
+ *   Kafka producer in submission order (per-key ordering is preserved)
+ * - The producer batches and compresses records (see KafkaProducerConfig)
+ * - Broker acks complete the returned future on the producer I/O thread
+ * - Bounded queue: when full (or after shutdown) the record is rejected and the
+ *   returned future fails, so the outbox entry stays pending and the relay
+ *   retries it on a later pass; the caller never sends out of order
+ *
+ * Metrics:
+ * - payment.events.delivery (timer, tags: topic, outcome) - enqueue to broker ack
+ * - payment.events.failures (counter, tag: topic)
+ * - payment.events.queue.size (gauge)
+ */
+@Slf4j
+@Component
+public class PaymentEventPublisher {
+
+    public static final String PAYMENT_COMPLETED_TOPIC = "payment-completed";
+    public static final String TRANSACTION_EVENTS_TOPIC = "transaction-events";
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> failureTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    public PaymentEventPublisher(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${payment.events.publisher.queue-capacity:10000}") int queueCapacity) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(
+                1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "payment-event-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("payment.events.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish payment completed event (consumed by Investment Service for round-up)
+     */
+    public CompletableFuture<Void> publishPaymentCompleted(Payment payment) {
+        PaymentCompletedEvent event = PaymentCompletedEvent.builder()
+                .eventId(eventId(payment, PAYMENT_COMPLETED_TOPIC))
+                .eventType("PAYMENT_COMPLETED")
+                .timestamp(payment.getCompletedAt())
+                .userId(payment.getUserId())
+                .paymentId(payment.getId())
+                .accountId(payment.getFromAccountId())
+                .amount(payment.getAmount())
+                .currency(payment.getCurrency())
+                .merchantName(payment.getRecipientName())
+                .build();
+
+        log.info("Publishing payment completed event: {}", event.getEventId());
+        return publish(PAYMENT_COMPLETED_TOPIC, event.getPaymentId(), event);
+    }
+
+    /**
+     * Publish transaction event (consumed by Analytics Service for PFM analysis)
+     */
+    public CompletableFuture<Void> publishTransaction(Payment payment) {
+        TransactionEvent event = TransactionEvent.builder()
+                .eventId(eventId(payment, TRANSACTION_EVENTS_TOPIC))
+                .eventType("TRANSACTION")
+                .timestamp(payment.getCompletedAt())
+                .userId(payment.getUserId())
+                .transactionId(payment.getId())
+                .accountId(payment.getFromAccountId())
+                .amount(payment.getAmount())
+                .currency(payment.getCurrency())
+                .category("TRANSFER")
+                .merchantName(payment.getRecipientName())
+                .transactionType("DEBIT")
+                .status(payment.getStatus().name())
+                .build();
+
+        log.info("Publishing transaction event: {}", event.getEventId());
+        return publish(TRANSACTION_EVENTS_TOPIC, event.getTransactionId(), event);
+    }
+
+    /**
+     * Publish the event a payment owes to the given topic (used by the outbox relay)
+     */
+    public CompletableFuture<Void> publish(Payment payment, String topic) {
+        return switch (topic) {
+            case PAYMENT_COMPLETED_TOPIC -> publishPaymentCompleted(payment);
+            case TRANSACTION_EVENTS_TOPIC -> publishTransaction(payment);
+            default -> CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Unknown payment event topic: " + topic));
+        };
+    }
+
+    /**
+     * Deterministic event ID: a re-published outbox entry carries the same ID,
+     * so consumers can drop the duplicate
+     */
+    private static String eventId(Payment payment, String topic) {
+        return payment.getId() + ":" + topic;
+    }
+
+    /**
+     * Enqueue a record; the returned future completes when the broker acknowledges it
+     */
+    public CompletableFuture<Void> publish(String topic, String key, Object event) {
+        CompletableFuture<Void> delivery = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    kafkaTemplate.send(topic, key, event)
+                            .whenComplete((result, error) -> complete(delivery, topic, key, enqueuedAt, error));
+                } catch (Exception e) {
+                    // Serialization or producer-side failure before the record was buffered
+                    complete(delivery, topic, key, enqueuedAt, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full or shutting down
+            complete(delivery, topic, key, enqueuedAt, e);
+        }
+
+        return delivery;
+    }
+
+    private void complete(CompletableFuture<Void> delivery, String topic, String key, long enqueuedAt, Throwable error) {
+        long latency = System.nanoTime() - enqueuedAt;
+
+        if (error == null) {
+            successTimers.computeIfAbsent(topic, t -> deliveryTimer(t, "success"))
+                    .record(latency, TimeUnit.NANOSECONDS);
+            delivery.complete(null);
+            return;
+        }
+
+        failureTimers.computeIfAbsent(topic, t -> deliveryTimer(t, "failure"))
+                .record(latency, TimeUnit.NANOSECONDS);
+        failureCounters.computeIfAbsent(topic, t -> Counter.builder("payment.events.failures")
+                        .tag("topic", t)
+                        .register(meterRegistry))
+                .increment();
+        log.error("Failed to publish event to {} (key={}): {}", topic, key, error.getMessage());
+        delivery.completeExceptionally(error);
+    }
+
+    private Timer deliveryTimer(String topic, String outcome) {
+        return Timer.builder("payment.events.delivery")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Payment event publisher did not drain within 10s, {} events pending",
+                    executor.getQueue().size());
+        }
+        kafkaTemplate.flush();
+    }
+}
@@ -0,0 +1,275 @@
+package com.mybank.payment.event;
+
+import com.mybank.payment.model.Payment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Outbox relay for payment events
+ *
+ * Payments are inserted with their pending event topics embedded (see Payment),
+ * so the payment and its outbox entry are one atomic single-document write.
+ * This relay drains them:
+ * - Polls pending payments in outboxCreatedAt order, in batches (sparse index)
+ * - Claims a batch with a lease so several instances do not publish the same entries
+ * - Publishes through PaymentEventPublisher (single sender thread, so per-key order
+ *   follows outbox order) and waits for the broker acks
+ * - Clears acknowledged topics with one bulk write per batch
+ * - Keeps going only while full batches are fully acknowledged
+ *
+ * Failures back off at two levels:
+ * - Per entry: outboxAttempts counts failed passes and outboxNextAttemptAt keeps
+ *   the entry out of claims for an exponentially growing delay; after
+ *   max-attempts it is parked (outboxParkedAt, no longer polled) with its
+ *   pendingEvents kept, so one undeliverable payment cannot be re-claimed forever
+ * - Per relay: a pass with any failure pauses the relay for an exponentially
+ *   growing delay (reset by a clean pass), so a Kafka outage does not turn the
+ *   poll loop into a tight spin against Mongo and the producer
+ *
+ * Delivery is at-least-once: a crash after the ack but before the bulk write
+ * re-publishes the entry with the same eventId, which consumers de-duplicate.
+ */
+@Slf4j
+@Component
+public class PaymentOutboxRelay {
+
+    private final MongoTemplate mongoTemplate;
+    private final PaymentEventPublisher eventPublisher;
+
+    private final int batchSize;
+    private final long leaseSeconds;
+    private final long ackTimeoutMillis;
+    private final long retryBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int maxAttempts;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Counter relayed;
+    private final Counter failed;
+    private final Counter parked;
+
+    // Relay-level backoff (only touched by the scheduler thread)
+    private long failureBackoffMillis;
+    private long pausedUntilNanos = System.nanoTime();
+
+    public PaymentOutboxRelay(
+            MongoTemplate mongoTemplate,
+            PaymentEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${payment.outbox.relay.batch-size:500}") int batchSize,
+            @Value("${payment.outbox.relay.lease-seconds:30}") long leaseSeconds,
+            @Value("${payment.outbox.relay.ack-timeout-ms:10000}") long ackTimeoutMillis,
+            @Value("${payment.outbox.relay.retry-backoff-ms:1000}") long retryBackoffMillis,
+            @Value("${payment.outbox.relay.max-backoff-ms:60000}") long maxBackoffMillis,
+            @Value("${payment.outbox.relay.max-attempts:20}") int maxAttempts) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.leaseSeconds = leaseSeconds;
+        this.ackTimeoutMillis = ackTimeoutMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxAttempts = maxAttempts;
+
+        this.relayed = Counter.builder("payment.outbox.relayed").register(meterRegistry);
+        this.failed = Counter.builder("payment.outbox.failures").register(meterRegistry);
+        this.parked = Counter.builder("payment.outbox.parked").register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox; keeps going while full batches are fully acknowledged
+     */
+    @Scheduled(fixedDelayString = "${payment.outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+        if (System.nanoTime() - pausedUntilNanos < 0) {
+            return;
+        }
+
+        boolean clean = false;
+        try {
+            BatchResult result;
+            do {
+                result = relayBatch();
+            } while (result.claimed() == batchSize && result.failed() == 0);
+            clean = result.failed() == 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.error("Outbox relay pass failed: {}", e.getMessage(), e);
+        }
+
+        if (clean) {
+            failureBackoffMillis = 0;
+        } else {
+            failureBackoffMillis = failureBackoffMillis == 0
+                    ? retryBackoffMillis : Math.min(failureBackoffMillis * 2, maxBackoffMillis);
+            pausedUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(failureBackoffMillis);
+            log.warn("Outbox relay pass had failures; pausing for {} ms", failureBackoffMillis);
+        }
+    }
+
+    /**
+     * Payments claimed in a batch, and how many of them still have unacknowledged events
+     */
+    record BatchResult(int claimed, int failed) {
+    }
+
+    private BatchResult relayBatch() throws InterruptedException {
+        List<Payment> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return new BatchResult(0, 0);
+        }
+
+        Map<Payment, List<CompletableFuture<Void>>> deliveries = new LinkedHashMap<>();
+        for (Payment payment : batch) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (String topic : payment.getPendingEvents()) {
+                futures.add(eventPublisher.publish(payment, topic));
+            }
+            deliveries.put(payment, futures);
+        }
+
+        awaitAcks(deliveries);
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class);
+        int updates = 0;
+        int failedPayments = 0;
+        for (Map.Entry<Payment, List<CompletableFuture<Void>>> entry : deliveries.entrySet()) {
+            Payment payment = entry.getKey();
+            List<String> topics = payment.getPendingEvents();
+            List<CompletableFuture<Void>> futures = entry.getValue();
+
+            List<String> acknowledged = new ArrayList<>();
+            for (int i = 0; i < topics.size(); i++) {
+                if (isAcknowledged(futures.get(i))) {
+                    acknowledged.add(topics.get(i));
+                }
+            }
+
+            Query byClaim = Query.query(Criteria.where("_id").is(payment.getId())
+                    .and("outboxClaimedBy").is(instanceId));
+            if (acknowledged.size() == topics.size()) {
+                bulk.updateOne(byClaim, new Update()
+                        .unset("pendingEvents")
+                        .unset("outboxCreatedAt")
+                        .unset("outboxClaimedBy")
+                        .unset("outboxClaimedUntil")
+                        .unset("outboxAttempts")
+                        .unset("outboxNextAttemptAt"));
+            } else {
+                // Keep unacknowledged topics; release the claim and back off before the next attempt
+                int attempts = payment.getOutboxAttempts() + 1;
+                Update retry = new Update()
+                        .unset("outboxClaimedBy")
+                        .unset("outboxClaimedUntil")
+                        .set("outboxAttempts", attempts);
+                if (!acknowledged.isEmpty()) {
+                    retry.pullAll("pendingEvents", acknowledged.toArray());
+                }
+                if (attempts >= maxAttempts) {
+                    retry.unset("outboxCreatedAt").set("outboxParkedAt", now);
+                    parked.increment();
+                    log.error("Parking outbox entry of payment {} after {} failed attempts", payment.getId(), attempts);
+                } else {
+                    retry.set("outboxNextAttemptAt", now.plusNanos(
+                            TimeUnit.MILLISECONDS.toNanos(entryBackoffMillis(attempts))));
+                }
+                bulk.updateOne(byClaim, retry);
+                failed.increment(topics.size() - acknowledged.size());
+                failedPayments++;
+            }
+            relayed.increment(acknowledged.size());
+            updates++;
+        }
+
+        if (updates > 0) {
+            bulk.execute();
+        }
+        log.debug("Outbox relay published batch of {} payments ({} with failures)", batch.size(), failedPayments);
+        return new BatchResult(batch.size(), failedPayments);
+    }
+
+    /**
+     * retry-backoff-ms doubled per failed attempt, capped at max-backoff-ms
+     */
+    private long entryBackoffMillis(int attempts) {
+        int doublings = Math.min(attempts - 1, 30);
+        return Math.min(retryBackoffMillis << doublings, maxBackoffMillis);
+    }
+
+    /**
+     * Claim up to batchSize pending payments for this instance
+     */
+    private List<Payment> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Criteria claimable = new Criteria().orOperator(
+                Criteria.where("outboxClaimedUntil").exists(false),
+                Criteria.where("outboxClaimedUntil").lt(now));
+        Criteria due = new Criteria().orOperator(
+                Criteria.where("outboxNextAttemptAt").exists(false),
+                Criteria.where("outboxNextAttemptAt").lte(now));
+
+        Query candidates = Query.query(Criteria.where("outboxCreatedAt").exists(true).andOperator(claimable, due))
+                .with(Sort.by(Sort.Direction.ASC, "outboxCreatedAt"))
+                .limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, Payment.class).stream()
+                .map(Payment::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).andOperator(claimable)),
+                new Update()
+                        .set("outboxClaimedBy", instanceId)
+                        .set("outboxClaimedUntil", now.plusSeconds(leaseSeconds)),
+                Payment.class);
+
+        return mongoTemplate.find(
+                Query.query(Criteria.where("_id").in(ids).and("outboxClaimedBy").is(instanceId))
+                        .with(Sort.by(Sort.Direction.ASC, "outboxCreatedAt")),
+                Payment.class);
+    }
+
+    private void awaitAcks(Map<Payment, List<CompletableFuture<Void>>> deliveries) throws InterruptedException {
+        CompletableFuture<?>[] all = deliveries.values().stream()
+                .flatMap(List::stream)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(all).get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Outbox relay timed out waiting for broker acks after {} ms", ackTimeoutMillis);
+        } catch (ExecutionException e) {
+            // Individual failures are inspected per future below
+        }
+    }
+
+    private static boolean isAcknowledged(CompletableFuture<Void> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+}
@@ -0,0 +1,37 @@
+package com.mybank.payment.model;
+
+import com.mybank.payment.dto.PaymentResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of a request made with an Idempotency-Key (stored in Redis)
+ *
+ * - IN_PROGRESS: claimed by the first request; short TTL so a crashed
+ *   request does not block retries for long
+ * - COMPLETED: carries the response returned to every retry
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    private Status status;
+
+    private String owner; // Random token of the claiming request; release/renewal compare the whole record
+
+    private String requestHash; // SHA-256 of the request body; a reused key with another body is rejected
+
+    private PaymentResponse response;
+
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+}
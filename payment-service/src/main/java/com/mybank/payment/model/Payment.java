@@ -5,10 +5,12 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Payment entity
@@ -49,6 +51,24 @@ public class Payment {
 
     private String failureReason;
 
+    // Transactional outbox (embedded so it is written in the same insert as the payment)
+    // Drained by PaymentOutboxRelay; fields are unset once every event is acknowledged
+
+    private List<String> pendingEvents; // Topics not yet published
+
+    @Indexed(sparse = true)
+    private LocalDateTime outboxCreatedAt; // Present only while events are pending
+
+    private String outboxClaimedBy; // Relay instance currently publishing
+
+    private LocalDateTime outboxClaimedUntil; // Claim lease expiry
+
+    private int outboxAttempts; // Failed relay passes for the pending events
+
+    private LocalDateTime outboxNextAttemptAt; // Not claimed again before this (per-entry backoff)
+
+    private LocalDateTime outboxParkedAt; // Gave up after max attempts; pendingEvents kept for inspection
+
     public enum PaymentType {
         TRANSFER, BILL, SUBSCRIPTION
     }
@@ -0,0 +1,271 @@
+package com.mybank.payment.service;
+
+import com.mybank.common.cache.SingleFlight;
+import com.mybank.common.exception.BusinessException;
+import com.mybank.payment.dto.PaymentResponse;
+import com.mybank.payment.dto.TransferRequest;
+import com.mybank.payment.model.IdempotencyRecord;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for payment requests
+ *
+ * Keys are scoped per user: payment:idempotency:{userId}:{key}
+ * - First request: SET NX an IN_PROGRESS record, execute, store the
+ *   COMPLETED record (response) for the retention period
+ * - Retry after completion: the stored response is returned, nothing is
+ *   re-executed
+ * - Concurrent duplicate: same node joins the in-flight call (SingleFlight);
+ *   other nodes poll the record until it completes (bounded wait)
+ * - Same key with a different request body: IDEMPOTENCY_KEY_REUSED
+ * - Failed execution: the IN_PROGRESS record is removed so the client can retry
+ *
+ * The IN_PROGRESS claim carries a random owner token and is renewed every
+ * TTL/3 while the transfer runs, so a slow transfer is never re-executed by a
+ * retry. Release and renewal are compare-and-delete / compare-and-pexpire on
+ * the serialized claim (as for DistributedLockService): a request whose claim
+ * expired can never drop or extend a retry's claim.
+ *
+ * Metrics:
+ * - payment.idempotency (tag: result=executed|replayed|joined|conflict|lost)
+ */
+@Slf4j
+@Service
+public class IdempotencyService implements DisposableBean {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final String KEY_PREFIX = "payment:idempotency:";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('DEL', KEYS[1]) "
+                    + "end "
+                    + "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "end "
+                    + "return 0",
+            Long.class);
+
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, IdempotencyRecord> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<String, PaymentResponse> inFlight = new SingleFlight<>();
+    private final Duration retention;
+    private final Duration inProgressTtl;
+    private final Duration maxWait;
+    private final ScheduledExecutorService renewalScheduler;
+
+    public IdempotencyService(RedisTemplate<String, IdempotencyRecord> redisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${payment.idempotency.retention-hours:24}") long retentionHours,
+                              @Value("${payment.idempotency.in-progress-ttl-seconds:60}") long inProgressTtlSeconds,
+                              @Value("${payment.idempotency.max-wait-ms:5000}") long maxWaitMs) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.retention = Duration.ofHours(retentionHours);
+        this.inProgressTtl = Duration.ofSeconds(inProgressTtlSeconds);
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+        this.renewalScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-claim-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        FunctionCounter.builder("payment.idempotency", inFlight, SingleFlight::coalescedCount)
+                .tag("result", "joined")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        renewalScheduler.shutdownNow();
+    }
+
+    /**
+     * Execute a transfer at most once per (user, idempotency key)
+     */
+    public PaymentResponse execute(String userId, String idempotencyKey, TransferRequest request,
+                                   Supplier<PaymentResponse> action) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BusinessException("INVALID_IDEMPOTENCY_KEY",
+                    "Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        String redisKey = KEY_PREFIX + userId + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        try {
+            // The hash is part of the flight key: a reused key with another body must not join
+            return inFlight.execute(redisKey + "#" + requestHash, () -> executeOnce(redisKey, requestHash, action));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Idempotent execution failed", e);
+        }
+    }
+
+    private PaymentResponse executeOnce(String redisKey, String requestHash, Supplier<PaymentResponse> action) {
+        long deadlineNanos = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            IdempotencyRecord claim = IdempotencyRecord.builder()
+                    .status(IdempotencyRecord.Status.IN_PROGRESS)
+                    .owner(UUID.randomUUID().toString())
+                    .requestHash(requestHash)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            Boolean claimed = redisTemplate.opsForValue()
+                    .setIfAbsent(redisKey, claim, inProgressTtl.toMillis(), TimeUnit.MILLISECONDS);
+            if (Boolean.TRUE.equals(claimed)) {
+                return run(redisKey, requestHash, claim, action);
+            }
+
+            IdempotencyRecord existing = redisTemplate.opsForValue().get(redisKey);
+            if (existing != null) {
+                if (!requestHash.equals(existing.getRequestHash())) {
+                    record("conflict");
+                    throw new BusinessException("IDEMPOTENCY_KEY_REUSED",
+                            "Idempotency-Key was already used with a different request");
+                }
+                if (existing.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                    record("replayed");
+                    return existing.getResponse();
+                }
+            }
+            // Absent: the other request failed and released the key -> claim it again
+
+            if (System.nanoTime() >= deadlineNanos) {
+                record("conflict");
+                throw new BusinessException("IDEMPOTENCY_IN_PROGRESS",
+                        "A request with this Idempotency-Key is still being processed");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BusinessException("IDEMPOTENCY_IN_PROGRESS",
+                        "A request with this Idempotency-Key is still being processed");
+            }
+        }
+    }
+
+    private PaymentResponse run(String redisKey, String requestHash, IdempotencyRecord claim,
+                                Supplier<PaymentResponse> action) {
+        byte[] claimBytes = valueSerializer().serialize(claim);
+        long periodMs = Math.max(inProgressTtl.toMillis() / 3, 1);
+        ScheduledFuture<?> renewal = renewalScheduler.scheduleAtFixedRate(
+                () -> renew(redisKey, claimBytes), periodMs, periodMs, TimeUnit.MILLISECONDS);
+
+        PaymentResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            renewal.cancel(false);
+            release(redisKey, claimBytes);
+            throw e;
+        }
+        renewal.cancel(false);
+
+        IdempotencyRecord completed = IdempotencyRecord.builder()
+                .status(IdempotencyRecord.Status.COMPLETED)
+                .requestHash(requestHash)
+                .response(response)
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            redisTemplate.opsForValue().set(redisKey, completed, retention.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // The payment is done; a retry after the IN_PROGRESS TTL would re-execute
+            log.error("Failed to store idempotent result for {}: {}", redisKey, e.getMessage());
+        }
+        record("executed");
+        return response;
+    }
+
+    private void renew(String redisKey, byte[] claimBytes) {
+        Long renewed;
+        try {
+            renewed = redisTemplate.execute(RENEW_SCRIPT, RedisSerializer.byteArray(), LONG_SERIALIZER,
+                    List.of(redisKey), claimBytes,
+                    String.valueOf(inProgressTtl.toMillis()).getBytes(StandardCharsets.US_ASCII));
+        } catch (Exception e) {
+            // Transient: the next renewal retries while the current TTL is still running
+            log.warn("Failed to renew idempotency claim {}: {}", redisKey, e.getMessage());
+            return;
+        }
+        if (renewed == null || renewed == 0) {
+            // The transfer itself is still guarded by the payment lock; only retries are no longer blocked
+            log.warn("Idempotency claim {} expired while the request was running", redisKey);
+            record("lost");
+            // Throwing suppresses further runs of this periodic task
+            throw new IllegalStateException("Idempotency claim lost: " + redisKey);
+        }
+    }
+
+    private void release(String redisKey, byte[] claimBytes) {
+        try {
+            Long released = redisTemplate.execute(RELEASE_SCRIPT, RedisSerializer.byteArray(), LONG_SERIALIZER,
+                    List.of(redisKey), claimBytes);
+            if (released == null || released == 0) {
+                log.warn("Idempotency claim {} was no longer owned at release", redisKey);
+            }
+        } catch (Exception e) {
+            // The claim expires on its own
+            log.warn("Failed to release idempotency claim {}: {}", redisKey, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<IdempotencyRecord> valueSerializer() {
+        return (RedisSerializer<IdempotencyRecord>) redisTemplate.getValueSerializer();
+    }
+
+    private void record(String result) {
+        meterRegistry.counter("payment.idempotency", "result", result).increment();
+    }
+
+    private static String hash(TransferRequest request) {
+        String canonical = String.join("\u001f",
+                String.valueOf(request.getFromAccountId()),
+                String.valueOf(request.getToAccountId()),
+                String.valueOf(request.getRecipientName()),
+                request.getAmount().stripTrailingZeros().toPlainString(),
+                String.valueOf(request.getDescription()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,25 +1,37 @@
 package com.mybank.payment.service;
 
-import com.mybank.common.event.PaymentCompletedEvent;
-import com.mybank.common.event.TransactionEvent;
 import com.mybank.common.exception.BusinessException;
+import com.mybank.common.lock.DistributedLock;
+import com.mybank.common.lock.DistributedLockService;
 import com.mybank.payment.dto.PaymentResponse;
 import com.mybank.payment.dto.TransferRequest;
+import com.mybank.payment.event.PaymentEventPublisher;
 import com.mybank.payment.model.Payment;
 import com.mybank.payment.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 /**
  * Payment service implementing EDA pattern
  * Publishes events to Kafka for downstream processing
+ *
+ * Events are written to an outbox embedded in the payment document (one atomic
+ * insert) and published by PaymentOutboxRelay; Kafka is not on the request path.
+ *
+ * Transfers from the same account are serialized by a DistributedLockService
+ * lock (owner-checked release, renewed lease); a contender waits up to
+ * payment.transfer.lock.max-wait-ms before PAYMENT_IN_PROGRESS.
+ * The lock carries no fencing token: a payment is a blind insert that cannot be
+ * made conditional on one without Mongo transactions. The isHeld() check before
+ * saving narrows, but does not close, the window in which a holder whose lease
+ * lapsed saves after the next holder.
  */
 @Slf4j
 @Service
@@ -27,26 +39,27 @@ import java.util.concurrent.TimeUnit;
 public class PaymentService {
 
     private final PaymentRepository paymentRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final DistributedLockService lockService;
 
-    private static final String TRANSACTION_LOCK_PREFIX = "payment:lock:";
+    private static final String TRANSFER_LOCK = "payment-transfer";
+    private static final Duration TRANSFER_LOCK_LEASE = Duration.ofSeconds(30);
+
+    @Value("${payment.transfer.lock.max-wait-ms:2000}")
+    private long lockMaxWaitMs;
 
     @Transactional
     public PaymentResponse transfer(String userId, TransferRequest request) {
         log.info("Processing transfer for user: {}, amount: {}", userId, request.getAmount());
 
         // Acquire distributed lock to prevent duplicate payments
-        String lockKey = TRANSACTION_LOCK_PREFIX + userId + ":" + request.getFromAccountId();
-        Boolean lockAcquired = redisTemplate.opsForValue().setIfAbsent(lockKey, "locked", 30, TimeUnit.SECONDS);
-
-        if (Boolean.FALSE.equals(lockAcquired)) {
-            throw new BusinessException("PAYMENT_IN_PROGRESS", "Another payment is in progress");
-        }
+        DistributedLock lock = lockService.tryAcquire(TRANSFER_LOCK, userId + ":" + request.getFromAccountId(),
+                        TRANSFER_LOCK_LEASE, Duration.ofMillis(lockMaxWaitMs))
+                .orElseThrow(() -> new BusinessException("PAYMENT_IN_PROGRESS", "Another payment is in progress"));
 
-        try {
+        Payment payment;
+        try (lock) {
             // Create payment record
-            Payment payment = Payment.builder()
+            payment = Payment.builder()
                     .userId(userId)
                     .fromAccountId(request.getFromAccountId())
                     .toAccountId(request.getToAccountId())
@@ -64,22 +77,22 @@ public class PaymentService {
             payment.setStatus(Payment.PaymentStatus.COMPLETED);
             payment.setCompletedAt(LocalDateTime.now());
 
-            payment = paymentRepository.save(payment);
-
-            // Publish payment completed event to Kafka
-            publishPaymentCompletedEvent(payment);
-
-            // Publish transaction event for PFM analysis
-            publishTransactionEvent(payment);
+            // Outbox: payment completed (round-up) and transaction (PFM) events
+            payment.setPendingEvents(List.of(
+                    PaymentEventPublisher.PAYMENT_COMPLETED_TOPIC,
+                    PaymentEventPublisher.TRANSACTION_EVENTS_TOPIC));
+            payment.setOutboxCreatedAt(payment.getCompletedAt());
 
-            log.info("Payment completed: {}", payment.getId());
+            // Another transfer may already own the account if our lease lapsed (e.g. a long GC pause)
+            if (!lock.isHeld()) {
+                throw new BusinessException("PAYMENT_IN_PROGRESS", "Payment lock lost; please retry");
+            }
+            payment = paymentRepository.save(payment);
+        }
 
-            return buildPaymentResponse(payment, "Payment completed successfully");
+        log.info("Payment completed: {}", payment.getId());
 
-        } finally {
-            // Release lock
-            redisTemplate.delete(lockKey);
-        }
+        return buildPaymentResponse(payment, "Payment completed successfully");
     }
 
     public Payment getPaymentById(String paymentId) {
@@ -87,39 +100,6 @@ public class PaymentService {
                 .orElseThrow(() -> new BusinessException("PAYMENT_NOT_FOUND", "Payment not found"));
     }
 
-    private void publishPaymentCompletedEvent(Payment payment) {
-        PaymentCompletedEvent event = PaymentCompletedEvent.builder()
-                .eventType("PAYMENT_COMPLETED")
-                .userId(payment.getUserId())
-                .paymentId(payment.getId())
-                .accountId(payment.getFromAccountId())
-                .amount(payment.getAmount())
-                .currency(payment.getCurrency())
-                .merchantName(payment.getRecipientName())
-                .build();
-
-        kafkaTemplate.send("payment-completed", event.getPaymentId(), event);
-        log.info("Published payment completed event: {}", event.getEventId());
-    }
-
-    private void publishTransactionEvent(Payment payment) {
-        TransactionEvent event = TransactionEvent.builder()
-                .eventType("TRANSACTION")
-                .userId(payment.getUserId())
-                .transactionId(payment.getId())
-                .accountId(payment.getFromAccountId())
-                .amount(payment.getAmount())
-                .currency(payment.getCurrency())
-                .category("TRANSFER")
-                .merchantName(payment.getRecipientName())
-                .transactionType("DEBIT")
-                .status(payment.getStatus().name())
-                .build();
-
-        kafkaTemplate.send("transaction-events", event.getTransactionId(), event);
-        log.info("Published transaction event: {}", event.getEventId());
-    }
-
     private PaymentResponse buildPaymentResponse(Payment payment, String message) {
         return PaymentResponse.builder()
                 .paymentId(payment.getId())
@@ -0,0 +1,174 @@
+package com.mybank.payment.event;
+
+import com.mybank.payment.model.Payment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentOutboxRelay Tests")
+class PaymentOutboxRelayTest {
+
+    private static final String COMPLETED = PaymentEventPublisher.PAYMENT_COMPLETED_TOPIC;
+    private static final String TRANSACTION = PaymentEventPublisher.TRANSACTION_EVENTS_TOPIC;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PaymentEventPublisher eventPublisher;
+
+    @Mock
+    private BulkOperations bulk;
+
+    @Test
+    @DisplayName("Should claim a batch and clear fully acknowledged entries")
+    void shouldClearAcknowledgedEntries() {
+        // Given
+        Payment payment = pending("payment-1", 0, COMPLETED, TRANSACTION);
+        givenClaims(List.of(payment));
+        when(eventPublisher.publish(eq(payment), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay(500).relay();
+
+        // Then
+        ArgumentCaptor<Update> claim = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), claim.capture(), eq(Payment.class));
+        assertThat(set(claim.getValue())).containsKeys("outboxClaimedBy", "outboxClaimedUntil");
+
+        Update update = bulkUpdate();
+        assertThat(unset(update)).containsKeys("pendingEvents", "outboxCreatedAt",
+                "outboxClaimedBy", "outboxClaimedUntil", "outboxAttempts", "outboxNextAttemptAt");
+        verify(bulk).execute();
+    }
+
+    @Test
+    @DisplayName("Should keep unacknowledged topics, release the claim and schedule the next attempt")
+    void shouldReleasePartiallyAcknowledgedEntry() {
+        // Given
+        Payment payment = pending("payment-1", 0, COMPLETED, TRANSACTION);
+        givenClaims(List.of(payment));
+        when(eventPublisher.publish(payment, COMPLETED)).thenReturn(CompletableFuture.completedFuture(null));
+        when(eventPublisher.publish(payment, TRANSACTION))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        // When
+        relay(500).relay();
+
+        // Then
+        Update update = bulkUpdate();
+        assertThat(unset(update)).containsOnlyKeys("outboxClaimedBy", "outboxClaimedUntil");
+        assertThat(set(update).get("outboxAttempts")).isEqualTo(1);
+        assertThat((LocalDateTime) set(update).get("outboxNextAttemptAt")).isAfter(LocalDateTime.now());
+        assertThat(update.getUpdateObject()).containsKey("$pullAll");
+        assertThat(update.modifies("pendingEvents")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should park an entry after the last allowed attempt")
+    void shouldParkAfterMaxAttempts() {
+        // Given
+        Payment payment = pending("payment-1", 19, COMPLETED);
+        givenClaims(List.of(payment));
+        when(eventPublisher.publish(payment, COMPLETED))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("record too large")));
+
+        // When
+        relay(500).relay();
+
+        // Then
+        Update update = bulkUpdate();
+        assertThat(unset(update)).containsKey("outboxCreatedAt").doesNotContainKey("pendingEvents");
+        assertThat(set(update)).containsKey("outboxParkedAt").doesNotContainKey("outboxNextAttemptAt");
+        assertThat(set(update).get("outboxAttempts")).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should keep draining while full batches are fully acknowledged")
+    void shouldContinueAfterFullAcknowledgedBatch() {
+        // Given: batch size 1, the second claim finds nothing
+        Payment payment = pending("payment-1", 0, COMPLETED);
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class)))
+                .thenReturn(List.of(payment), List.of(payment), List.of());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class)).thenReturn(bulk);
+        when(eventPublisher.publish(payment, COMPLETED)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // When
+        relay(1).relay();
+
+        // Then
+        verify(mongoTemplate, times(3)).find(any(Query.class), eq(Payment.class));
+    }
+
+    @Test
+    @DisplayName("Should stop after a full batch with failures and back off the next pass")
+    void shouldNotSpinOnFailedBatch() {
+        // Given: batch size 1, the only entry cannot be delivered
+        Payment payment = pending("payment-1", 0, COMPLETED);
+        givenClaims(List.of(payment));
+        when(eventPublisher.publish(payment, COMPLETED))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        PaymentOutboxRelay relay = relay(1);
+
+        // When
+        relay.relay();
+        relay.relay();
+
+        // Then: one claim (ids + claimed documents), the second pass is paused
+        verify(mongoTemplate, times(2)).find(any(Query.class), eq(Payment.class));
+        verify(eventPublisher, times(1)).publish(payment, COMPLETED);
+    }
+
+    private PaymentOutboxRelay relay(int batchSize) {
+        return new PaymentOutboxRelay(mongoTemplate, eventPublisher, new SimpleMeterRegistry(),
+                batchSize, 30, 1000, 60_000, 600_000, 20);
+    }
+
+    private void givenClaims(List<Payment> claimed) {
+        // First find returns the candidate ids, the second the documents claimed by this instance
+        when(mongoTemplate.find(any(Query.class), eq(Payment.class))).thenReturn(claimed, claimed);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Payment.class)).thenReturn(bulk);
+    }
+
+    private Update bulkUpdate() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).updateOne(any(Query.class), update.capture());
+        return update.getValue();
+    }
+
+    private static Document set(Update update) {
+        return (Document) update.getUpdateObject().getOrDefault("$set", new Document());
+    }
+
+    private static Document unset(Update update) {
+        return (Document) update.getUpdateObject().getOrDefault("$unset", new Document());
+    }
+
+    private static Payment pending(String id, int attempts, String... topics) {
+        return Payment.builder()
+                .id(id)
+                .userId("user-123")
+                .pendingEvents(List.of(topics))
+                .outboxCreatedAt(LocalDateTime.now())
+                .outboxAttempts(attempts)
+                .build();
+    }
+}
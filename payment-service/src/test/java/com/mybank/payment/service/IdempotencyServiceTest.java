@@ -0,0 +1,172 @@
+package com.mybank.payment.service;
+
+import com.mybank.common.cache.VersionedSmileRedisSerializer;
+import com.mybank.common.exception.BusinessException;
+import com.mybank.payment.dto.PaymentResponse;
+import com.mybank.payment.dto.TransferRequest;
+import com.mybank.payment.model.IdempotencyRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+    private static final String REDIS_KEY = "payment:idempotency:user-123:key-1";
+
+    @Mock
+    private RedisTemplate<String, IdempotencyRecord> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, IdempotencyRecord> valueOperations;
+
+    private IdempotencyService idempotencyService;
+    private TransferRequest transferRequest;
+    private PaymentResponse response;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(redisTemplate, new SimpleMeterRegistry(), 24, 60, 0);
+        transferRequest = TransferRequest.builder()
+                .fromAccountId("account-123")
+                .toAccountId("account-456")
+                .recipientName("John Doe")
+                .amount(new BigDecimal("100000"))
+                .build();
+        response = PaymentResponse.builder()
+                .paymentId("payment-123")
+                .status("COMPLETED")
+                .build();
+        executions = new AtomicInteger();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().doReturn(new VersionedSmileRedisSerializer<>(IdempotencyRecord.class))
+                .when(redisTemplate).getValueSerializer();
+    }
+
+    @Test
+    @DisplayName("Should execute once and store the response")
+    void shouldExecuteAndStoreResponse() {
+        // Given
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), any(IdempotencyRecord.class), anyLong(), any(TimeUnit.class)))
+                .thenReturn(true);
+
+        // When
+        PaymentResponse result = idempotencyService.execute("user-123", "key-1", transferRequest, this::transfer);
+
+        // Then
+        assertThat(result.getPaymentId()).isEqualTo("payment-123");
+        assertThat(executions).hasValue(1);
+
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(valueOperations).set(eq(REDIS_KEY), stored.capture(), anyLong(), any(TimeUnit.class));
+        assertThat(stored.getValue().getStatus()).isEqualTo(IdempotencyRecord.Status.COMPLETED);
+        assertThat(stored.getValue().getResponse()).isSameAs(response);
+    }
+
+    @Test
+    @DisplayName("Should replay the stored response without re-executing")
+    void shouldReplayStoredResponse() {
+        // Given: first call stores the record, second call finds it
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), any(IdempotencyRecord.class), anyLong(), any(TimeUnit.class)))
+                .thenReturn(true, false);
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        idempotencyService.execute("user-123", "key-1", transferRequest, this::transfer);
+        verify(valueOperations).set(eq(REDIS_KEY), stored.capture(), anyLong(), any(TimeUnit.class));
+        when(valueOperations.get(REDIS_KEY)).thenReturn(stored.getValue());
+
+        // When
+        PaymentResponse result = idempotencyService.execute("user-123", "key-1", transferRequest, this::transfer);
+
+        // Then
+        assertThat(result.getPaymentId()).isEqualTo("payment-123");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a reused key with a different request")
+    void shouldRejectReusedKey() {
+        // Given
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), any(IdempotencyRecord.class), anyLong(), any(TimeUnit.class)))
+                .thenReturn(false);
+        when(valueOperations.get(REDIS_KEY)).thenReturn(IdempotencyRecord.builder()
+                .status(IdempotencyRecord.Status.COMPLETED)
+                .requestHash("other")
+                .response(response)
+                .build());
+
+        // When/Then
+        assertThatThrownBy(() -> idempotencyService.execute("user-123", "key-1", transferRequest, this::transfer))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "IDEMPOTENCY_KEY_REUSED");
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should release only its own claim when execution fails")
+    @SuppressWarnings("unchecked")
+    void shouldReleaseKeyOnFailure() {
+        // Given
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), claim.capture(), anyLong(), any(TimeUnit.class)))
+                .thenReturn(true);
+
+        // When/Then
+        assertThatThrownBy(() -> idempotencyService.execute("user-123", "key-1", transferRequest, () -> {
+            throw new BusinessException("PAYMENT_IN_PROGRESS", "Another payment is in progress");
+        })).isInstanceOf(BusinessException.class);
+
+        ArgumentCaptor<Object> expected = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of(REDIS_KEY)), expected.capture());
+        assertThat(claim.getValue().getOwner()).isNotBlank();
+        assertThat((byte[]) expected.getValue())
+                .isEqualTo(new VersionedSmileRedisSerializer<>(IdempotencyRecord.class).serialize(claim.getValue()));
+        verify(redisTemplate, never()).delete(anyString());
+        verify(valueOperations, never()).set(anyString(), any(IdempotencyRecord.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("Should give each claim its own owner token")
+    void shouldClaimWithOwnerToken() {
+        // Given
+        ArgumentCaptor<IdempotencyRecord> claims = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        when(valueOperations.setIfAbsent(eq(REDIS_KEY), claims.capture(), anyLong(), any(TimeUnit.class)))
+                .thenReturn(true);
+
+        // When
+        idempotencyService.execute("user-123", "key-1", transferRequest, this::transfer);
+        idempotencyService.execute("user-123", "key-1", transferRequest, this::transfer);
+
+        // Then
+        assertThat(claims.getAllValues()).extracting(IdempotencyRecord::getOwner)
+                .doesNotContainNull()
+                .doesNotHaveDuplicates();
+    }
+
+    private PaymentResponse transfer() {
+        executions.incrementAndGet();
+        return response;
+    }
+}
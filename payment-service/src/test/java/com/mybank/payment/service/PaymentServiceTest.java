@@ -1,25 +1,25 @@
 package com.mybank.payment.service;
 
 import com.mybank.common.exception.BusinessException;
+import com.mybank.common.lock.DistributedLock;
+import com.mybank.common.lock.DistributedLockService;
 import com.mybank.payment.dto.PaymentResponse;
 import com.mybank.payment.dto.TransferRequest;
+import com.mybank.payment.event.PaymentEventPublisher;
 import com.mybank.payment.model.Payment;
-import com.mybank.payment.model.PaymentStatus;
 import com.mybank.payment.repository.PaymentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
-import org.springframework.kafka.core.KafkaTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -34,13 +34,10 @@ class PaymentServiceTest {
     private PaymentRepository paymentRepository;
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private DistributedLockService lockService;
 
     @Mock
-    private ValueOperations<String, Object> valueOperations;
-
-    @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private DistributedLock lock;
 
     @InjectMocks
     private PaymentService paymentService;
@@ -66,18 +63,18 @@ class PaymentServiceTest {
                 .recipientName("John Doe")
                 .amount(new BigDecimal("100000"))
                 .currency("KRW")
-                .status(PaymentStatus.COMPLETED)
+                .status(Payment.PaymentStatus.COMPLETED)
                 .build();
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     }
 
     @Test
     @DisplayName("Should transfer money successfully")
     void shouldTransferMoneySuccessfully() {
         // Given
-        when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
-                .thenReturn(true);
+        when(lockService.tryAcquire(eq("payment-transfer"), eq("user-123:account-123"),
+                any(Duration.class), any(Duration.class)))
+                .thenReturn(Optional.of(lock));
+        when(lock.isHeld()).thenReturn(true);
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
 
         // When
@@ -86,20 +83,40 @@ class PaymentServiceTest {
         // Then
         assertThat(response).isNotNull();
         assertThat(response.getPaymentId()).isEqualTo("payment-123");
-        assertThat(response.getStatus()).isEqualTo(PaymentStatus.COMPLETED);
+        assertThat(response.getStatus()).isEqualTo("COMPLETED");
         assertThat(response.getAmount()).isEqualByComparingTo(new BigDecimal("100000"));
 
-        verify(paymentRepository).save(any(Payment.class));
-        verify(kafkaTemplate, times(2)).send(anyString(), any());
-        verify(redisTemplate).delete(anyString());
+        ArgumentCaptor<Payment> saved = ArgumentCaptor.forClass(Payment.class);
+        verify(paymentRepository).save(saved.capture());
+        assertThat(saved.getValue().getPendingEvents()).containsExactly(
+                PaymentEventPublisher.PAYMENT_COMPLETED_TOPIC,
+                PaymentEventPublisher.TRANSACTION_EVENTS_TOPIC);
+        assertThat(saved.getValue().getOutboxCreatedAt()).isNotNull();
+        verify(lock).close();
     }
 
     @Test
     @DisplayName("Should throw exception when payment already in progress")
     void shouldThrowExceptionWhenPaymentInProgress() {
         // Given
-        when(valueOperations.setIfAbsent(anyString(), anyString(), anyLong(), any(TimeUnit.class)))
-                .thenReturn(false);
+        when(lockService.tryAcquire(anyString(), anyString(), any(Duration.class), any(Duration.class)))
+                .thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> paymentService.transfer("user-123", transferRequest))
+                .isInstanceOf(BusinessException.class)
+                .hasFieldOrPropertyWithValue("errorCode", "PAYMENT_IN_PROGRESS");
+
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should not save when the lock lease was lost")
+    void shouldNotSaveWhenLockLost() {
+        // Given
+        when(lockService.tryAcquire(anyString(), anyString(), any(Duration.class), any(Duration.class)))
+                .thenReturn(Optional.of(lock));
+        when(lock.isHeld()).thenReturn(false);
 
         // When/Then
         assertThatThrownBy(() -> paymentService.transfer("user-123", transferRequest))
@@ -107,6 +124,7 @@ class PaymentServiceTest {
                 .hasFieldOrPropertyWithValue("errorCode", "PAYMENT_IN_PROGRESS");
 
         verify(paymentRepository, never()).save(any());
+        verify(lock).close();
     }
 
     @Test
@@ -116,11 +134,11 @@ class PaymentServiceTest {
         when(paymentRepository.findById("payment-123")).thenReturn(Optional.of(payment));
 
         // When
-        PaymentResponse response = paymentService.getPayment("payment-123");
+        Payment found = paymentService.getPaymentById("payment-123");
 
         // Then
-        assertThat(response).isNotNull();
-        assertThat(response.getPaymentId()).isEqualTo("payment-123");
+        assertThat(found).isNotNull();
+        assertThat(found.getId()).isEqualTo("payment-123");
     }
 
     @Test
@@ -130,7 +148,7 @@ class PaymentServiceTest {
         when(paymentRepository.findById("payment-999")).thenReturn(Optional.empty());
 
         // When/Then
-        assertThatThrownBy(() -> paymentService.getPayment("payment-999"))
+        assertThatThrownBy(() -> paymentService.getPaymentById("payment-999"))
                 .isInstanceOf(BusinessException.class)
                 .hasFieldOrPropertyWithValue("errorCode", "PAYMENT_NOT_FOUND");
     }